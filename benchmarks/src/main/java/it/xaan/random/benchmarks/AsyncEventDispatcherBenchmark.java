@@ -0,0 +1,105 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.event.AsyncEventDispatcher;
+import it.xaan.random.event.Backpressure;
+import it.xaan.random.event.EventDispatcher;
+import it.xaan.random.event.WaitStrategy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures publishing events to be handled on another thread, with {@link AsyncEventDispatcher}
+ * against submitting a task per event to a single threaded {@link ExecutorService} with a bounded
+ * queue, which blocks publishers when it's full the same as {@link Backpressure#BLOCK}. Two threads
+ * publish at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(2)
+@Fork(1)
+public class AsyncEventDispatcherBenchmark {
+
+  private static final int CAPACITY = 1 << 14;
+
+  @Param({"YIELD", "PARK"})
+  private WaitStrategy waitStrategy;
+
+  private final AtomicLong handled = new AtomicLong();
+  private final Long event = 42L;
+  private ExecutorService consumer;
+  private AsyncEventDispatcher<Long> async;
+  private ExecutorService perEvent;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final EventDispatcher<Long> dispatcher = new EventDispatcher<>();
+    dispatcher.subscribe(Long.class, handled::addAndGet);
+    consumer = Executors.newSingleThreadExecutor();
+    async = new AsyncEventDispatcher<>(dispatcher, CAPACITY, 256, waitStrategy,
+        Backpressure.BLOCK, consumer);
+    perEvent = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(CAPACITY), (task, executor) -> {
+          try {
+            executor.getQueue().put(task);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    async.close();
+    consumer.shutdown();
+    perEvent.shutdown();
+  }
+
+  @Benchmark
+  public boolean ringBuffer() {
+    return async.publish(event);
+  }
+
+  @Benchmark
+  public void executorPerEvent() {
+    perEvent.execute(() -> handled.addAndGet(event));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.result.Failure;
+import it.xaan.random.result.IntResult;
+import it.xaan.random.result.Result;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the error path of parsing bad text: catching the exception by hand, {@link
+ * Result#attempt}, and the primitive Results that check the text before parsing it. Parsing good
+ * text is there to compare against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttemptBenchmark {
+
+  private static final IntResult NOT_A_NUMBER = IntResult.error(Failure.of("Not a number."));
+  private static final Result<Integer> BOXED_NOT_A_NUMBER =
+      Result.error(Failure.of("Not a number."));
+
+  // Not final so the JIT can't fold them.
+  private String valid = "12345";
+  private String invalid = "12a45";
+
+  @Benchmark
+  public Result<Integer> tryCatch() {
+    try {
+      return Result.of(Integer.parseInt(invalid));
+    } catch (NumberFormatException e) {
+      return Result.error(e);
+    }
+  }
+
+  @Benchmark
+  public Result<Integer> attempt() {
+    return Result.attempt(() -> Integer.parseInt(invalid));
+  }
+
+  @Benchmark
+  public Result<Integer> attemptFailure() {
+    return Result.attempt(() -> Integer.parseInt(invalid), BOXED_NOT_A_NUMBER);
+  }
+
+  @Benchmark
+  public IntResult parse() {
+    return IntResult.parse(invalid);
+  }
+
+  @Benchmark
+  public IntResult parseFailure() {
+    return IntResult.parse(invalid, NOT_A_NUMBER);
+  }
+
+  @Benchmark
+  public IntResult parseValid() {
+    return IntResult.parse(valid, NOT_A_NUMBER);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.cache.impl.MapMemoryCache;
+import it.xaan.random.core.Pair;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the hot paths of {@link MapMemoryCache} on a single thread. See {@link
+ * ContendedCacheBenchmark} for the same benchmarks with more threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class CacheBenchmark {
+
+  @Param({"1024", "65536"})
+  int size;
+  @Param({"UNIFORM", "ZIPFIAN"})
+  KeyDistribution distribution;
+
+  Cache<String, Integer> cache;
+  String[] keys;
+  Integer[] values;
+
+  @Setup
+  public void setup() {
+    cache = new MapMemoryCache<>(ConcurrentHashMap::new);
+    keys = new String[size];
+    values = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = "key" + i;
+      values[i] = i;
+      cache.store(keys[i], values[i]);
+    }
+  }
+
+  @Benchmark
+  public Optional<Integer> getOptional(Cursor cursor) {
+    return cache.getOptional(keys[cursor.next()]);
+  }
+
+  @Benchmark
+  public Integer get(Cursor cursor) {
+    return cache.get(keys[cursor.next()]);
+  }
+
+  @Benchmark
+  public Optional<Integer> store(Cursor cursor) {
+    int index = cursor.next();
+    return cache.store(keys[index], values[index]);
+  }
+
+  @Benchmark
+  public Set<Pair<String, Integer>> entries() {
+    return cache.entries();
+  }
+
+  /**
+   * The keys each thread goes through, picked ahead of time so picking isn't measured.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    // Power of two so wrapping around is a mask.
+    private static final int AMOUNT = 1 << 16;
+
+    private int[] indexes;
+    private int position;
+
+    @Setup
+    public void setup(CacheBenchmark benchmark) {
+      indexes = benchmark.distribution
+          .indexes(benchmark.size, AMOUNT, new Random(Thread.currentThread().getId()));
+    }
+
+    int next() {
+      return indexes[position++ & (AMOUNT - 1)];
+    }
+  }
+}
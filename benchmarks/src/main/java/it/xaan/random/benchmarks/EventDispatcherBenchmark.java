@@ -0,0 +1,120 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.event.EventDispatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures publishing an event with handlers on its class, its superclass and an interface, with
+ * {@link EventDispatcher} against a dispatcher that walks the class hierarchy for every event, and
+ * calling the three handlers directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatcherBenchmark {
+
+  private final EventDispatcher<Object> dispatcher = new EventDispatcher<>();
+  private final Map<Class<?>, List<Consumer<Object>>> walking = new HashMap<>();
+  private final Reply reply = new Reply();
+  private Blackhole blackhole;
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    dispatcher.subscribe(Reply.class, this::consume);
+    dispatcher.subscribe(Message.class, this::consume);
+    dispatcher.subscribe(Named.class, this::consume);
+    walking.computeIfAbsent(Reply.class, $ -> new ArrayList<>()).add(this::consume);
+    walking.computeIfAbsent(Message.class, $ -> new ArrayList<>()).add(this::consume);
+    walking.computeIfAbsent(Named.class, $ -> new ArrayList<>()).add(this::consume);
+  }
+
+  private void consume(Object event) {
+    blackhole.consume(event);
+  }
+
+  @Benchmark
+  public int dispatcher() {
+    return dispatcher.publish(reply);
+  }
+
+  @Benchmark
+  public int walking() {
+    int called = 0;
+    for (Class<?> type = reply.getClass(); type != null; type = type.getSuperclass()) {
+      called += call(type);
+      for (Class<?> implemented : type.getInterfaces()) {
+        called += call(implemented);
+      }
+    }
+    return called;
+  }
+
+  @Benchmark
+  public int direct() {
+    consume(reply);
+    consume(reply);
+    consume(reply);
+    return 3;
+  }
+
+  private int call(Class<?> type) {
+    final List<Consumer<Object>> handlers = walking.get(type);
+    if (handlers == null) {
+      return 0;
+    }
+    for (Consumer<Object> handler : handlers) {
+      handler.accept(reply);
+    }
+    return handlers.size();
+  }
+
+  public interface Named {
+
+  }
+
+  public static class Message implements Named {
+
+  }
+
+  public static final class Reply extends Message {
+
+  }
+}
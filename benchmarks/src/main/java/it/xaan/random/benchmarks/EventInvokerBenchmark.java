@@ -0,0 +1,118 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.event.EventDispatcher;
+import it.xaan.random.event.Subscribe;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures publishing an event to a {@link Subscribe} method called in three ways: reflection with
+ * {@link Method#invoke}, a {@link MethodHandle}, and the class {@link EventDispatcher#register}
+ * makes for it. A handwritten lambda calling the method is there to compare against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventInvokerBenchmark {
+
+  private final Listener listener = new Listener();
+  private final EventDispatcher<Message> reflective = new EventDispatcher<>();
+  private final EventDispatcher<Message> methodHandle = new EventDispatcher<>();
+  private final EventDispatcher<Message> generated = new EventDispatcher<>();
+  private final EventDispatcher<Message> lambda = new EventDispatcher<>();
+  private final Message message = new Message(7);
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    final Method method = Listener.class.getMethod("onMessage", Message.class);
+    reflective.subscribe(Message.class, event -> method.invoke(listener, event));
+    final MethodHandle handle = MethodHandles.lookup().unreflect(method).bindTo(listener)
+        .asType(MethodType.methodType(void.class, Message.class));
+    methodHandle.subscribe(Message.class, event -> {
+      try {
+        handle.invokeExact(event);
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    generated.register(listener);
+    lambda.subscribe(Message.class, listener::onMessage);
+  }
+
+  @Benchmark
+  public long reflective() {
+    reflective.publish(message);
+    return listener.total;
+  }
+
+  @Benchmark
+  public long methodHandle() {
+    methodHandle.publish(message);
+    return listener.total;
+  }
+
+  @Benchmark
+  public long generated() {
+    generated.publish(message);
+    return listener.total;
+  }
+
+  @Benchmark
+  public long lambda() {
+    lambda.publish(message);
+    return listener.total;
+  }
+
+  public static final class Message {
+
+    private final int value;
+
+    Message(int value) {
+      this.value = value;
+    }
+  }
+
+  public static final class Listener {
+
+    private long total;
+
+    @Subscribe
+    public void onMessage(Message message) {
+      total += message.value;
+    }
+  }
+}
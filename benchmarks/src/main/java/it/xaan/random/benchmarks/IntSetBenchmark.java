@@ -0,0 +1,113 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.primitive.IntSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IntSet} against {@code HashSet<Integer>} for intersecting and joining two large
+ * sets of clustered IDs. Each set holds about half of the IDs in a range of twice its size, in
+ * clusters. The {@link HashSet} side copies before changing, the same as {@link IntSet} makes a new
+ * set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IntSetBenchmark {
+
+  @Param({"1000000"})
+  int size;
+
+  private IntSet first;
+  private IntSet second;
+  private Set<Integer> boxedFirst;
+  private Set<Integer> boxedSecond;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    first = new IntSet();
+    second = new IntSet();
+    boxedFirst = new HashSet<>();
+    boxedSecond = new HashSet<>();
+    fill(random, first, boxedFirst);
+    fill(random, second, boxedSecond);
+  }
+
+  private void fill(Random random, IntSet set, Set<Integer> boxed) {
+    int id = 0;
+    while (boxed.size() < size) {
+      // Clusters of up to 1000 IDs, with gaps of up to 1000.
+      int cluster = random.nextInt(1_000);
+      for (int i = 0; i < cluster; i++) {
+        set.add(id);
+        boxed.add(id++);
+      }
+      id += random.nextInt(1_000);
+    }
+    set.optimize();
+  }
+
+  @Benchmark
+  public IntSet and() {
+    return first.and(second);
+  }
+
+  @Benchmark
+  public Set<Integer> boxedAnd() {
+    Set<Integer> result = new HashSet<>(boxedFirst);
+    result.retainAll(boxedSecond);
+    return result;
+  }
+
+  @Benchmark
+  public IntSet or() {
+    return first.or(second);
+  }
+
+  @Benchmark
+  public Set<Integer> boxedOr() {
+    Set<Integer> result = new HashSet<>(boxedFirst);
+    result.addAll(boxedSecond);
+    return result;
+  }
+
+  @Benchmark
+  public long cardinality() {
+    return first.and(second).cardinality();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * How keys are picked by a benchmark. Every distribution picks indexes from {@code 0} to {@code
+ * size - 1} and is precomputed, so picking a key costs the same for each of them.
+ */
+public enum KeyDistribution {
+  /**
+   * Every key is as likely as the others.
+   */
+  UNIFORM {
+    @Override
+    int[] indexes(int size, int amount, Random random) {
+      int[] indexes = new int[amount];
+      for (int i = 0; i < amount; i++) {
+        indexes[i] = random.nextInt(size);
+      }
+      return indexes;
+    }
+  },
+  /**
+   * A few keys are picked far more often than the rest, like most real caches.
+   */
+  ZIPFIAN {
+    @Override
+    int[] indexes(int size, int amount, Random random) {
+      // Inverse transform sampling over the cumulative weights of 1 / rank^s.
+      double[] cumulative = new double[size];
+      double sum = 0;
+      for (int i = 0; i < size; i++) {
+        sum += 1 / Math.pow(i + 1, SKEW);
+        cumulative[i] = sum;
+      }
+      int[] indexes = new int[amount];
+      for (int i = 0; i < amount; i++) {
+        double target = random.nextDouble() * sum;
+        int index = Arrays.binarySearch(cumulative, target);
+        indexes[i] = index < 0 ? Math.min(-index - 1, size - 1) : index;
+      }
+      return indexes;
+    }
+  };
+
+  // The same skew YCSB uses.
+  private static final double SKEW = 0.99;
+
+  /**
+   * Precomputes the indexes of the keys to use.
+   *
+   * @param size   The amount of keys.
+   * @param amount The amount of indexes to pick.
+   * @param random The {@link Random} to pick with.
+   * @return The picked indexes.
+   */
+  abstract int[] indexes(int size, int amount, Random random);
+}
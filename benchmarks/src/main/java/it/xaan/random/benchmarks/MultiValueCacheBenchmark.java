@@ -0,0 +1,88 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.cache.MultiValueCache;
+import it.xaan.random.cache.impl.MapMemoryCache;
+import it.xaan.random.cache.impl.MultiValueCacheDelegate;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MultiValueCache#store(Object, Object[])}. Values come from a small range and
+ * are stored in sets, so the collections stay the same size for the whole run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiValueCacheBenchmark {
+
+  private static final int AMOUNT = 1 << 16;
+  private static final int VALUES = 16;
+
+  @Param({"1024"})
+  int size;
+  @Param({"UNIFORM", "ZIPFIAN"})
+  KeyDistribution distribution;
+
+  private MultiValueCache<String, Integer, Set<Integer>> cache;
+  private String[] keys;
+  private int[] indexes;
+  private int position;
+
+  @Setup
+  public void setup() {
+    cache = new MultiValueCacheDelegate<>(new MapMemoryCache<>(ConcurrentHashMap::new),
+        HashSet::new);
+    keys = new String[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = "key" + i;
+    }
+    indexes = distribution.indexes(size, AMOUNT, new Random(0));
+  }
+
+  @Benchmark
+  public Optional<Set<Integer>> storeOne() {
+    int index = indexes[position++ & (AMOUNT - 1)];
+    return cache.store(keys[index], index % VALUES);
+  }
+
+  @Benchmark
+  public Optional<Set<Integer>> storeMany() {
+    int index = indexes[position++ & (AMOUNT - 1)];
+    return cache.store(keys[index], index % VALUES, (index + 1) % VALUES, (index + 2) % VALUES);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.core.Pair;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures hashing {@link Pair}s, on their own and the way {@code Cache#entries()} uses them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairBenchmark {
+
+  @Param({"1024"})
+  int size;
+
+  private Pair<String, Integer>[] pairs;
+  // Equal to pairs, but different instances.
+  private Pair<String, Integer>[] probes;
+  private Set<Pair<String, Integer>> set;
+  private int position;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    pairs = (Pair<String, Integer>[]) new Pair<?, ?>[size];
+    probes = (Pair<String, Integer>[]) new Pair<?, ?>[size];
+    for (int i = 0; i < size; i++) {
+      pairs[i] = Pair.from("key" + i, i);
+      probes[i] = Pair.from("key" + i, i);
+    }
+    set = new HashSet<>();
+    for (Pair<String, Integer> pair : pairs) {
+      set.add(pair);
+    }
+  }
+
+  @Benchmark
+  public int pairHashCode() {
+    return pairs[position++ % size].hashCode();
+  }
+
+  @Benchmark
+  public boolean pairEquals() {
+    int index = position++ % size;
+    return pairs[index].equals(pairs[(index + 1) % size]);
+  }
+
+  @Benchmark
+  public boolean setContains() {
+    return set.contains(probes[position++ % size]);
+  }
+
+  @Benchmark
+  public Set<Pair<String, Integer>> hashSet() {
+    Set<Pair<String, Integer>> set = new HashSet<>();
+    for (Pair<String, Integer> pair : pairs) {
+      set.add(pair);
+    }
+    return set;
+  }
+}
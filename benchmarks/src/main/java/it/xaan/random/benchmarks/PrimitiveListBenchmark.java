@@ -0,0 +1,100 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.primitive.IntList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IntList} against {@code ArrayList<Integer>} when scanning and filtering every
+ * element. Filtering copies the list first, so both sides pay for one copy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PrimitiveListBenchmark {
+
+  @Param({"1000000", "10000000"})
+  int size;
+
+  private IntList primitive;
+  private List<Integer> boxed;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    primitive = new IntList(size);
+    boxed = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int element = random.nextInt();
+      primitive.add(element);
+      boxed.add(element);
+    }
+  }
+
+  @Benchmark
+  public long primitiveSum() {
+    long sum = 0;
+    for (int i = 0; i < primitive.size(); i++) {
+      sum += primitive.get(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long boxedSum() {
+    long sum = 0;
+    for (int element : boxed) {
+      sum += element;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public IntList primitiveFilter() {
+    IntList copy = new IntList(size);
+    copy.addAll(primitive);
+    copy.removeIf(element -> (element & 1) == 0);
+    return copy;
+  }
+
+  @Benchmark
+  public List<Integer> boxedFilter() {
+    List<Integer> copy = new ArrayList<>(boxed);
+    copy.removeIf(element -> (element & 1) == 0);
+    return copy;
+  }
+}
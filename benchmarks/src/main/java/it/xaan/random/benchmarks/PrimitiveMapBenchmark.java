@@ -0,0 +1,114 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.primitive.Int2IntMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Int2IntMap} against {@code HashMap<Integer, Integer>}. Keys are random rather
+ * than small, so the boxes can't come from the {@link Integer} cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveMapBenchmark {
+
+  private static final int AMOUNT = 1 << 16;
+
+  @Param({"1024", "1048576"})
+  int size;
+
+  private int[] keys;
+  private int[] lookups;
+  private int position;
+  private Int2IntMap primitive;
+  private Map<Integer, Integer> boxed;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    keys = new int[size];
+    primitive = new Int2IntMap();
+    boxed = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      keys[i] = random.nextInt();
+      primitive.put(keys[i], i);
+      boxed.put(keys[i], i);
+    }
+    lookups = new int[AMOUNT];
+    for (int i = 0; i < AMOUNT; i++) {
+      lookups[i] = keys[random.nextInt(size)];
+    }
+  }
+
+  @Benchmark
+  public int primitiveGet() {
+    return primitive.get(lookups[position++ & (AMOUNT - 1)]);
+  }
+
+  @Benchmark
+  public Integer boxedGet() {
+    return boxed.get(lookups[position++ & (AMOUNT - 1)]);
+  }
+
+  @Benchmark
+  public int primitiveAddTo() {
+    return primitive.addTo(lookups[position++ & (AMOUNT - 1)], 1);
+  }
+
+  @Benchmark
+  public Integer boxedMerge() {
+    return boxed.merge(lookups[position++ & (AMOUNT - 1)], 1, Integer::sum);
+  }
+
+  @Benchmark
+  public Int2IntMap primitiveFill() {
+    Int2IntMap map = new Int2IntMap();
+    for (int i = 0; i < size; i++) {
+      map.put(keys[i], i);
+    }
+    return map;
+  }
+
+  @Benchmark
+  public Map<Integer, Integer> boxedFill() {
+    Map<Integer, Integer> map = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      map.put(keys[i], i);
+    }
+    return map;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.result.IntResult;
+import it.xaan.random.result.Result;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing a row of numeric fields and summing them, through {@link Result} with boxed
+ * elements against {@link IntResult}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveResultBenchmark {
+
+  private static final int FIELDS = 16;
+
+  private String[] row;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    row = new String[FIELDS];
+    for (int i = 0; i < FIELDS; i++) {
+      // Big enough to miss the Integer cache.
+      row[i] = String.valueOf(1_000 + i * 37);
+    }
+  }
+
+  @Benchmark
+  public int boxed() {
+    int sum = 0;
+    for (String field : row) {
+      sum += parse(field).map(value -> value * 2).orElse(0);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int primitive() {
+    int sum = 0;
+    for (String field : row) {
+      sum += IntResult.parse(field).map(value -> value * 2).orElse(0);
+    }
+    return sum;
+  }
+
+  private static Result<Integer> parse(String field) {
+    try {
+      return Result.of(Integer.parseInt(field));
+    } catch (NumberFormatException e) {
+      return Result.error(e);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.result.Pipeline;
+import it.xaan.random.result.Result;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures chains of {@link Result#map(java.util.function.Function)} and {@link
+ * Result#flatMap(java.util.function.Function)} in each of the three states, and the same chain as
+ * a {@link Pipeline}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultBenchmark {
+
+  // Not final so the JIT can't fold them.
+  private Result<String> success = Result.of("12345");
+  private Result<String> error = Result.error(new IllegalStateException("Error state."));
+  private Result<String> empty = Result.empty();
+  private final Pipeline<String, Integer> pipeline = Pipeline.<String>start()
+      .map(String::trim)
+      .map(String::length)
+      .map(length -> length * 2)
+      .filter(length -> length > 0);
+
+  @Benchmark
+  public Result<Integer> mapSuccess() {
+    return map(success);
+  }
+
+  @Benchmark
+  public Result<Integer> mapError() {
+    return map(error);
+  }
+
+  @Benchmark
+  public Result<Integer> mapEmpty() {
+    return map(empty);
+  }
+
+  @Benchmark
+  public Result<Integer> pipelineSuccess() {
+    return pipeline.apply(success);
+  }
+
+  @Benchmark
+  public Result<Integer> pipelineError() {
+    return pipeline.apply(error);
+  }
+
+  @Benchmark
+  public Result<Integer> flatMapSuccess() {
+    return flatMap(success);
+  }
+
+  @Benchmark
+  public Result<Integer> flatMapError() {
+    return flatMap(error);
+  }
+
+  private Result<Integer> map(Result<String> result) {
+    return result
+        .map(String::trim)
+        .map(String::length)
+        .map(length -> length * 2)
+        .filter(length -> length > 0);
+  }
+
+  private Result<Integer> flatMap(Result<String> result) {
+    return result
+        .flatMap(string -> Result.of(string.trim()))
+        .flatMap(string -> Result.of(string.length()))
+        .flatMap(length -> length > 0 ? Result.of(length * 2) : Result.empty());
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.result.IntResult;
+import it.xaan.random.result.Result;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures validating a batch of 100k records with {@link Result#traverse}, on one thread and on a
+ * {@link ForkJoinPool}, against collecting the Results by hand. The batch is either all valid or
+ * has an invalid record in the middle.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraverseBenchmark {
+
+  private static final int RECORDS = 100_000;
+
+  @Param({"valid", "invalid"})
+  private String batch;
+
+  private List<String> records;
+  private ForkJoinPool pool;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    records = new ArrayList<>(RECORDS);
+    for (int i = 0; i < RECORDS; i++) {
+      records.add(batch.equals("invalid") && i == RECORDS / 2 ? "invalid" : String.valueOf(i));
+    }
+    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public Result<List<Integer>> byHand() {
+    final List<Result<Integer>> results = new ArrayList<>(records.size());
+    for (String record : records) {
+      results.add(validate(record));
+    }
+    final List<Integer> elements = new ArrayList<>(results.size());
+    for (Result<Integer> result : results) {
+      if (result.isError()) {
+        return Result.error(result.getError());
+      }
+      elements.add(result.get());
+    }
+    return Result.of(elements);
+  }
+
+  @Benchmark
+  public Result<List<Integer>> traverse() {
+    return Result.traverse(records, TraverseBenchmark::validate);
+  }
+
+  @Benchmark
+  public Result<List<Integer>> traverseParallel() {
+    return Result.traverse(records, TraverseBenchmark::validate, pool);
+  }
+
+  private static Result<Integer> validate(String record) {
+    return IntResult.parse(record).filter(value -> value >= 0).boxed();
+  }
+}
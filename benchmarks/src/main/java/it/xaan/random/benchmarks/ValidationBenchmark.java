@@ -0,0 +1,123 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.benchmarks;
+
+import it.xaan.random.result.Validation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures validating a 50 field payload where some fields are invalid, folding the fields
+ * together one combine at a time. {@link Validation} joins errors without copying them, the list
+ * version copies the errors so far into a new list on every combine, which is what an immutable
+ * list of errors has to do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+  private static final int FIELDS = 50;
+
+  // How many fields out of every ten are invalid.
+  @Param({"1", "10"})
+  private int invalid;
+
+  private List<Validation<Integer>> validations;
+  private List<Checked> checks;
+
+  @Setup
+  public void setup() {
+    validations = new ArrayList<>(FIELDS);
+    checks = new ArrayList<>(FIELDS);
+    for (int i = 0; i < FIELDS; i++) {
+      final String error = "Field " + i + " is invalid.";
+      final boolean bad = i % 10 < invalid;
+      validations.add(bad ? Validation.invalid(error) : Validation.valid(i));
+      checks.add(bad ? new Checked(0, Collections.singletonList(error)) : new Checked(i, null));
+    }
+  }
+
+  @Benchmark
+  public Validation<Integer> combine() {
+    Validation<Integer> result = Validation.valid(0);
+    for (final Validation<Integer> validation : validations) {
+      result = result.combine(validation, Integer::sum);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public Validation<Integer> mapN() {
+    return Validation.mapN(validations, ints -> ints.size());
+  }
+
+  @Benchmark
+  public Checked copyingList() {
+    Checked result = new Checked(0, null);
+    for (final Checked check : checks) {
+      result = result.combine(check);
+    }
+    return result;
+  }
+
+  /**
+   * An immutable element or list of errors, copied on every combine.
+   */
+  public static final class Checked {
+
+    private final int element;
+    private final List<String> errors;
+
+    Checked(int element, List<String> errors) {
+      this.element = element;
+      this.errors = errors;
+    }
+
+    Checked combine(Checked other) {
+      if (errors == null && other.errors == null) {
+        return new Checked(element + other.element, null);
+      }
+      final List<String> copy = new ArrayList<>();
+      if (errors != null) {
+        copy.addAll(errors);
+      }
+      if (other.errors != null) {
+        copy.addAll(other.errors);
+      }
+      return new Checked(0, Collections.unmodifiableList(copy));
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package it.xaan.random.cache;
 
 import it.xaan.random.core.Pair;
+import it.xaan.random.core.PairList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -115,8 +116,8 @@ public interface Cache<K, V> {
    * @return A {@link List} of values associated with the keys that were invalidated.
    */
   default List<V> invalidateWhere(Predicate<K> filter) {
-    List<V> list = new ArrayList<>();
-    List<Pair<K, V>> found = invalidateWhere((key, $) -> filter.test(key));
+    List<Pair<K, V>> found = invalidateWhere((key, value) -> filter.test(key));
+    List<V> list = new ArrayList<>(found.size());
     for (Pair<K, V> kvPair : found) {
       list.add(kvPair.getSecond());
     }
@@ -130,14 +131,15 @@ public interface Cache<K, V> {
    * BiPredicate returns true.
    *
    * @param filter The BiPredicate for filtering.
-   * @return A {@link List} of key-value {@link Pair}s that were invalidated.
+   * @return A {@link List} of key-value {@link Pair}s that were invalidated. The default
+   * implementation returns a {@link PairList}.
    */
   @SuppressWarnings("ConstantConditions")
   default List<Pair<K, V>> invalidateWhere(BiPredicate<K, V> filter) {
-    List<Pair<K, V>> list = new ArrayList<>();
+    PairList<K, V> list = new PairList<>();
     for (Pair<K, V> entry : entries()) {
       if (filter.test(entry.getFirst(), entry.getSecond())) {
-        list.add(entry);
+        list.add(entry.getFirst(), entry.getSecond());
         invalidate(entry.getFirst());
       }
     }
@@ -176,7 +178,7 @@ public interface Cache<K, V> {
   /**
    * Invalidates every entry in the cache. See {@link #invalidate(Object)}.
    *
-   * @return A {@link List}  with all entries.
+   * @return A {@link List} with all entries.
    */
   default List<Pair<K, V>> invalidateAll() {
     return invalidateWhere(($, $$) -> true);
@@ -186,14 +188,16 @@ public interface Cache<K, V> {
    * Returns all entries that match the provided {@link BiPredicate}.
    *
    * @param filter The BiPredicate that represents the filter.
-   * @return A list of all entries in the {@link Cache} that match the filter.
+   * @return A list of all entries in the {@link Cache} that match the filter. The default
+   * implementation returns a {@link PairList}.
    */
+  @SuppressWarnings("ConstantConditions")
   default List<Pair<K, V>> where(BiPredicate<K, V> filter) {
-    List<Pair<K, V>> list = new ArrayList<>();
+    PairList<K, V> list = new PairList<>();
     Set<Pair<K, V>> entries = entries();
     for (Pair<K, V> entry : entries) {
       if (filter.test(entry.getFirst(), entry.getSecond())) {
-        list.add(entry);
+        list.add(entry.getFirst(), entry.getSecond());
       }
     }
     return list;
@@ -249,4 +253,83 @@ public interface Cache<K, V> {
     entries().forEach(pair -> values.add(pair.getSecond()));
     return values;
   }
+
+  /**
+   * Gets a value from the cache along with the version it was stored under. The value and version
+   * are read together, so the version can be passed back to {@link #storeIfVersion(Object, Object,
+   * long)} to make sure nobody else wrote to the key in between.
+   *
+   * @param key The key of the value to grab.
+   * @return An {@link Optional} that is empty if the provided key isn't in the cache. Otherwise an
+   * Optional containing the {@link Versioned} value.
+   * @throws NotImplementedException When the subclass doesn't keep versions.
+   */
+  default Optional<Versioned<V>> getVersioned(K key) {
+    throw new NotImplementedException();
+  }
+
+  /**
+   * Stores the key and value inside the cache only if the current version of the key is the
+   * expected version. Passing {@link Versioned#ABSENT} will only store if the key doesn't exist.
+   *
+   * @param key             The key to save under.
+   * @param value           The value to save as.
+   * @param expectedVersion The version the key must currently have.
+   * @return {@code true} if the value was stored, otherwise {@code false}.
+   * @throws NotImplementedException When the subclass doesn't keep versions.
+   */
+  default boolean storeIfVersion(K key, V value, long expectedVersion) {
+    throw new NotImplementedException();
+  }
+
+  /**
+   * Stores the new value only if the key is currently associated with the expected value. The
+   * default implementation isn't atomic, implementations that are safe to use across threads
+   * should override it.
+   *
+   * @param key      The key to save under.
+   * @param expected The value the key must currently have.
+   * @param value    The new value to save as.
+   * @return {@code true} if the value was replaced, otherwise {@code false}.
+   */
+  default boolean replace(K key, V expected, V value) {
+    if (!getOptional(key).filter(expected::equals).isPresent()) {
+      return false;
+    }
+    store(key, value);
+    return true;
+  }
+
+  /**
+   * Computes a new value for the key from the current, possibly-null, value. If the {@link
+   * BiFunction} returns null the key is invalidated. The default implementation isn't atomic,
+   * implementations that are safe to use across threads should override it.
+   *
+   * @param key    The key to compute for.
+   * @param mapper The BiFunction that maps the key and current value to the new value.
+   * @return An {@link Optional} containing the new value, or empty if the key was invalidated.
+   */
+  default Optional<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> mapper) {
+    V value = mapper.apply(key, get(key));
+    if (value == null) {
+      invalidate(key);
+      return Optional.empty();
+    }
+    store(key, value);
+    return Optional.of(value);
+  }
+
+  /**
+   * Stores the value if the key doesn't exist, otherwise stores the result of merging the current
+   * value with the passed one. If the {@link BiFunction} returns null the key is invalidated. The
+   * default implementation is done through {@link #compute(Object, BiFunction)}.
+   *
+   * @param key    The key to merge into.
+   * @param value  The value to store or merge.
+   * @param merger The BiFunction that merges the current value and the passed one.
+   * @return An {@link Optional} containing the new value, or empty if the key was invalidated.
+   */
+  default Optional<V> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> merger) {
+    return compute(key, (k, old) -> old == null ? value : merger.apply(old, value));
+  }
 }
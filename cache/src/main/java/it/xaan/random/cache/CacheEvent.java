@@ -0,0 +1,128 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache;
+
+import javax.annotation.Nullable;
+
+/**
+ * Represents a change that happened to a key inside a {@link Cache}.
+ *
+ * @param <K> The type for the keys.
+ * @param <V> The type for the values.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class CacheEvent<K, V> {
+
+  /**
+   * The kind of change that happened to the key.
+   */
+  public enum Type {
+    /**
+     * A value was stored under the key.
+     */
+    STORE,
+    /**
+     * The key was invalidated by a caller.
+     */
+    INVALIDATE,
+    /**
+     * The key was removed by the cache to make room for other keys.
+     */
+    EVICT,
+    /**
+     * The key was removed because it lived past its expiry.
+     */
+    EXPIRE
+  }
+
+  private final Type type;
+  private final K key;
+  @Nullable
+  private final V oldValue;
+  @Nullable
+  private final V newValue;
+
+  // Constructor
+  private CacheEvent(Type type, K key, @Nullable V oldValue, @Nullable V newValue) {
+    this.type = type;
+    this.key = key;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+  }
+
+  /**
+   * Constructs a new {@link CacheEvent}.
+   *
+   * @param type     The type of the event.
+   * @param key      The key that changed.
+   * @param oldValue The possibly-null value the key had before the change.
+   * @param newValue The possibly-null value the key has after the change.
+   * @param <A>      The type of the key.
+   * @param <B>      The type of the values.
+   * @return A new instance of CacheEvent with the specified information.
+   */
+  public static <A, B> CacheEvent<A, B> from(Type type, A key, @Nullable B oldValue,
+      @Nullable B newValue) {
+    return new CacheEvent<>(type, key, oldValue, newValue);
+  }
+
+  /**
+   * Getter for the type.
+   *
+   * @return The type of the event.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Getter for the key.
+   *
+   * @return The key that changed.
+   */
+  public K getKey() {
+    return key;
+  }
+
+  /**
+   * Getter for the old value.
+   *
+   * @return The possibly-null value the key had before the change, null if it had no value or the
+   * cache couldn't tell.
+   */
+  @Nullable
+  public V getOldValue() {
+    return oldValue;
+  }
+
+  /**
+   * Getter for the new value.
+   *
+   * @return The possibly-null value the key has after the change, null if the key was removed.
+   */
+  @Nullable
+  public V getNewValue() {
+    return newValue;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CacheEvent[type=%s,key=%s,oldValue=%s,newValue=%s]", type, key, oldValue,
+        newValue);
+  }
+}
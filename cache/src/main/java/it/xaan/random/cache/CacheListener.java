@@ -0,0 +1,39 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache;
+
+import java.util.List;
+
+/**
+ * Listens to the changes of a {@link Cache}. Events are handed over in batches, in the order they
+ * happened.
+ *
+ * @param <K> The type for the keys.
+ * @param <V> The type for the values.
+ */
+@FunctionalInterface
+public interface CacheListener<K, V> {
+
+  /**
+   * Called with a batch of events. The {@link List} is only valid for the duration of the call and
+   * should be copied if it needs to be kept.
+   *
+   * @param events The events, in the order they happened.
+   */
+  void onEvents(List<CacheEvent<K, V>> events);
+}
@@ -0,0 +1,103 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache;
+
+import java.util.Objects;
+
+/**
+ * Represents a value stored inside a {@link Cache} along with the time it stops being valid. The
+ * deadline is in the same nanoseconds as {@link System#nanoTime()}, so it can only be compared
+ * with other readings of the same clock.
+ *
+ * @param <V> The type of the value.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Expiring<V> {
+
+  private final V value;
+  private final long deadline;
+
+  // Constructor
+  private Expiring(V value, long deadline) {
+    this.value = value;
+    this.deadline = deadline;
+  }
+
+  /**
+   * Constructs a new {@link Expiring}.
+   *
+   * @param value    The non-null value.
+   * @param deadline The time the value stops being valid, in nanoseconds.
+   * @param <U>      The type of the value.
+   * @return A new instance of Expiring with the specified value and deadline.
+   */
+  public static <U> Expiring<U> from(U value, long deadline) {
+    return new Expiring<>(Objects.requireNonNull(value), deadline);
+  }
+
+  /**
+   * Getter for the value.
+   *
+   * @return The non-null value.
+   */
+  public V getValue() {
+    return value;
+  }
+
+  /**
+   * Getter for the deadline.
+   *
+   * @return The time the value stops being valid, in nanoseconds.
+   */
+  public long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Checks if the value is no longer valid.
+   *
+   * @param now The current time, in nanoseconds.
+   * @return True if the deadline has been reached.
+   */
+  public boolean isExpired(long now) {
+    // Compared by difference, since nanoTime is allowed to wrap around.
+    return now - deadline >= 0;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Expiring)) {
+      return false;
+    }
+    Expiring<?> other = (Expiring<?>) obj;
+    return this.deadline == other.deadline && this.value.equals(other.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * value.hashCode() + Long.hashCode(deadline);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Expiring[value=%s,deadline=%s]", value, deadline);
+  }
+}
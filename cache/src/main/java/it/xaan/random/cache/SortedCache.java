@@ -0,0 +1,149 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache;
+
+import it.xaan.random.core.Pair;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Cache} whose keys are kept in order, allowing range queries without having
+ * to scan every entry through {@link #where(java.util.function.BiPredicate)}.
+ * <p>
+ * Every range method here is expected to run in {@code O(log n + k)}, where {@code k} is the
+ * amount of entries inside the range.
+ *
+ * @param <K> The type for the keys.
+ * @param <V> The type for the values.
+ */
+@SuppressWarnings("unused")
+public interface SortedCache<K, V> extends Cache<K, V> {
+
+  /**
+   * Gets the {@link Comparator} used to order the keys of this cache.
+   *
+   * @return The comparator, or null if the keys use their natural ordering.
+   */
+  @Nullable
+  Comparator<? super K> comparator();
+
+  /**
+   * Gets a view of the portion of this cache whose keys range from {@code from} to {@code to}.
+   * Changes to the view are reflected in this cache and vice-versa. Storing a key outside of the
+   * range through the view will throw an {@link IllegalArgumentException}.
+   *
+   * @param from          The low end of the keys in the view.
+   * @param fromInclusive {@code true} if the low end is to be included in the view.
+   * @param to            The high end of the keys in the view.
+   * @param toInclusive   {@code true} if the high end is to be included in the view.
+   * @return A {@link SortedCache} view of the range.
+   */
+  SortedCache<K, V> subCache(K from, boolean fromInclusive, K to, boolean toInclusive);
+
+  /**
+   * Gets a view of the portion of this cache whose keys are less than {@code to}. See {@link
+   * #subCache(Object, boolean, Object, boolean)}.
+   *
+   * @param to        The high end of the keys in the view.
+   * @param inclusive {@code true} if the high end is to be included in the view.
+   * @return A {@link SortedCache} view of the range.
+   */
+  SortedCache<K, V> headCache(K to, boolean inclusive);
+
+  /**
+   * Gets a view of the portion of this cache whose keys are greater than {@code from}. See {@link
+   * #subCache(Object, boolean, Object, boolean)}.
+   *
+   * @param from      The low end of the keys in the view.
+   * @param inclusive {@code true} if the low end is to be included in the view.
+   * @return A {@link SortedCache} view of the range.
+   */
+  SortedCache<K, V> tailCache(K from, boolean inclusive);
+
+  /**
+   * Gets the entry with the greatest key less than or equal to the passed key.
+   *
+   * @param key The key to search for.
+   * @return An {@link Optional} containing the entry, or empty if there is no such key.
+   */
+  Optional<Pair<K, V>> floor(K key);
+
+  /**
+   * Gets the entry with the least key greater than or equal to the passed key.
+   *
+   * @param key The key to search for.
+   * @return An {@link Optional} containing the entry, or empty if there is no such key.
+   */
+  Optional<Pair<K, V>> ceiling(K key);
+
+  /**
+   * Gets the entry with the greatest key strictly less than the passed key.
+   *
+   * @param key The key to search for.
+   * @return An {@link Optional} containing the entry, or empty if there is no such key.
+   */
+  Optional<Pair<K, V>> lower(K key);
+
+  /**
+   * Gets the entry with the least key strictly greater than the passed key.
+   *
+   * @param key The key to search for.
+   * @return An {@link Optional} containing the entry, or empty if there is no such key.
+   */
+  Optional<Pair<K, V>> higher(K key);
+
+  /**
+   * Gets the entry with the lowest key in this cache.
+   *
+   * @return An {@link Optional} containing the entry, or empty if the cache is empty.
+   */
+  Optional<Pair<K, V>> first();
+
+  /**
+   * Gets the entry with the highest key in this cache.
+   *
+   * @return An {@link Optional} containing the entry, or empty if the cache is empty.
+   */
+  Optional<Pair<K, V>> last();
+
+  /**
+   * Returns all entries with keys from {@code from}, inclusive, to {@code to}, exclusive. The
+   * entries are in key order.
+   *
+   * @param from The inclusive low end of the range.
+   * @param to   The exclusive high end of the range.
+   * @return A {@link List} of the key-value {@link Pair}s inside the range.
+   */
+  default List<Pair<K, V>> range(K from, K to) {
+    return subCache(from, true, to, false).where(($, $$) -> true);
+  }
+
+  /**
+   * Invalidates every entry with a key from {@code from}, inclusive, to {@code to}, exclusive. See
+   * {@link #invalidate(Object)}.
+   *
+   * @param from The inclusive low end of the range.
+   * @param to   The exclusive high end of the range.
+   * @return A {@link List} of the key-value {@link Pair}s that were invalidated, in key order.
+   */
+  default List<Pair<K, V>> invalidateRange(K from, K to) {
+    return subCache(from, true, to, false).invalidateAll();
+  }
+}
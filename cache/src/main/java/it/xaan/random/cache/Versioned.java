@@ -0,0 +1,98 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache;
+
+import java.util.Objects;
+
+/**
+ * Represents a value stored inside a {@link Cache} along with the version it was stored under.
+ * Every write to a key gives it a new version, so a version can be used to check that the value
+ * hasn't changed since it was read. See {@link Cache#storeIfVersion(Object, Object, long)}.
+ *
+ * @param <V> The type of the value.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Versioned<V> {
+
+  /**
+   * The version of a key that has no value. Passing this to {@link Cache#storeIfVersion(Object,
+   * Object, long)} will only store if the key doesn't exist.
+   */
+  public static final long ABSENT = 0;
+
+  private final V value;
+  private final long version;
+
+  // Constructor
+  private Versioned(V value, long version) {
+    this.value = value;
+    this.version = version;
+  }
+
+  /**
+   * Constructs a new {@link Versioned}.
+   *
+   * @param value   The non-null value.
+   * @param version The version of the value.
+   * @param <U>     The type of the value.
+   * @return A new instance of Versioned with the specified value and version.
+   */
+  public static <U> Versioned<U> from(U value, long version) {
+    return new Versioned<>(Objects.requireNonNull(value), version);
+  }
+
+  /**
+   * Getter for the value.
+   *
+   * @return The non-null value.
+   */
+  public V getValue() {
+    return value;
+  }
+
+  /**
+   * Getter for the version.
+   *
+   * @return The version the value was stored under.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Versioned)) {
+      return false;
+    }
+    Versioned<?> other = (Versioned<?>) obj;
+    return this.version == other.version && this.value.equals(other.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * value.hashCode() + Long.hashCode(version);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Versioned[value=%s,version=%s]", value, version);
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.cache.Versioned;
+import it.xaan.random.core.Pair;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Cache} that keeps itself coherent with the same cache on other nodes. Every
+ * key invalidated through this cache is published over an {@link InvalidationTransport}, and every
+ * key another node publishes is invalidated here.
+ * <p>
+ * Keys aren't published right away, they're coalesced until {@link #flush()} is called, either
+ * manually or on a schedule, and then published in batches of up to {@code maxBatch} keys. A key
+ * invalidated many times between flushes is only published once. If the transport fails, the keys
+ * that weren't published are kept for the next flush.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class CoherentCache<K, V> implements Cache<K, V>, AutoCloseable {
+
+  private final Cache<K, V> delegate;
+  private final InvalidationTransport<K> transport;
+  private final int maxBatch;
+  private final Set<K> pending = ConcurrentHashMap.newKeySet();
+  @Nullable
+  private final ScheduledFuture<?> scheduled;
+
+  /**
+   * Creates a new {@link CoherentCache} that only publishes when {@link #flush()} is called.
+   *
+   * @param delegate  The {@link Cache} that methods delegate to.
+   * @param transport The {@link InvalidationTransport} keys travel over.
+   * @param maxBatch  The most keys to publish in one batch.
+   */
+  public CoherentCache(final Cache<K, V> delegate, final InvalidationTransport<K> transport,
+      final int maxBatch) {
+    this(delegate, transport, maxBatch, null, 0, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Creates a new {@link CoherentCache} that flushes on a fixed schedule. A failed flush is
+   * reported to the uncaught exception handler of the scheduler's thread and the schedule keeps
+   * going.
+   *
+   * @param delegate  The {@link Cache} that methods delegate to.
+   * @param transport The {@link InvalidationTransport} keys travel over.
+   * @param maxBatch  The most keys to publish in one batch.
+   * @param scheduler The {@link ScheduledExecutorService} to flush on.
+   * @param period    The time between flushes.
+   * @param unit      The {@link TimeUnit} of the period.
+   */
+  public CoherentCache(final Cache<K, V> delegate, final InvalidationTransport<K> transport,
+      final int maxBatch, @Nullable final ScheduledExecutorService scheduler, final long period,
+      final TimeUnit unit) {
+    if (maxBatch <= 0) {
+      throw new IllegalArgumentException("Max batch must be positive.");
+    }
+    this.delegate = delegate;
+    this.transport = transport;
+    this.maxBatch = maxBatch;
+    // Keys from other nodes go straight to the delegate so they aren't published back.
+    transport.subscribe(keys -> keys.forEach(delegate::invalidate));
+    this.scheduled = scheduler == null
+        ? null
+        : scheduler.scheduleAtFixedRate(this::scheduledFlush, period, period, unit);
+  }
+
+  /**
+   * Publishes every key invalidated since the last flush.
+   *
+   * @return The amount of keys that were published.
+   * @throws RuntimeException If the transport failed. The keys that weren't published are kept and
+   *                          published on the next flush.
+   */
+  public int flush() {
+    int published = 0;
+    List<K> batch = new ArrayList<>(Math.min(maxBatch, pending.size()));
+    Iterator<K> iterator = pending.iterator();
+    while (iterator.hasNext()) {
+      batch.add(iterator.next());
+      iterator.remove();
+      if (batch.size() == maxBatch) {
+        publish(batch);
+        published += batch.size();
+        batch = new ArrayList<>(maxBatch);
+      }
+    }
+    if (!batch.isEmpty()) {
+      publish(batch);
+      published += batch.size();
+    }
+    return published;
+  }
+
+  private void publish(List<K> batch) {
+    try {
+      transport.publish(batch);
+    } catch (RuntimeException e) {
+      // Some peers may have gotten it already, but invalidating twice is harmless.
+      pending.addAll(batch);
+      throw e;
+    }
+  }
+
+  private void scheduledFlush() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      // Throwing would cancel the schedule, so it's reported the same way an uncaught one would be.
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+  }
+
+  /**
+   * Stops flushing on a schedule, if this cache was created with one, and flushes one last time.
+   * The transport isn't closed, as it belongs to whoever created it.
+   */
+  @Override
+  public void close() {
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+    flush();
+  }
+
+  @Override
+  public Optional<V> getOptional(K key) {
+    return delegate.getOptional(key);
+  }
+
+  @Override
+  public Optional<V> store(K key, V value) {
+    return delegate.store(key, value);
+  }
+
+  @Override
+  public Optional<V> invalidate(K key) {
+    // Published even if we don't have it, other nodes might.
+    pending.add(key);
+    return delegate.invalidate(key);
+  }
+
+  @Override
+  public List<Pair<K, V>> invalidateWhere(BiPredicate<K, V> filter) {
+    List<Pair<K, V>> invalidated = delegate.invalidateWhere(filter);
+    for (Pair<K, V> pair : invalidated) {
+      pending.add(pair.getFirst());
+    }
+    return invalidated;
+  }
+
+  @Override
+  public Set<Pair<K, V>> entries() {
+    return delegate.entries();
+  }
+
+  @Override
+  public List<Pair<K, V>> where(BiPredicate<K, V> filter) {
+    return delegate.where(filter);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public <A, B> Cache<A, B> map(BiFunction<K, V, Pair<A, B>> mapper) {
+    return delegate.map(mapper);
+  }
+
+  @Override
+  public Optional<Versioned<V>> getVersioned(K key) {
+    return delegate.getVersioned(key);
+  }
+
+  @Override
+  public boolean storeIfVersion(K key, V value, long expectedVersion) {
+    return delegate.storeIfVersion(key, value, expectedVersion);
+  }
+
+  @Override
+  public boolean replace(K key, V expected, V value) {
+    return delegate.replace(key, expected, value);
+  }
+
+  @Override
+  public Optional<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> mapper) {
+    Optional<V> computed = delegate.compute(key, mapper);
+    if (!computed.isPresent()) {
+      pending.add(key);
+    }
+    return computed;
+  }
+
+  @Override
+  public Optional<V> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> merger) {
+    Optional<V> merged = delegate.merge(key, value, merger);
+    if (!merged.isPresent()) {
+      pending.add(key);
+    }
+    return merged;
+  }
+
+  /**
+   * Gets the keys waiting to be published.
+   *
+   * @return A copy of the keys that will be published on the next flush.
+   */
+  public Collection<K> pending() {
+    return new ArrayList<>(pending);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CoherentCache[delegate=%s]", delegate);
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Represents an {@link InvalidationTransport} that sends keys to a list of peers over UDP. Keys
+ * are packed into as few datagrams as possible. By default a datagram is at most {@value
+ * #DEFAULT_PAYLOAD} bytes, which fits inside a single Ethernet frame, so datagrams are never
+ * fragmented on the way. Bind it to the loopback address to test a group of nodes on one machine.
+ * <p>
+ * UDP doesn't guarantee delivery, a lost datagram means the keys in it stay stale on that peer
+ * until they're stored again or invalidated again.
+ * <p>
+ * A key that can't be sent, because it doesn't fit inside a datagram or the codec threw, and a
+ * datagram that can't be received, because it's malformed or a receiver threw, are skipped and
+ * reported to the uncaught exception handler of the thread, so they don't hold up the other keys.
+ *
+ * @param <K> The type for the keys.
+ */
+public class DatagramTransport<K> implements InvalidationTransport<K> {
+
+  /**
+   * The default largest payload of a datagram. An Ethernet MTU of 1500 bytes, minus the IPv4 and
+   * UDP headers.
+   */
+  public static final int DEFAULT_PAYLOAD = 1_472;
+  // The largest payload of a UDP datagram.
+  private static final int MAX_DATAGRAM = 65_507;
+
+  private final DatagramChannel channel;
+  private final InvalidationCodec<K> codec;
+  private final List<SocketAddress> peers = new CopyOnWriteArrayList<>();
+  private final List<Consumer<Collection<K>>> receivers = new CopyOnWriteArrayList<>();
+  // Guarded by itself, every publish reuses it.
+  private final ByteBuffer sending;
+
+  /**
+   * Creates a new {@link DatagramTransport} bound to the specified address, sending datagrams of
+   * at most {@link #DEFAULT_PAYLOAD} bytes. Received keys are read on a daemon thread owned by
+   * this transport.
+   *
+   * @param address The address to bind to. Port 0 picks a free port, see {@link #getAddress()}.
+   * @param codec   The {@link InvalidationCodec} keys are converted with.
+   * @throws UncheckedIOException If the address couldn't be bound.
+   */
+  public DatagramTransport(final InetSocketAddress address, final InvalidationCodec<K> codec) {
+    this(address, codec, DEFAULT_PAYLOAD);
+  }
+
+  /**
+   * Creates a new {@link DatagramTransport} bound to the specified address. Received keys are
+   * read on a daemon thread owned by this transport.
+   *
+   * @param address    The address to bind to. Port 0 picks a free port, see {@link
+   *                   #getAddress()}.
+   * @param codec      The {@link InvalidationCodec} keys are converted with.
+   * @param maxPayload The largest datagram to send, in bytes. Anything above the path MTU is
+   *                   fragmented, and losing one fragment loses the whole datagram.
+   * @throws IllegalArgumentException If the payload is too small for a key or larger than a UDP
+   *                                  datagram can be.
+   * @throws UncheckedIOException     If the address couldn't be bound.
+   */
+  public DatagramTransport(final InetSocketAddress address, final InvalidationCodec<K> codec,
+      final int maxPayload) {
+    if (maxPayload <= Integer.BYTES * 2 || maxPayload > MAX_DATAGRAM) {
+      throw new IllegalArgumentException("Max payload must be between 9 and 65507 bytes.");
+    }
+    this.codec = codec;
+    this.sending = ByteBuffer.allocate(maxPayload);
+    try {
+      this.channel = DatagramChannel.open().bind(address);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    Thread thread = new Thread(this::receive, "DatagramTransport-" + address);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Gets the address this transport is bound to.
+   *
+   * @return The local address.
+   * @throws UncheckedIOException If the address couldn't be read.
+   */
+  public InetSocketAddress getAddress() {
+    try {
+      return (InetSocketAddress) channel.getLocalAddress();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Adds a peer that published keys are sent to.
+   *
+   * @param peer The address of the peer.
+   */
+  public void addPeer(SocketAddress peer) {
+    peers.add(peer);
+  }
+
+  /**
+   * Removes a peer.
+   *
+   * @param peer The address of the peer.
+   * @return {@code true} if the peer was removed, otherwise {@code false}.
+   */
+  public boolean removePeer(SocketAddress peer) {
+    return peers.remove(peer);
+  }
+
+  /**
+   * {@inheritDoc} Every peer is sent to even if sending to one of them fails. Keys that can't be
+   * sent are skipped and reported, the rest are still sent.
+   *
+   * @throws UncheckedIOException If sending to any peer failed. The failures of the other peers are
+   *                              suppressed inside it.
+   */
+  @Override
+  public void publish(Collection<K> keys) {
+    // Every key is encoded before anything is sent, so a bad one can't cut a batch short.
+    List<byte[]> encoded = new ArrayList<>(keys.size());
+    for (K key : keys) {
+      try {
+        byte[] bytes = codec.encode(key);
+        if (Integer.BYTES * 2 + bytes.length > sending.capacity()) {
+          throw new IllegalArgumentException("Key is too large to fit inside a datagram: " + key);
+        }
+        encoded.add(bytes);
+      } catch (RuntimeException e) {
+        // Sending it again would fail the same way, so it's dropped rather than thrown.
+        report(e);
+      }
+    }
+    // Layout: [int count] then [int length, bytes] for each key.
+    List<IOException> failures = new ArrayList<>(0);
+    synchronized (sending) {
+      ByteBuffer buffer = sending;
+      buffer.clear();
+      buffer.putInt(0);
+      int count = 0;
+      for (byte[] bytes : encoded) {
+        if (buffer.remaining() < Integer.BYTES + bytes.length) {
+          send(buffer, count, failures);
+          buffer.clear();
+          buffer.putInt(0);
+          count = 0;
+        }
+        buffer.putInt(bytes.length).put(bytes);
+        count++;
+      }
+      if (count > 0) {
+        send(buffer, count, failures);
+      }
+    }
+    if (!failures.isEmpty()) {
+      UncheckedIOException exception = new UncheckedIOException(
+          "Couldn't send to " + failures.size() + " peer(s).", failures.get(0));
+      failures.subList(1, failures.size()).forEach(exception::addSuppressed);
+      throw exception;
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<Collection<K>> receiver) {
+    receivers.add(receiver);
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void send(ByteBuffer buffer, int count, List<IOException> failures) {
+    buffer.putInt(0, count);
+    buffer.flip();
+    for (SocketAddress peer : peers) {
+      try {
+        channel.send(buffer, peer);
+      } catch (IOException e) {
+        failures.add(e);
+      }
+      buffer.rewind();
+    }
+  }
+
+  private void receive() {
+    ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM);
+    while (channel.isOpen()) {
+      try {
+        buffer.clear();
+        channel.receive(buffer);
+        buffer.flip();
+        int count = buffer.getInt();
+        List<K> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          byte[] bytes = new byte[buffer.getInt()];
+          buffer.get(bytes);
+          keys.add(codec.decode(bytes));
+        }
+        for (Consumer<Collection<K>> receiver : receivers) {
+          receiver.accept(keys);
+        }
+      } catch (ClosedChannelException e) {
+        return;
+      } catch (IOException | RuntimeException e) {
+        // A bad datagram or receiver shouldn't stop us from receiving the next one.
+        report(e);
+      }
+    }
+  }
+
+  private static void report(Exception e) {
+    Thread thread = Thread.currentThread();
+    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+  }
+}
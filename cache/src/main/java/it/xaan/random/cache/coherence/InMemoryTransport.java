@@ -0,0 +1,86 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Represents an {@link InvalidationTransport} that never leaves the JVM, useful for testing a
+ * group of {@link CoherentCache}s on one machine. Keys are handed to the other members on the
+ * publishing thread.
+ * <p>
+ * A new transport starts its own group, use {@link #join()} to add members to it.
+ *
+ * @param <K> The type for the keys.
+ */
+public class InMemoryTransport<K> implements InvalidationTransport<K> {
+
+  private final List<InMemoryTransport<K>> group;
+  private final List<Consumer<Collection<K>>> receivers = new CopyOnWriteArrayList<>();
+
+  /**
+   * Creates a new {@link InMemoryTransport} in a group of its own.
+   */
+  public InMemoryTransport() {
+    this(new CopyOnWriteArrayList<>());
+  }
+
+  private InMemoryTransport(final List<InMemoryTransport<K>> group) {
+    this.group = group;
+    group.add(this);
+  }
+
+  /**
+   * Creates a new member of the group this transport belongs to.
+   *
+   * @return A new transport that receives keys from this group.
+   */
+  public InMemoryTransport<K> join() {
+    return new InMemoryTransport<>(group);
+  }
+
+  @Override
+  public void publish(Collection<K> keys) {
+    Collection<K> view = Collections.unmodifiableCollection(keys);
+    for (InMemoryTransport<K> member : group) {
+      if (member != this) {
+        member.receive(view);
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<Collection<K>> receiver) {
+    receivers.add(receiver);
+  }
+
+  @Override
+  public void close() {
+    group.remove(this);
+  }
+
+  private void receive(Collection<K> keys) {
+    for (Consumer<Collection<K>> receiver : receivers) {
+      receiver.accept(keys);
+    }
+  }
+}
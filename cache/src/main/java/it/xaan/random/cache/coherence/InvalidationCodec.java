@@ -0,0 +1,63 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts keys to and from bytes, for {@link InvalidationTransport}s that leave the JVM.
+ *
+ * @param <K> The type for the keys.
+ */
+public interface InvalidationCodec<K> {
+
+  /**
+   * Encodes a key.
+   *
+   * @param key The key to encode.
+   * @return The bytes representing the key.
+   */
+  byte[] encode(K key);
+
+  /**
+   * Decodes a key.
+   *
+   * @param bytes The bytes made by {@link #encode(Object)}.
+   * @return The key the bytes represent.
+   */
+  K decode(byte[] bytes);
+
+  /**
+   * Gets a codec for {@link String} keys using UTF-8.
+   *
+   * @return A codec for String keys.
+   */
+  static InvalidationCodec<String> utf8() {
+    return new InvalidationCodec<String>() {
+      @Override
+      public byte[] encode(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    };
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidated keys between the nodes of a {@link CoherentCache}. Implementations decide
+ * how the keys travel, every node that shares a transport should receive the keys any other node
+ * publishes, but not its own.
+ *
+ * @param <K> The type for the keys.
+ */
+public interface InvalidationTransport<K> extends AutoCloseable {
+
+  /**
+   * Sends a batch of invalidated keys to every other node.
+   *
+   * @param keys The keys that were invalidated.
+   * @throws java.io.UncheckedIOException If the keys couldn't be sent.
+   */
+  void publish(Collection<K> keys);
+
+  /**
+   * Registers a receiver that is called with every batch of keys another node publishes.
+   *
+   * @param receiver The {@link Consumer} to call with each batch.
+   */
+  void subscribe(Consumer<Collection<K>> receiver);
+
+  /**
+   * Stops this transport. No keys are sent or received after this is called.
+   */
+  @Override
+  void close();
+}
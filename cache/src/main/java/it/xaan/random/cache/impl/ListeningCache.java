@@ -0,0 +1,350 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.cache.CacheEvent;
+import it.xaan.random.cache.CacheEvent.Type;
+import it.xaan.random.cache.CacheListener;
+import it.xaan.random.cache.Versioned;
+import it.xaan.random.core.Pair;
+import it.xaan.random.core.PairList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Cache} that tells {@link CacheListener}s about every change made through it.
+ * <p>
+ * In synchronous mode listeners are called on the thread that made the change. In asynchronous
+ * mode events are put inside a bounded ring buffer and a single task on the passed {@link
+ * Executor} drains them in batches, so listeners never run on the thread that made the change. If
+ * the buffer is full the event is dropped rather than making the writer wait, and if the executor
+ * rejects the task the waiting events are dropped rather than failing the write, see {@link
+ * #dropped()}.
+ * <p>
+ * Events for the same key are delivered in the order the changes were made. Every change and its
+ * event are made while holding a lock shared by a stripe of keys, so two changes to one key can't
+ * have their events swapped. There's no order between keys, and changes made straight to the
+ * delegate or events passed to {@link #publish(CacheEvent)} aren't ordered either. Because of the
+ * lock, mappers and synchronous listeners shouldn't wait on other threads writing to this cache.
+ * <p>
+ * A listener that throws doesn't stop the others from being called, the exception is reported to
+ * the uncaught exception handler of the thread that called it.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class ListeningCache<K, V> implements Cache<K, V> {
+
+  // A power of two, so the stripe can be picked with a mask.
+  private static final int STRIPES = 64;
+
+  private final Cache<K, V> delegate;
+  private final List<CacheListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+  @Nullable
+  private final Executor executor;
+  @Nullable
+  private final ArrayBlockingQueue<CacheEvent<K, V>> buffer;
+  private final int batchSize;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicLong dropped = new AtomicLong();
+  private final Object[] stripes = new Object[STRIPES];
+
+  /**
+   * Creates a new {@link ListeningCache} that calls listeners synchronously.
+   *
+   * @param delegate The {@link Cache} that methods delegate to.
+   */
+  public ListeningCache(final Cache<K, V> delegate) {
+    this.delegate = delegate;
+    this.executor = null;
+    this.buffer = null;
+    this.batchSize = 1;
+    fillStripes();
+  }
+
+  /**
+   * Creates a new {@link ListeningCache} that calls listeners asynchronously.
+   *
+   * @param delegate The {@link Cache} that methods delegate to.
+   * @param executor The {@link Executor} listeners are called on.
+   * @param capacity The amount of events that can wait to be delivered, also the largest batch.
+   */
+  public ListeningCache(final Cache<K, V> delegate, final Executor executor, final int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.delegate = delegate;
+    this.executor = executor;
+    this.buffer = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = capacity;
+    fillStripes();
+  }
+
+  private void fillStripes() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Object();
+    }
+  }
+
+  /**
+   * Adds a listener to this cache.
+   *
+   * @param listener The {@link CacheListener} to add.
+   */
+  public void addListener(CacheListener<K, V> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener from this cache.
+   *
+   * @param listener The {@link CacheListener} to remove.
+   * @return {@code true} if the listener was removed, otherwise {@code false}.
+   */
+  public boolean removeListener(CacheListener<K, V> listener) {
+    return listeners.remove(listener);
+  }
+
+  /**
+   * Gets the amount of events that were dropped because the buffer was full or the executor
+   * rejected the task that delivers them. This is always 0 in synchronous mode.
+   *
+   * @return The amount of dropped events.
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Publishes an event to the listeners, for caches that evict or expire entries on their own.
+   * The event isn't ordered with changes made through this cache.
+   *
+   * @param event The {@link CacheEvent} to publish.
+   */
+  public void publish(CacheEvent<K, V> event) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    if (buffer == null) {
+      dispatch(Collections.singletonList(event));
+      return;
+    }
+    if (!buffer.offer(event)) {
+      dropped.incrementAndGet();
+    }
+    schedule();
+  }
+
+  @Override
+  public Optional<V> getOptional(K key) {
+    return delegate.getOptional(key);
+  }
+
+  @Override
+  public Optional<V> store(K key, V value) {
+    synchronized (stripe(key)) {
+      Optional<V> old = delegate.store(key, value);
+      if (value != null) {
+        publish(CacheEvent.from(Type.STORE, key, old.orElse(null), value));
+      }
+      return old;
+    }
+  }
+
+  @Override
+  public Optional<V> invalidate(K key) {
+    synchronized (stripe(key)) {
+      Optional<V> old = delegate.invalidate(key);
+      old.ifPresent(value -> publish(CacheEvent.from(Type.INVALIDATE, key, value, null)));
+      return old;
+    }
+  }
+
+  @Override
+  public Set<Pair<K, V>> entries() {
+    return delegate.entries();
+  }
+
+  @Override
+  public PairList<K, V> invalidateWhere(BiPredicate<K, V> filter) {
+    PairList<K, V> invalidated = new PairList<>();
+    // One key at a time, so every removal happens under its own stripe.
+    for (Pair<K, V> pair : delegate.where(filter)) {
+      K key = pair.getFirst();
+      synchronized (stripe(key)) {
+        // Checked again, it may have changed since.
+        Optional<V> current = delegate.getOptional(key);
+        if (current.isPresent() && filter.test(key, current.get())) {
+          delegate.invalidate(key);
+          invalidated.add(key, current.get());
+          publish(CacheEvent.from(Type.INVALIDATE, key, current.get(), null));
+        }
+      }
+    }
+    return invalidated;
+  }
+
+  @Override
+  public List<Pair<K, V>> where(BiPredicate<K, V> filter) {
+    return delegate.where(filter);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public <A, B> Cache<A, B> map(BiFunction<K, V, Pair<A, B>> mapper) {
+    return delegate.map(mapper);
+  }
+
+  @Override
+  public Optional<Versioned<V>> getVersioned(K key) {
+    return delegate.getVersioned(key);
+  }
+
+  @Override
+  public boolean storeIfVersion(K key, V value, long expectedVersion) {
+    synchronized (stripe(key)) {
+      // Nothing else can change it through this cache while we hold the stripe.
+      Optional<Versioned<V>> old = delegate.getVersioned(key);
+      boolean stored = delegate.storeIfVersion(key, value, expectedVersion);
+      if (stored) {
+        publish(CacheEvent.from(Type.STORE, key, old.map(Versioned::getValue).orElse(null), value));
+      }
+      return stored;
+    }
+  }
+
+  @Override
+  public boolean replace(K key, V expected, V value) {
+    synchronized (stripe(key)) {
+      boolean replaced = delegate.replace(key, expected, value);
+      if (replaced) {
+        publish(CacheEvent.from(Type.STORE, key, expected, value));
+      }
+      return replaced;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Optional<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> mapper) {
+    // The mapper can be retried by concurrent maps, so only the last old value counts.
+    Object[] old = new Object[1];
+    synchronized (stripe(key)) {
+      Optional<V> computed = delegate.compute(key, (k, value) -> {
+        old[0] = value;
+        return mapper.apply(k, value);
+      });
+      changed(key, (V) old[0], computed);
+      return computed;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Optional<V> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> merger) {
+    Object[] old = new Object[1];
+    synchronized (stripe(key)) {
+      Optional<V> merged = delegate.merge(key, value, (current, given) -> {
+        old[0] = current;
+        return merger.apply(current, given);
+      });
+      changed(key, (V) old[0], merged);
+      return merged;
+    }
+  }
+
+  private Object stripe(@Nullable K key) {
+    int hash = key == null ? 0 : key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  private void changed(K key, @Nullable V old, Optional<V> current) {
+    if (current.isPresent()) {
+      publish(CacheEvent.from(Type.STORE, key, old, current.get()));
+    } else if (old != null) {
+      publish(CacheEvent.from(Type.INVALIDATE, key, old, null));
+    }
+  }
+
+  @SuppressWarnings("ConstantConditions")
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        // The change was already made, so the events are dropped instead of failing the write. The
+        // next change tries to schedule again.
+        while (buffer.poll() != null) {
+          dropped.incrementAndGet();
+        }
+        scheduled.set(false);
+      }
+    }
+  }
+
+  @SuppressWarnings("ConstantConditions")
+  private void drain() {
+    List<CacheEvent<K, V>> batch = new ArrayList<>(Math.min(batchSize, 1024));
+    try {
+      while (buffer.drainTo(batch, batchSize) > 0) {
+        dispatch(Collections.unmodifiableList(batch));
+        batch.clear();
+      }
+    } finally {
+      scheduled.set(false);
+      // Something may have been added after the last drain but before we let go.
+      if (!buffer.isEmpty()) {
+        schedule();
+      }
+    }
+  }
+
+  private void dispatch(List<CacheEvent<K, V>> events) {
+    for (CacheListener<K, V> listener : listeners) {
+      try {
+        listener.onEvents(events);
+      } catch (RuntimeException e) {
+        // The other listeners still have to be called.
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ListeningCache[delegate=%s]", delegate);
+  }
+}
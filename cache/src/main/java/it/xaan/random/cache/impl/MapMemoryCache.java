@@ -19,16 +19,25 @@ package it.xaan.random.cache.impl;
 
 import it.xaan.random.cache.Cache;
 import it.xaan.random.core.Pair;
-import java.util.HashSet;
+import it.xaan.random.core.PairList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 
 /**
- * Represents an in-memory cache that uses a {@link Map} as the underlying map.
+ * Represents an in-memory cache that uses a {@link Map} as the underlying map. {@link
+ * #replace(Object, Object, Object)}, {@link #compute(Object, BiFunction)} and {@link
+ * #merge(Object, Object, BiFunction)} go straight to the map, so they're atomic when the map is a
+ * {@link ConcurrentMap}. Values aren't versioned, use {@link VersionedMemoryCache} for {@link
+ * #storeIfVersion(Object, Object, long)}.
  *
  * @param <K> The type of the keys.
  * @param <V> The type of the values.
@@ -45,10 +54,15 @@ public class MapMemoryCache<K, V> implements Cache<K, V> {
    * @param supplier The supplier for the map the cache should use. This map should be empty.
    */
   public MapMemoryCache(final Supplier<Map<K, V>> supplier) {
-    this.underlying = supplier.get();
+    this(supplier.get(), supplier);
     if (this.underlying.size() > 0) {
       throw new IllegalStateException("Supplier must return a new, empty map.");
     }
+  }
+
+  // Used by subclasses that need to keep a more specific reference to the map.
+  MapMemoryCache(final Map<K, V> underlying, final Supplier<Map<K, V>> supplier) {
+    this.underlying = underlying;
     this.supplier = supplier;
   }
 
@@ -57,6 +71,18 @@ public class MapMemoryCache<K, V> implements Cache<K, V> {
     return Optional.ofNullable(underlying.get(key));
   }
 
+  // Overridden so a hit doesn't go through an Optional.
+  @Nullable
+  @Override
+  public V get(K key) {
+    return underlying.get(key);
+  }
+
+  @Override
+  public boolean has(K key) {
+    return underlying.containsKey(key);
+  }
+
   @Override
   public Optional<V> store(K key, V value) {
     // Certain maps allow null keys, value should be nevernull anyway
@@ -72,9 +98,28 @@ public class MapMemoryCache<K, V> implements Cache<K, V> {
     return Optional.ofNullable(underlying.remove(key));
   }
 
+  @Override
+  public boolean replace(K key, V expected, V value) {
+    return value != null && underlying.replace(key, expected, value);
+  }
+
+  @Override
+  public Optional<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> mapper) {
+    return Optional.ofNullable(underlying.compute(key, mapper));
+  }
+
+  @Override
+  public Optional<V> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> merger) {
+    if (value == null) {
+      return getOptional(key);
+    }
+    return Optional.ofNullable(underlying.merge(key, value, merger));
+  }
+
   @Override
   public Set<Pair<K, V>> entries() {
-    Set<Pair<K, V>> set = new HashSet<>();
+    // Linked to keep the order of the underlying map.
+    Set<Pair<K, V>> set = new LinkedHashSet<>();
     Set<Entry<K, V>> entries = underlying.entrySet();
     for (Entry<K, V> entry : entries) {
       set.add(Pair.from(entry.getKey(), entry.getValue()));
@@ -82,6 +127,22 @@ public class MapMemoryCache<K, V> implements Cache<K, V> {
     return set;
   }
 
+  @Override
+  public PairList<K, V> where(BiPredicate<K, V> filter) {
+    PairList<K, V> list = new PairList<>();
+    for (Entry<K, V> entry : underlying.entrySet()) {
+      if (filter.test(entry.getKey(), entry.getValue())) {
+        list.add(entry.getKey(), entry.getValue());
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public PairList<K, V> invalidateWhere(BiPredicate<K, V> filter) {
+    return removeWhere(underlying, filter);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <A, B> Cache<A, B> map(BiFunction<K, V, Pair<A, B>> mapper) {
@@ -100,6 +161,24 @@ public class MapMemoryCache<K, V> implements Cache<K, V> {
     return underlying.size();
   }
 
+  // Removes through the iterator so we don't go back through the map for every key.
+  PairList<K, V> removeWhere(Map<K, V> map, BiPredicate<K, V> filter) {
+    PairList<K, V> list = new PairList<>();
+    Iterator<Entry<K, V>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<K, V> entry = iterator.next();
+      if (filter.test(entry.getKey(), entry.getValue())) {
+        list.add(entry.getKey(), entry.getValue());
+        iterator.remove();
+      }
+    }
+    return list;
+  }
+
+  Supplier<Map<K, V>> supplier() {
+    return supplier;
+  }
+
   @Override
   public int hashCode() {
     return underlying.hashCode();
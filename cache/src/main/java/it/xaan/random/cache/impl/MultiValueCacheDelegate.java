@@ -19,6 +19,7 @@ package it.xaan.random.cache.impl;
 
 import it.xaan.random.cache.Cache;
 import it.xaan.random.cache.MultiValueCache;
+import it.xaan.random.cache.Versioned;
 import it.xaan.random.core.Pair;
 import java.util.Collection;
 import java.util.Optional;
@@ -75,6 +76,31 @@ public class MultiValueCacheDelegate<K, V, C extends Collection<V>> implements
     return delegate.entries();
   }
 
+  @Override
+  public Optional<Versioned<C>> getVersioned(K key) {
+    return delegate.getVersioned(key);
+  }
+
+  @Override
+  public boolean storeIfVersion(K key, C value, long expectedVersion) {
+    return delegate.storeIfVersion(key, value, expectedVersion);
+  }
+
+  @Override
+  public boolean replace(K key, C expected, C value) {
+    return delegate.replace(key, expected, value);
+  }
+
+  @Override
+  public Optional<C> compute(K key, BiFunction<? super K, ? super C, ? extends C> mapper) {
+    return delegate.compute(key, mapper);
+  }
+
+  @Override
+  public Optional<C> merge(K key, C value, BiFunction<? super C, ? super C, ? extends C> merger) {
+    return delegate.merge(key, value, merger);
+  }
+
   @Override
   public <A, B> Cache<A, B> map(BiFunction<K, C, Pair<A, B>> mapper) {
     return delegate.map(mapper);
@@ -0,0 +1,399 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.cache.Versioned;
+import it.xaan.random.core.Pair;
+import it.xaan.random.core.PairList;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Cache} that splits its keys across a number of other caches, called shards.
+ * Each key belongs to one shard, picked using a consistent-hash ring where every shard owns a
+ * number of virtual nodes. Because of that, adding or removing one of {@code N} shards only moves
+ * about {@code 1/N} of the keys.
+ * <p>
+ * Operations on a single key go straight to its shard. Operations on every key, such as {@link
+ * #entries()} or {@link #invalidateWhere(BiPredicate)}, are sent to every shard at once on the
+ * passed {@link Executor} and the results are gathered after.
+ * <p>
+ * Writes wait while a shard is being added or removed, so nothing is written to a shard while its
+ * keys are moved out of it. Reads don't wait, a key that is being moved may be missing for a
+ * moment.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class PartitionedCache<K, V> implements Cache<K, V> {
+
+  private final int virtualNodes;
+  private final Executor executor;
+  // Insertion ordered so the ring is built the same way every time.
+  private final Map<String, Cache<K, V>> shards = new LinkedHashMap<>();
+  // Replaced as a whole whenever the shards change, so readers never need to lock.
+  private volatile Ring<K, V> ring = new Ring<>(new int[0], emptyOwners());
+  // Writes share the read lock, changing the shards takes the write lock.
+  private final ReadWriteLock moving = new ReentrantReadWriteLock();
+
+  /**
+   * Creates a new {@link PartitionedCache} with no shards. At least one shard has to be added
+   * before storing anything.
+   *
+   * @param virtualNodes The amount of points each shard gets on the ring. More points spread keys
+   *                     more evenly, 100 to 200 is usually enough.
+   * @param executor     The {@link Executor} operations on every shard run on.
+   */
+  public PartitionedCache(final int virtualNodes, final Executor executor) {
+    if (virtualNodes <= 0) {
+      throw new IllegalArgumentException("Virtual nodes must be positive.");
+    }
+    this.virtualNodes = virtualNodes;
+    this.executor = executor;
+  }
+
+  /**
+   * Adds a shard, moving the keys it now owns out of the other shards. A moved value is only
+   * stored if the new shard doesn't already have the key.
+   *
+   * @param name  The unique name of the shard, which decides where it sits on the ring.
+   * @param shard The {@link Cache} to add. Any keys already inside it are kept.
+   * @throws IllegalArgumentException If a shard with this name already exists.
+   */
+  public synchronized void addShard(String name, Cache<K, V> shard) {
+    if (shards.containsKey(name)) {
+      throw new IllegalArgumentException("Shard " + name + " already exists.");
+    }
+    Lock lock = moving.writeLock();
+    lock.lock();
+    try {
+      shards.put(name, shard);
+      this.ring = build();
+      for (Cache<K, V> other : shards.values()) {
+        if (other != shard) {
+          for (Pair<K, V> pair : other.invalidateWhere((key, value) -> ring.owner(key) == shard)) {
+            migrate(pair);
+          }
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes a shard, moving its keys to the shards that now own them. A moved value is only stored
+   * if the shard that now owns it doesn't already have the key. If the removed shard can't be read
+   * anymore, for example because it's a remote cache that went down, its keys are dropped.
+   *
+   * @param name The name of the shard.
+   * @return An {@link Optional} containing the removed shard, or empty if there was no shard with
+   * this name.
+   */
+  public synchronized Optional<Cache<K, V>> removeShard(String name) {
+    if (!shards.containsKey(name)) {
+      return Optional.empty();
+    }
+    Lock lock = moving.writeLock();
+    lock.lock();
+    try {
+      Cache<K, V> shard = shards.remove(name);
+      this.ring = build();
+      if (!shards.isEmpty()) {
+        List<Pair<K, V>> moved;
+        try {
+          moved = shard.invalidateAll();
+        } catch (RuntimeException ex) {
+          moved = Collections.emptyList();
+        }
+        for (Pair<K, V> pair : moved) {
+          migrate(pair);
+        }
+      }
+      return Optional.of(shard);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Keeps whatever the owner already has, it's at least as new.
+  private void migrate(Pair<K, V> pair) {
+    K key = pair.getFirst();
+    V value = pair.getSecond();
+    shardFor(key).compute(key, (k, current) -> current == null ? value : current);
+  }
+
+  /**
+   * Gets the shard that owns the key.
+   *
+   * @param key The key to search for.
+   * @return The {@link Cache} the key belongs to.
+   * @throws IllegalStateException If there are no shards.
+   */
+  public Cache<K, V> shardFor(K key) {
+    return ring.owner(key);
+  }
+
+  /**
+   * Gets the amount of shards.
+   *
+   * @return The current amount of shards.
+   */
+  public int shards() {
+    return ring.shards;
+  }
+
+  @Override
+  public Optional<V> getOptional(K key) {
+    return shardFor(key).getOptional(key);
+  }
+
+  @Override
+  public Optional<V> store(K key, V value) {
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      return shardFor(key).store(key, value);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<V> invalidate(K key) {
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      return shardFor(key).invalidate(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean has(K key) {
+    return shardFor(key).has(key);
+  }
+
+  @Override
+  public Optional<Versioned<V>> getVersioned(K key) {
+    return shardFor(key).getVersioned(key);
+  }
+
+  @Override
+  public boolean storeIfVersion(K key, V value, long expectedVersion) {
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      return shardFor(key).storeIfVersion(key, value, expectedVersion);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean replace(K key, V expected, V value) {
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      return shardFor(key).replace(key, expected, value);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> mapper) {
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      return shardFor(key).compute(key, mapper);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<V> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> merger) {
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      return shardFor(key).merge(key, value, merger);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Set<Pair<K, V>> entries() {
+    Set<Pair<K, V>> set = new LinkedHashSet<>();
+    scatter(Cache::entries).forEach(set::addAll);
+    return set;
+  }
+
+  @Override
+  public PairList<K, V> where(BiPredicate<K, V> filter) {
+    PairList<K, V> list = new PairList<>();
+    scatter(shard -> shard.where(filter)).forEach(list::addAll);
+    return list;
+  }
+
+  @Override
+  public PairList<K, V> invalidateWhere(BiPredicate<K, V> filter) {
+    PairList<K, V> list = new PairList<>();
+    Lock lock = moving.readLock();
+    lock.lock();
+    try {
+      scatter(shard -> shard.invalidateWhere(filter)).forEach(list::addAll);
+    } finally {
+      lock.unlock();
+    }
+    return list;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (int shardSize : scatter(Cache::size)) {
+      size += shardSize;
+    }
+    return size;
+  }
+
+  // Runs the function on every shard at once and waits for all of them.
+  private <R> List<R> scatter(Function<Cache<K, V>, R> function) {
+    Cache<K, V>[] distinct = ring.distinct;
+    if (distinct.length == 1) {
+      return Collections.singletonList(function.apply(distinct[0]));
+    }
+    List<CompletableFuture<R>> futures = new ArrayList<>(distinct.length);
+    for (Cache<K, V> shard : distinct) {
+      futures.add(CompletableFuture.supplyAsync(() -> function.apply(shard), executor));
+    }
+    List<R> results = new ArrayList<>(distinct.length);
+    for (CompletableFuture<R> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Ring<K, V> build() {
+    int size = shards.size() * virtualNodes;
+    long[] points = new long[size];
+    Cache<K, V>[] owners = (Cache<K, V>[]) new Cache<?, ?>[shards.size()];
+    int index = 0;
+    int shard = 0;
+    for (Map.Entry<String, Cache<K, V>> entry : shards.entrySet()) {
+      owners[shard] = entry.getValue();
+      for (int i = 0; i < virtualNodes; i++) {
+        // Hash in the high bits, shard index in the low bits so sorting keeps them together.
+        long hash = hash(entry.getKey() + "#" + i);
+        points[index++] = (hash << 32) | shard;
+      }
+      shard++;
+    }
+    Arrays.sort(points);
+    int[] hashes = new int[size];
+    Cache<K, V>[] ringOwners = (Cache<K, V>[]) new Cache<?, ?>[size];
+    for (int i = 0; i < size; i++) {
+      hashes[i] = (int) (points[i] >> 32);
+      ringOwners[i] = owners[(int) points[i]];
+    }
+    return new Ring<>(hashes, ringOwners, owners);
+  }
+
+  // FNV-1a, then mixed, so virtual nodes with similar names end up far apart.
+  private static int hash(String name) {
+    int hash = 0x811C9DC5;
+    for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ b) * 0x01000193;
+    }
+    return mix(hash);
+  }
+
+  // The murmur3 finalizer.
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> Cache<K, V>[] emptyOwners() {
+    return (Cache<K, V>[]) new Cache<?, ?>[0];
+  }
+
+  @Override
+  public String toString() {
+    return String.format("PartitionedCache[shards=%s]", shards.keySet());
+  }
+
+  // The hashes are sorted, a key belongs to the first point at or after its own hash.
+  private static final class Ring<K, V> {
+
+    private final int[] hashes;
+    private final Cache<K, V>[] owners;
+    private final Cache<K, V>[] distinct;
+    private final int shards;
+
+    private Ring(int[] hashes, Cache<K, V>[] distinct) {
+      this(hashes, distinct, distinct);
+    }
+
+    private Ring(int[] hashes, Cache<K, V>[] owners, Cache<K, V>[] distinct) {
+      this.hashes = hashes;
+      this.owners = owners;
+      this.distinct = distinct;
+      this.shards = distinct.length;
+    }
+
+    private Cache<K, V> owner(@Nullable K key) {
+      if (hashes.length == 0) {
+        throw new IllegalStateException("There are no shards.");
+      }
+      int index = Arrays.binarySearch(hashes, mix(key == null ? 0 : key.hashCode()));
+      if (index < 0) {
+        index = -index - 1;
+      }
+      // Past the last point wraps back around to the first.
+      return owners[index == hashes.length ? 0 : index];
+    }
+  }
+}
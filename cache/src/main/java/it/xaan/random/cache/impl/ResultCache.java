@@ -0,0 +1,181 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.cache.Expiring;
+import it.xaan.random.core.Pair;
+import it.xaan.random.result.Result;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Cache} of {@link Result}s, which remembers when something couldn't be found
+ * or failed to load as well as when it was found. Each state is kept for its own amount of time, so
+ * a failure can be retried sooner than a success is reloaded, while repeated lookups of a key that
+ * doesn't exist don't all reach whatever the Results are loaded from. See {@link #lookup(Object,
+ * Function)}.
+ * <p>
+ * Expired Results are never returned. They stay inside the delegate until they're replaced or
+ * {@link #purge()} is called.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the elements of the Results.
+ */
+public class ResultCache<K, V> implements Cache<K, Result<V>> {
+
+  // About 146 years, so a deadline is always comparable with the current time.
+  private static final long MAX_TTL = Long.MAX_VALUE >> 1;
+
+  private final Cache<K, Expiring<Result<V>>> delegate;
+  private final long successTtl;
+  private final long emptyTtl;
+  private final long errorTtl;
+  private final LongSupplier ticker;
+
+  /**
+   * Creates a new {@link ResultCache}. A time to live of zero means Results in that state aren't
+   * cached at all.
+   *
+   * @param delegate   The {@link Cache} that Results are stored in. If its {@link
+   *                   Cache#compute(Object, java.util.function.BiFunction)} is atomic, such as a
+   *                   {@link MapMemoryCache} of a {@link java.util.concurrent.ConcurrentMap},
+   *                   concurrent lookups of the same key only load it once.
+   * @param successTtl How long Results in the Success state are kept.
+   * @param emptyTtl   How long Results in the Empty state are kept.
+   * @param errorTtl   How long Results in the Error state are kept.
+   * @param unit       The {@link TimeUnit} of the times to live.
+   */
+  public ResultCache(final Cache<K, Expiring<Result<V>>> delegate, final long successTtl,
+      final long emptyTtl, final long errorTtl, final TimeUnit unit) {
+    this(delegate, successTtl, emptyTtl, errorTtl, unit, System::nanoTime);
+  }
+
+  // Used by tests to control time.
+  ResultCache(final Cache<K, Expiring<Result<V>>> delegate, final long successTtl,
+      final long emptyTtl, final long errorTtl, final TimeUnit unit, final LongSupplier ticker) {
+    if (successTtl < 0 || emptyTtl < 0 || errorTtl < 0) {
+      throw new IllegalArgumentException("Times to live can't be negative.");
+    }
+    this.delegate = delegate;
+    this.successTtl = Math.min(unit.toNanos(successTtl), MAX_TTL);
+    this.emptyTtl = Math.min(unit.toNanos(emptyTtl), MAX_TTL);
+    this.errorTtl = Math.min(unit.toNanos(errorTtl), MAX_TTL);
+    this.ticker = ticker;
+  }
+
+  /**
+   * Gets the {@link Result} of a key, loading and caching it if there isn't one or it expired. A
+   * loaded Result is kept for the time to live of its state, so a key that was empty or failed to
+   * load is answered from the cache until that runs out.
+   *
+   * @param key    The key to look up.
+   * @param loader The function to load the Result with. It's called at most once, and it mustn't
+   *               use this cache.
+   * @return The cached or loaded Result.
+   */
+  public Result<V> lookup(K key, Function<? super K, Result<V>> loader) {
+    long now = ticker.getAsLong();
+    Expiring<Result<V>> cached = delegate.get(key);
+    if (cached != null && !cached.isExpired(now)) {
+      return cached.getValue();
+    }
+    // Checked again inside compute, since another thread may have loaded it while this one waited.
+    AtomicReference<Result<V>> loaded = new AtomicReference<>();
+    delegate.compute(key, (k, old) -> {
+      if (old != null && !old.isExpired(now)) {
+        loaded.set(old.getValue());
+        return old;
+      }
+      Result<V> result = Objects.requireNonNull(loader.apply(k));
+      loaded.set(result);
+      return expiring(result, now);
+    });
+    return loaded.get();
+  }
+
+  @Override
+  public Optional<Result<V>> getOptional(K key) {
+    return Optional.ofNullable(fresh(delegate.get(key), ticker.getAsLong()));
+  }
+
+  // Overridden so a hit doesn't go through an Optional.
+  @Nullable
+  @Override
+  public Result<V> get(K key) {
+    return fresh(delegate.get(key), ticker.getAsLong());
+  }
+
+  @Override
+  public Optional<Result<V>> store(K key, Result<V> value) {
+    if (value == null) {
+      return Optional.empty();
+    }
+    long now = ticker.getAsLong();
+    Expiring<Result<V>> expiring = expiring(value, now);
+    // A state that isn't cached still replaces what was there, rather than leaving it stale.
+    Optional<Expiring<Result<V>>> old = expiring == null
+        ? delegate.invalidate(key)
+        : delegate.store(key, expiring);
+    return Optional.ofNullable(fresh(old.orElse(null), now));
+  }
+
+  @Override
+  public Optional<Result<V>> invalidate(K key) {
+    return Optional.ofNullable(fresh(delegate.invalidate(key).orElse(null), ticker.getAsLong()));
+  }
+
+  @Override
+  public Set<Pair<K, Result<V>>> entries() {
+    long now = ticker.getAsLong();
+    Set<Pair<K, Result<V>>> set = new LinkedHashSet<>();
+    for (Pair<K, Expiring<Result<V>>> pair : delegate.where(
+        (key, expiring) -> !expiring.isExpired(now))) {
+      set.add(Pair.from(pair.getFirst(), pair.getSecond().getValue()));
+    }
+    return set;
+  }
+
+  /**
+   * Removes every expired {@link Result} from the delegate.
+   *
+   * @return How many Results were removed.
+   */
+  public int purge() {
+    long now = ticker.getAsLong();
+    return delegate.invalidateWhere((key, expiring) -> expiring.isExpired(now)).size();
+  }
+
+  @Nullable
+  private Expiring<Result<V>> expiring(Result<V> result, long now) {
+    long ttl = result.isSuccess() ? successTtl : result.isError() ? errorTtl : emptyTtl;
+    return ttl == 0 ? null : Expiring.from(result, now + ttl);
+  }
+
+  @Nullable
+  private static <U> U fresh(@Nullable Expiring<U> expiring, long now) {
+    return expiring == null || expiring.isExpired(now) ? null : expiring.getValue();
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.SortedCache;
+import it.xaan.random.core.Pair;
+import it.xaan.random.core.PairList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Represents an in-memory {@link SortedCache} that uses a {@link NavigableMap} as the underlying
+ * map. Passing {@link ConcurrentSkipListMap} gives a cache that is safe to use across threads.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class SortedMapMemoryCache<K, V> extends MapMemoryCache<K, V> implements SortedCache<K, V> {
+
+  private final NavigableMap<K, V> underlying;
+
+  /**
+   * Creates a new {@link SortedMapMemoryCache} with the specified {@link NavigableMap} as the
+   * underlying implementation.
+   *
+   * @param supplier The supplier for the map the cache should use. This map should be empty.
+   */
+  public SortedMapMemoryCache(final Supplier<NavigableMap<K, V>> supplier) {
+    this(supplier.get(), supplier::get);
+    if (this.underlying.size() > 0) {
+      throw new IllegalStateException("Supplier must return a new, empty map.");
+    }
+  }
+
+  // Used for views.
+  private SortedMapMemoryCache(final NavigableMap<K, V> underlying,
+      final Supplier<Map<K, V>> supplier) {
+    super(underlying, supplier);
+    this.underlying = underlying;
+  }
+
+  @Nullable
+  @Override
+  public Comparator<? super K> comparator() {
+    return underlying.comparator();
+  }
+
+  @Override
+  public SortedCache<K, V> subCache(K from, boolean fromInclusive, K to, boolean toInclusive) {
+    return view(underlying.subMap(from, fromInclusive, to, toInclusive));
+  }
+
+  @Override
+  public SortedCache<K, V> headCache(K to, boolean inclusive) {
+    return view(underlying.headMap(to, inclusive));
+  }
+
+  @Override
+  public SortedCache<K, V> tailCache(K from, boolean inclusive) {
+    return view(underlying.tailMap(from, inclusive));
+  }
+
+  @Override
+  public Optional<Pair<K, V>> floor(K key) {
+    return toPair(underlying.floorEntry(key));
+  }
+
+  @Override
+  public Optional<Pair<K, V>> ceiling(K key) {
+    return toPair(underlying.ceilingEntry(key));
+  }
+
+  @Override
+  public Optional<Pair<K, V>> lower(K key) {
+    return toPair(underlying.lowerEntry(key));
+  }
+
+  @Override
+  public Optional<Pair<K, V>> higher(K key) {
+    return toPair(underlying.higherEntry(key));
+  }
+
+  @Override
+  public Optional<Pair<K, V>> first() {
+    return toPair(underlying.firstEntry());
+  }
+
+  @Override
+  public Optional<Pair<K, V>> last() {
+    return toPair(underlying.lastEntry());
+  }
+
+  @Override
+  public PairList<K, V> range(K from, K to) {
+    PairList<K, V> list = new PairList<>();
+    for (Entry<K, V> entry : underlying.subMap(from, true, to, false).entrySet()) {
+      list.add(entry.getKey(), entry.getValue());
+    }
+    return list;
+  }
+
+  @Override
+  public PairList<K, V> invalidateRange(K from, K to) {
+    return removeWhere(underlying.subMap(from, true, to, false), ($, $$) -> true);
+  }
+
+  private SortedCache<K, V> view(NavigableMap<K, V> map) {
+    return new SortedMapMemoryCache<>(map, supplier());
+  }
+
+  private Optional<Pair<K, V>> toPair(@Nullable Entry<K, V> entry) {
+    return entry == null
+        ? Optional.empty()
+        : Optional.of(Pair.from(entry.getKey(), entry.getValue()));
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SortedMapMemoryCache[underlying=%s]", underlying);
+  }
+}
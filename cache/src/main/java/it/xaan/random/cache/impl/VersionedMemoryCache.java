@@ -0,0 +1,258 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.cache.Versioned;
+import it.xaan.random.core.Pair;
+import it.xaan.random.core.PairList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Represents an in-memory cache that uses a {@link Map} as the underlying map, storing every value
+ * along with a {@link Versioned version}. This allows for optimistic updates through {@link
+ * #storeIfVersion(Object, Object, long)}. When the map is a {@link ConcurrentMap} the
+ * compare-and-set methods are atomic.
+ * <p>
+ * Every write makes a new {@link Versioned}, use {@link MapMemoryCache} if versions aren't needed.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class VersionedMemoryCache<K, V> implements Cache<K, V> {
+
+  private final Map<K, Versioned<V>> underlying;
+  private final Supplier<Map<K, Versioned<V>>> supplier;
+  // Versions are never reused, even after a key is invalidated.
+  private final AtomicLong clock = new AtomicLong();
+
+  /**
+   * Creates a new {@link VersionedMemoryCache} with the specified {@link Map} as the underlying
+   * implementation.
+   *
+   * @param supplier The supplier for the map the cache should use. This map should be empty.
+   */
+  public VersionedMemoryCache(final Supplier<Map<K, Versioned<V>>> supplier) {
+    this.underlying = supplier.get();
+    if (this.underlying.size() > 0) {
+      throw new IllegalStateException("Supplier must return a new, empty map.");
+    }
+    this.supplier = supplier;
+  }
+
+  @Override
+  public Optional<V> getOptional(K key) {
+    Versioned<V> versioned = underlying.get(key);
+    return versioned == null ? Optional.empty() : Optional.of(versioned.getValue());
+  }
+
+  // Overridden so a hit doesn't go through an Optional.
+  @Nullable
+  @Override
+  public V get(K key) {
+    Versioned<V> versioned = underlying.get(key);
+    return versioned == null ? null : versioned.getValue();
+  }
+
+  @Override
+  public boolean has(K key) {
+    return underlying.containsKey(key);
+  }
+
+  @Override
+  public Optional<V> store(K key, V value) {
+    // Certain maps allow null keys, value should be nevernull anyway
+    // but we have to assume people will pass it.
+    if (value == null) {
+      return Optional.empty();
+    }
+    return value(underlying.put(key, next(value)));
+  }
+
+  @Override
+  public Optional<V> invalidate(K key) {
+    return value(underlying.remove(key));
+  }
+
+  @Override
+  public Optional<Versioned<V>> getVersioned(K key) {
+    return Optional.ofNullable(underlying.get(key));
+  }
+
+  @Override
+  public boolean storeIfVersion(K key, V value, long expectedVersion) {
+    if (value == null) {
+      return false;
+    }
+    if (expectedVersion == Versioned.ABSENT) {
+      return underlying.putIfAbsent(key, next(value)) == null;
+    }
+    Versioned<V> current = underlying.get(key);
+    // Versions are unique, so replacing by equality only succeeds on the exact write we read.
+    return current != null
+        && current.getVersion() == expectedVersion
+        && underlying.replace(key, current, next(value));
+  }
+
+  @Override
+  public boolean replace(K key, V expected, V value) {
+    if (value == null) {
+      return false;
+    }
+    Versioned<V> current;
+    do {
+      current = underlying.get(key);
+      if (current == null || !current.getValue().equals(expected)) {
+        return false;
+      }
+    } while (!underlying.replace(key, current, next(value)));
+    return true;
+  }
+
+  @Override
+  public Optional<V> compute(K key, BiFunction<? super K, ? super V, ? extends V> mapper) {
+    return value(underlying.compute(key, (k, old) -> {
+      V value = mapper.apply(k, old == null ? null : old.getValue());
+      return value == null ? null : next(value);
+    }));
+  }
+
+  @Override
+  public Optional<V> merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> merger) {
+    if (value == null) {
+      return getOptional(key);
+    }
+    return value(underlying.merge(key, next(value), (old, given) -> {
+      V merged = merger.apply(old.getValue(), given.getValue());
+      return merged == null ? null : next(merged);
+    }));
+  }
+
+  @Override
+  public Set<Pair<K, V>> entries() {
+    // Linked to keep the order of the underlying map.
+    Set<Pair<K, V>> set = new LinkedHashSet<>();
+    Set<Entry<K, Versioned<V>>> entries = underlying.entrySet();
+    for (Entry<K, Versioned<V>> entry : entries) {
+      set.add(Pair.from(entry.getKey(), entry.getValue().getValue()));
+    }
+    return set;
+  }
+
+  @Override
+  public PairList<K, V> where(BiPredicate<K, V> filter) {
+    PairList<K, V> list = new PairList<>();
+    for (Entry<K, Versioned<V>> entry : underlying.entrySet()) {
+      V value = entry.getValue().getValue();
+      if (filter.test(entry.getKey(), value)) {
+        list.add(entry.getKey(), value);
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public PairList<K, V> invalidateWhere(BiPredicate<K, V> filter) {
+    PairList<K, V> list = new PairList<>();
+    // Removes through the iterator so we don't go back through the map for every key.
+    Iterator<Entry<K, Versioned<V>>> iterator = underlying.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<K, Versioned<V>> entry = iterator.next();
+      V value = entry.getValue().getValue();
+      if (filter.test(entry.getKey(), value)) {
+        list.add(entry.getKey(), value);
+        iterator.remove();
+      }
+    }
+    return list;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <A, B> Cache<A, B> map(BiFunction<K, V, Pair<A, B>> mapper) {
+    final Cache<A, B> cache = new VersionedMemoryCache<>(
+        () -> (Map<A, Versioned<B>>) (Map<?, ?>) supplier.get());
+    Set<Pair<K, V>> entries = entries();
+    for (Pair<K, V> entry : entries) {
+      Pair<A, B> mapped = mapper.apply(entry.getFirst(), entry.getSecond());
+      cache.store(mapped);
+    }
+    return cache;
+  }
+
+  @Override
+  public int size() {
+    return underlying.size();
+  }
+
+  private Versioned<V> next(V value) {
+    return Versioned.from(value, clock.incrementAndGet());
+  }
+
+  private Optional<V> value(@Nullable Versioned<V> versioned) {
+    return versioned == null ? Optional.empty() : Optional.of(versioned.getValue());
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as Map#hashCode, versions are ignored.
+    int hash = 0;
+    for (Entry<K, Versioned<V>> entry : underlying.entrySet()) {
+      hash += Objects.hashCode(entry.getKey()) ^ entry.getValue().getValue().hashCode();
+    }
+    return hash;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof VersionedMemoryCache<?, ?>)) {
+      return false;
+    }
+    VersionedMemoryCache<K, V> other = (VersionedMemoryCache<K, V>) obj;
+    if (other.size() != this.size()) {
+      return false;
+    }
+    for (Entry<K, Versioned<V>> entry : underlying.entrySet()) {
+      if (!other.getOptional(entry.getKey()).filter(entry.getValue().getValue()::equals).isPresent()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("VersionedMemoryCache[underlying=%s]", underlying);
+  }
+}
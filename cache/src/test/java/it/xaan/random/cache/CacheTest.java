@@ -191,4 +191,29 @@ public class CacheTest {
     Assert.assertEquals(control, values);
   }
 
+  @Test
+  public void testVersioned() {
+    final Cache<String, String> test = create();
+    Assert.assertThrows(NotImplementedException.class, () -> test.getVersioned("key"));
+    Assert.assertThrows(NotImplementedException.class,
+        () -> test.storeIfVersion("key", "value", Versioned.ABSENT));
+  }
+
+  @Test
+  public void testReplace() {
+    final Cache<String, String> test = create();
+    Assert.assertFalse(test.replace("key", "wrong", "new"));
+    Assert.assertTrue(test.replace("key", "value", "new"));
+    Assert.assertEquals("new", test.get("key"));
+  }
+
+  @Test
+  public void testComputeAndMerge() {
+    final Cache<String, String> test = create();
+    Assert.assertEquals(Optional.of("value!"), test.compute("key", (key, value) -> value + "!"));
+    Assert.assertEquals(Optional.of("value!?"), test.merge("key", "?", String::concat));
+    Assert.assertEquals(Optional.of("fresh"), test.merge("absent", "fresh", String::concat));
+    Assert.assertEquals(Optional.empty(), test.compute("key", (key, value) -> null));
+    Assert.assertFalse(test.has("key"));
+  }
 }
@@ -0,0 +1,186 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import it.xaan.random.cache.impl.MapMemoryCache;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class CoherentCacheTest {
+
+  @Test
+  public void testFlush() {
+    final InMemoryTransport<String> first = new InMemoryTransport<>();
+    final InMemoryTransport<String> second = first.join();
+    final CoherentCache<String, Integer> one = new CoherentCache<>(
+        new MapMemoryCache<>(ConcurrentHashMap::new), first, 1000);
+    final CoherentCache<String, Integer> two = new CoherentCache<>(
+        new MapMemoryCache<>(ConcurrentHashMap::new), second, 1000);
+    one.store("key", 1);
+    two.store("key", 1);
+
+    one.invalidate("key");
+    Assert.assertFalse(one.has("key"));
+    // Not published until flushed.
+    Assert.assertTrue(two.has("key"));
+    Assert.assertEquals(1, one.flush());
+    Assert.assertFalse(two.has("key"));
+    // Received keys aren't published back.
+    Assert.assertTrue(two.pending().isEmpty());
+  }
+
+  @Test
+  public void testBatching() {
+    final InMemoryTransport<Integer> first = new InMemoryTransport<>();
+    final InMemoryTransport<Integer> second = first.join();
+    final List<Integer> sizes = new ArrayList<>();
+    second.subscribe(keys -> sizes.add(keys.size()));
+    final CoherentCache<Integer, Integer> cache = new CoherentCache<>(
+        new MapMemoryCache<>(ConcurrentHashMap::new), first, 2000);
+    for (int i = 0; i < 5000; i++) {
+      cache.store(i, i);
+    }
+    cache.invalidateWhere((key, value) -> true);
+    // Invalidated twice, only published once.
+    cache.invalidate(0);
+    Assert.assertEquals(5000, cache.flush());
+    Assert.assertEquals(3, sizes.size());
+    Assert.assertEquals(5000, sizes.stream().mapToInt(Integer::intValue).sum());
+  }
+
+  @Test
+  public void testScheduled() throws InterruptedException {
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final InMemoryTransport<String> first = new InMemoryTransport<>();
+      final InMemoryTransport<String> second = first.join();
+      final List<Collection<String>> received = new ArrayList<>();
+      second.subscribe(received::add);
+      try (CoherentCache<String, Integer> cache = new CoherentCache<>(
+          new MapMemoryCache<>(ConcurrentHashMap::new), first, 1000, scheduler, 10,
+          TimeUnit.MILLISECONDS)) {
+        cache.invalidate("key");
+        for (int i = 0; i < 100 && cache.pending().size() > 0; i++) {
+          Thread.sleep(10);
+        }
+        Assert.assertTrue(cache.pending().isEmpty());
+      }
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  // Fails the first few publishes.
+  private static final class FailingTransport extends InMemoryTransport<String> {
+
+    private final AtomicInteger failures;
+
+    private FailingTransport(int failures) {
+      this.failures = new AtomicInteger(failures);
+    }
+
+    @Override
+    public void publish(Collection<String> keys) {
+      if (failures.getAndDecrement() > 0) {
+        throw new IllegalStateException("Transport is down.");
+      }
+      super.publish(keys);
+    }
+  }
+
+  @Test
+  public void testFailedFlushKeepsKeys() {
+    final FailingTransport transport = new FailingTransport(1);
+    final CoherentCache<String, Integer> cache = new CoherentCache<>(
+        new MapMemoryCache<>(ConcurrentHashMap::new), transport, 1);
+    cache.invalidate("first");
+    cache.invalidate("second");
+    Assert.assertThrows(IllegalStateException.class, cache::flush);
+    Assert.assertEquals(2, cache.pending().size());
+    Assert.assertEquals(2, cache.flush());
+    Assert.assertTrue(cache.pending().isEmpty());
+  }
+
+  @Test
+  public void testScheduledSurvivesFailure() throws InterruptedException {
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        task -> {
+          final Thread thread = new Thread(task);
+          // Keeps the expected failures out of the test output.
+          thread.setUncaughtExceptionHandler((t, e) -> {
+          });
+          return thread;
+        });
+    try {
+      try (CoherentCache<String, Integer> cache = new CoherentCache<>(
+          new MapMemoryCache<>(ConcurrentHashMap::new), new FailingTransport(3), 1000, scheduler,
+          10, TimeUnit.MILLISECONDS)) {
+        cache.invalidate("key");
+        for (int i = 0; i < 100 && cache.pending().size() > 0; i++) {
+          Thread.sleep(10);
+        }
+        Assert.assertTrue(cache.pending().isEmpty());
+      }
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testOversizedKeyIsDropped() throws InterruptedException {
+    try (DatagramTransport<String> first = new DatagramTransport<>(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), InvalidationCodec.utf8());
+        DatagramTransport<String> second = new DatagramTransport<>(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), InvalidationCodec.utf8())) {
+      first.addPeer(second.getAddress());
+      final CountDownLatch received = new CountDownLatch(1);
+      second.subscribe(keys -> received.countDown());
+      final CoherentCache<String, Integer> cache = new CoherentCache<>(
+          new MapMemoryCache<>(ConcurrentHashMap::new), first, 1000);
+      final StringBuilder oversized = new StringBuilder();
+      for (int i = 0; i < DatagramTransport.DEFAULT_PAYLOAD; i++) {
+        oversized.append('a');
+      }
+      cache.invalidate(oversized.toString());
+      cache.invalidate("key");
+
+      final List<Throwable> reported = new ArrayList<>();
+      final Thread flushing = new Thread(cache::flush);
+      flushing.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+      flushing.start();
+      flushing.join();
+      Assert.assertEquals(1, reported.size());
+      Assert.assertTrue(reported.get(0) instanceof IllegalArgumentException);
+      // The key that fits still went out, and the one that doesn't isn't tried again.
+      Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+      Assert.assertTrue(cache.pending().isEmpty());
+      Assert.assertEquals(0, cache.flush());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.coherence;
+
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class DatagramTransportTest {
+
+  private DatagramTransport<String> create() {
+    return create(DatagramTransport.DEFAULT_PAYLOAD);
+  }
+
+  private DatagramTransport<String> create(int maxPayload) {
+    return new DatagramTransport<>(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        InvalidationCodec.utf8(), maxPayload);
+  }
+
+  @Test
+  public void testPublish() throws InterruptedException {
+    try (DatagramTransport<String> first = create(65_507);
+        DatagramTransport<String> second = create(65_507)) {
+      first.addPeer(second.getAddress());
+      final List<String> received = new CopyOnWriteArrayList<>();
+      final List<Collection<String>> batches = new CopyOnWriteArrayList<>();
+      final CountDownLatch latch = new CountDownLatch(10_000);
+      second.subscribe(keys -> {
+        batches.add(keys);
+        received.addAll(keys);
+        keys.forEach($ -> latch.countDown());
+      });
+
+      final List<String> keys = new ArrayList<>();
+      for (int i = 0; i < 10_000; i++) {
+        keys.add("key" + i);
+      }
+      first.publish(keys);
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals(keys, received);
+      // 10,000 small keys fit inside a few datagrams.
+      Assert.assertTrue(batches.size() < 5);
+    }
+  }
+
+  @Test
+  public void testPayloadLimit() throws InterruptedException {
+    try (DatagramTransport<String> first = create(); DatagramTransport<String> second = create()) {
+      first.addPeer(second.getAddress());
+      final List<Collection<String>> batches = new CopyOnWriteArrayList<>();
+      final CountDownLatch latch = new CountDownLatch(500);
+      second.subscribe(keys -> {
+        batches.add(keys);
+        keys.forEach($ -> latch.countDown());
+      });
+
+      final List<String> keys = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        keys.add("key" + i);
+      }
+      first.publish(keys);
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      // About 10 bytes per key, so a datagram holds no more than about 150.
+      Assert.assertTrue(batches.size() >= 4);
+      for (Collection<String> batch : batches) {
+        Assert.assertTrue(batch.size() < 200);
+      }
+      Assert.assertThrows(IllegalArgumentException.class, () -> create(8));
+      Assert.assertThrows(IllegalArgumentException.class, () -> create(65_508));
+    }
+  }
+
+  @Test
+  public void testFailingPeer() throws InterruptedException {
+    try (DatagramTransport<String> first = create(); DatagramTransport<String> second = create()) {
+      // Nothing can be sent to port 0, so this peer always fails.
+      first.addPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      first.addPeer(second.getAddress());
+      final CountDownLatch latch = new CountDownLatch(1);
+      second.subscribe(keys -> latch.countDown());
+
+      final List<String> keys = new ArrayList<>();
+      keys.add("key");
+      Assert.assertThrows(UncheckedIOException.class, () -> first.publish(keys));
+      // The peer after the failing one still gets the keys.
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.CacheEvent;
+import it.xaan.random.cache.CacheEvent.Type;
+import it.xaan.random.cache.CacheListener;
+import it.xaan.random.cache.Versioned;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class ListeningCacheTest {
+
+  @Test
+  public void testSynchronous() {
+    final ListeningCache<String, Integer> cache = new ListeningCache<>(
+        new MapMemoryCache<>(HashMap::new));
+    final List<CacheEvent<String, Integer>> events = new ArrayList<>();
+    cache.addListener(events::addAll);
+
+    cache.store("one", 1);
+    cache.store("one", 2);
+    cache.merge("one", 3, Integer::sum);
+    cache.invalidate("one");
+    cache.invalidate("unknown key");
+    cache.store("two", 2);
+    cache.invalidateWhere((key, value) -> true);
+
+    Assert.assertEquals(6, events.size());
+    Assert.assertEquals(Type.STORE, events.get(0).getType());
+    Assert.assertNull(events.get(0).getOldValue());
+    Assert.assertEquals(Integer.valueOf(1), events.get(1).getOldValue());
+    Assert.assertEquals(Integer.valueOf(2), events.get(1).getNewValue());
+    Assert.assertEquals(Integer.valueOf(2), events.get(2).getOldValue());
+    Assert.assertEquals(Integer.valueOf(5), events.get(2).getNewValue());
+    Assert.assertEquals(Type.INVALIDATE, events.get(3).getType());
+    Assert.assertEquals(Integer.valueOf(5), events.get(3).getOldValue());
+    Assert.assertEquals(Type.INVALIDATE, events.get(5).getType());
+    Assert.assertEquals("two", events.get(5).getKey());
+  }
+
+  @Test
+  public void testRemoveListener() {
+    final ListeningCache<String, Integer> cache = new ListeningCache<>(
+        new MapMemoryCache<>(HashMap::new));
+    final List<CacheEvent<String, Integer>> events = new ArrayList<>();
+    final CacheListener<String, Integer> listener = events::addAll;
+    cache.addListener(listener);
+    Assert.assertTrue(cache.removeListener(listener));
+    cache.store("one", 1);
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void testAsynchronous() throws InterruptedException {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final ListeningCache<Integer, Integer> cache = new ListeningCache<>(
+          new MapMemoryCache<>(ConcurrentHashMap::new), executor, 100_000);
+      final Thread caller = Thread.currentThread();
+      final List<Integer> keys = new ArrayList<>();
+      final CountDownLatch latch = new CountDownLatch(10_000);
+      cache.addListener(events -> {
+        Assert.assertNotSame(caller, Thread.currentThread());
+        for (CacheEvent<Integer, Integer> event : events) {
+          keys.add(event.getKey());
+          latch.countDown();
+        }
+      });
+      for (int i = 0; i < 10_000; i++) {
+        cache.store(i, i);
+      }
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals(0, cache.dropped());
+      for (int i = 0; i < keys.size(); i++) {
+        Assert.assertEquals(Integer.valueOf(i), keys.get(i));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDropsWhenFull() throws InterruptedException {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // Block the only thread so nothing gets drained.
+      executor.execute(() -> {
+        try {
+          blocked.await();
+        } catch (InterruptedException ignored) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      final ListeningCache<Integer, Integer> cache = new ListeningCache<>(
+          new MapMemoryCache<>(ConcurrentHashMap::new), executor, 2);
+      cache.addListener(events -> {
+      });
+      for (int i = 0; i < 5; i++) {
+        cache.store(i, i);
+      }
+      Assert.assertEquals(3, cache.dropped());
+    } finally {
+      blocked.countDown();
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testStoreIfVersionOldValue() {
+    final ListeningCache<String, Integer> cache = new ListeningCache<>(
+        new VersionedMemoryCache<>(HashMap::new));
+    final List<CacheEvent<String, Integer>> events = new ArrayList<>();
+    cache.addListener(events::addAll);
+    Assert.assertTrue(cache.storeIfVersion("one", 1, Versioned.ABSENT));
+    final long version = cache.getVersioned("one").map(Versioned::getVersion).orElse(-1L);
+    Assert.assertTrue(cache.storeIfVersion("one", 2, version));
+    Assert.assertNull(events.get(0).getOldValue());
+    Assert.assertEquals(Integer.valueOf(1), events.get(1).getOldValue());
+    Assert.assertEquals(Integer.valueOf(2), events.get(1).getNewValue());
+  }
+
+  @Test
+  public void testThrowingListener() {
+    final ListeningCache<String, Integer> cache = new ListeningCache<>(
+        new MapMemoryCache<>(HashMap::new));
+    final List<CacheEvent<String, Integer>> events = new ArrayList<>();
+    final List<Throwable> reported = new ArrayList<>();
+    final Thread thread = Thread.currentThread();
+    final Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    thread.setUncaughtExceptionHandler((t, e) -> reported.add(e));
+    try {
+      cache.addListener(ignored -> {
+        throw new IllegalStateException("Broken listener.");
+      });
+      cache.addListener(events::addAll);
+      cache.store("one", 1);
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+    Assert.assertEquals(1, events.size());
+    Assert.assertEquals(1, reported.size());
+  }
+
+  @Test
+  public void testRejectedSchedule() {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final ListeningCache<Integer, Integer> cache = new ListeningCache<>(
+        new MapMemoryCache<>(ConcurrentHashMap::new), executor, 100);
+    final CountDownLatch latch = new CountDownLatch(1);
+    cache.addListener(events -> latch.countDown());
+    executor.shutdown();
+    // The writes still happen, only their events are dropped.
+    cache.store(1, 1);
+    Assert.assertEquals(1, cache.dropped());
+    // Tried again rather than believing a drain is already scheduled.
+    cache.store(2, 2);
+    Assert.assertEquals(2, cache.dropped());
+    Assert.assertEquals(2, cache.size());
+    Assert.assertEquals(1, latch.getCount());
+  }
+
+  @Test
+  public void testOrderedPerKey() throws InterruptedException {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final ListeningCache<Integer, Integer> cache = new ListeningCache<>(
+          new MapMemoryCache<>(ConcurrentHashMap::new), executor, 100_000);
+      final List<CacheEvent<Integer, Integer>> events = new ArrayList<>();
+      final CountDownLatch latch = new CountDownLatch(20_000);
+      cache.addListener(batch -> {
+        events.addAll(batch);
+        batch.forEach($ -> latch.countDown());
+      });
+      final Runnable writer = () -> {
+        for (int i = 0; i < 10_000; i++) {
+          cache.merge(0, 1, Integer::sum);
+        }
+      };
+      final Thread first = new Thread(writer);
+      final Thread second = new Thread(writer);
+      first.start();
+      second.start();
+      first.join();
+      second.join();
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      // Every event has to start from the value the one before it left.
+      Integer previous = null;
+      for (CacheEvent<Integer, Integer> event : events) {
+        Assert.assertEquals(previous, event.getOldValue());
+        previous = event.getNewValue();
+      }
+      Assert.assertEquals(Integer.valueOf(20_000), previous);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -19,11 +19,15 @@ package it.xaan.random.cache.impl;
 
 import it.xaan.random.cache.Cache;
 import it.xaan.random.core.Pair;
+import it.xaan.random.test.Allocations;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,4 +83,73 @@ public final class MapMemoryCacheTest {
     Assert.assertEquals(Integer.valueOf(2), mapped.get("two"));
     Assert.assertNull(mapped.get("one"));
   }
+
+  @Test
+  public void testReplace() {
+    final MapMemoryCache<String, Integer> cache = create();
+    Assert.assertFalse(cache.replace("one", 1, 2));
+    cache.store("one", 1);
+    Assert.assertFalse(cache.replace("one", 5, 2));
+    Assert.assertTrue(cache.replace("one", 1, 2));
+    Assert.assertEquals(Integer.valueOf(2), cache.get("one"));
+  }
+
+  @Test
+  public void testComputeAndMerge() {
+    final MapMemoryCache<String, Integer> cache = create();
+    Assert.assertEquals(Optional.of(1), cache.merge("one", 1, Integer::sum));
+    Assert.assertEquals(Optional.of(3), cache.merge("one", 2, Integer::sum));
+    Assert.assertEquals(Optional.of(6), cache.compute("one", (key, value) -> value * 2));
+    Assert.assertEquals(Optional.empty(), cache.compute("one", (key, value) -> null));
+    Assert.assertFalse(cache.has("one"));
+  }
+
+  @Test
+  public void testConcurrentMerge() throws InterruptedException {
+    final MapMemoryCache<String, Integer> cache = new MapMemoryCache<>(ConcurrentHashMap::new);
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          cache.merge("counter", 1, Integer::sum);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(Integer.valueOf(40_000), cache.get("counter"));
+  }
+
+  @Test
+  public void testEquals() {
+    final MapMemoryCache<String, Integer> first = create();
+    final MapMemoryCache<String, Integer> second = create();
+    first.store("one", 1);
+    second.store("one", 0);
+    second.store("one", 1);
+    Assert.assertEquals(first, second);
+    Assert.assertEquals(first.hashCode(), second.hashCode());
+  }
+
+  @Test
+  public void testHitAllocations() {
+    final MapMemoryCache<String, Integer> cache = new MapMemoryCache<>(ConcurrentHashMap::new);
+    cache.store("one", 1);
+    Allocations.assertNone(() -> cache.get("one"));
+    Allocations.assertNone(() -> cache.has("one"));
+    Allocations.assertNone(() -> cache.get("unknown key"));
+  }
+
+  @Test
+  public void testUpdateAllocations() {
+    final MapMemoryCache<String, Integer> cache = new MapMemoryCache<>(ConcurrentHashMap::new);
+    cache.store("one", 1);
+    // Values are stored as they are, an update doesn't wrap them in anything.
+    Allocations.assertNone(() -> cache.replace("one", 1, 1));
+    // Only the returned Optional.
+    Allocations.assertAtMost(Allocations.SMALL_OBJECT,
+        () -> cache.compute("one", (key, value) -> value));
+  }
 }
@@ -0,0 +1,190 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Cache;
+import it.xaan.random.core.Pair;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class PartitionedCacheTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private PartitionedCache<Integer, Integer> create(int shards) {
+    final PartitionedCache<Integer, Integer> cache = new PartitionedCache<>(160, executor);
+    for (int i = 0; i < shards; i++) {
+      cache.addShard("shard" + i, new MapMemoryCache<>(ConcurrentHashMap::new));
+    }
+    return cache;
+  }
+
+  private Map<Integer, Cache<Integer, Integer>> owners(PartitionedCache<Integer, Integer> cache,
+      int keys) {
+    final Map<Integer, Cache<Integer, Integer>> owners = new HashMap<>();
+    for (int i = 0; i < keys; i++) {
+      owners.put(i, cache.shardFor(i));
+    }
+    return owners;
+  }
+
+  @Test
+  public void testNoShards() {
+    final PartitionedCache<Integer, Integer> cache = create(0);
+    Assert.assertThrows(IllegalStateException.class, () -> cache.store(1, 1));
+  }
+
+  @Test
+  public void testRouting() {
+    final PartitionedCache<Integer, Integer> cache = create(4);
+    for (int i = 0; i < 10_000; i++) {
+      cache.store(i, i * 2);
+    }
+    Assert.assertEquals(10_000, cache.size());
+    Assert.assertEquals(10_000, cache.entries().size());
+    Assert.assertEquals(Integer.valueOf(20), cache.get(10));
+    Assert.assertTrue(cache.shardFor(10).has(10));
+    Assert.assertEquals(5_000, cache.where((key, value) -> key % 2 == 0).size());
+    Assert.assertEquals(5_000, cache.invalidateWhere((key, value) -> key % 2 == 0).size());
+    Assert.assertEquals(5_000, cache.size());
+  }
+
+  @Test
+  public void testBalanced() {
+    final PartitionedCache<Integer, Integer> cache = create(4);
+    // Identity, empty shards are equal to each other.
+    final Map<Cache<Integer, Integer>, Integer> counts = new IdentityHashMap<>();
+    owners(cache, 100_000).values().forEach(shard -> counts.merge(shard, 1, Integer::sum));
+    Assert.assertEquals(4, counts.size());
+    for (int count : counts.values()) {
+      // Perfectly even would be 25,000.
+      Assert.assertTrue("Unbalanced shard with " + count + " keys", count > 15_000 && count < 35_000);
+    }
+  }
+
+  @Test
+  public void testAddShardMovesFewKeys() {
+    final PartitionedCache<Integer, Integer> cache = create(4);
+    for (int i = 0; i < 10_000; i++) {
+      cache.store(i, i);
+    }
+    final Map<Integer, Cache<Integer, Integer>> before = owners(cache, 10_000);
+    final MapMemoryCache<Integer, Integer> added = new MapMemoryCache<>(ConcurrentHashMap::new);
+    cache.addShard("shard4", added);
+    final Map<Integer, Cache<Integer, Integer>> after = owners(cache, 10_000);
+
+    final List<Integer> moved = new ArrayList<>();
+    before.forEach((key, shard) -> {
+      if (after.get(key) != shard) {
+        moved.add(key);
+        // Keys only ever move to the new shard.
+        Assert.assertSame(added, after.get(key));
+      }
+    });
+    // About 1/5 of the keys should move.
+    Assert.assertTrue("Moved " + moved.size(), moved.size() > 1_000 && moved.size() < 3_000);
+    Assert.assertEquals(moved.size(), added.size());
+    Assert.assertEquals(10_000, cache.size());
+    for (int i = 0; i < 10_000; i++) {
+      Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+    }
+  }
+
+  @Test
+  public void testRemoveShard() {
+    final PartitionedCache<Integer, Integer> cache = create(4);
+    for (int i = 0; i < 10_000; i++) {
+      cache.store(i, i);
+    }
+    Assert.assertTrue(cache.removeShard("shard2").isPresent());
+    Assert.assertFalse(cache.removeShard("shard2").isPresent());
+    Assert.assertEquals(3, cache.shards());
+    Assert.assertEquals(10_000, cache.size());
+    for (int i = 0; i < 10_000; i++) {
+      Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+    }
+  }
+
+  @Test
+  public void testRemoveDeadShard() {
+    final PartitionedCache<Integer, Integer> cache = create(3);
+    final AtomicBoolean dead = new AtomicBoolean();
+    cache.addShard("dead", new MapMemoryCache<Integer, Integer>(ConcurrentHashMap::new) {
+      @Override
+      public List<Pair<Integer, Integer>> invalidateAll() {
+        if (dead.get()) {
+          throw new IllegalStateException("Shard is down.");
+        }
+        return super.invalidateAll();
+      }
+    });
+    for (int i = 0; i < 10_000; i++) {
+      cache.store(i, i);
+    }
+    dead.set(true);
+    Assert.assertTrue(cache.removeShard("dead").isPresent());
+    Assert.assertEquals(3, cache.shards());
+    // The dead shard's keys are dropped, the rest are untouched.
+    Assert.assertTrue(cache.size() > 5_000 && cache.size() < 10_000);
+    cache.entries().forEach(pair -> Assert.assertEquals(pair.getFirst(), pair.getSecond()));
+  }
+
+  @Test
+  public void testNoLostWritesWhileMoving() throws InterruptedException {
+    final PartitionedCache<Integer, Integer> cache = create(3);
+    final int keys = 1_000;
+    final int[] last = new int[keys];
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final Thread writer = new Thread(() -> {
+      for (int round = 1; running.get(); round++) {
+        for (int key = 0; key < keys; key++) {
+          cache.store(key, round);
+          last[key] = round;
+        }
+      }
+    });
+    writer.start();
+    for (int i = 0; i < 20; i++) {
+      cache.addShard("moving", new MapMemoryCache<>(ConcurrentHashMap::new));
+      Thread.yield();
+      cache.removeShard("moving");
+      Thread.yield();
+    }
+    running.set(false);
+    writer.join();
+    // Join makes the writer's array visible here.
+    for (int key = 0; key < keys; key++) {
+      Assert.assertEquals("Lost write to " + key, Integer.valueOf(last[key]), cache.get(key));
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Expiring;
+import it.xaan.random.result.Result;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class ResultCacheTest {
+
+  private final AtomicLong now = new AtomicLong(Long.MAX_VALUE - 10);
+  private final AtomicInteger loads = new AtomicInteger();
+  private final ResultCache<String, Integer> cache = new ResultCache<>(
+      new MapMemoryCache<>(HashMap::new), 100, 10, 1, TimeUnit.NANOSECONDS, now::get);
+
+  private Function<String, Result<Integer>> loader(Result<Integer> result) {
+    return key -> {
+      loads.incrementAndGet();
+      return result;
+    };
+  }
+
+  @Test
+  public void testStates() {
+    // Starts close to overflowing, since nanoTime is allowed to wrap around.
+    Assert.assertEquals(Result.of(1), cache.lookup("found", loader(Result.of(1))));
+    Assert.assertEquals(Result.empty(), cache.lookup("missing", loader(Result.empty())));
+    Assert.assertEquals(Result.error("Down."),
+        cache.lookup("failed", loader(Result.error("Down."))));
+    Assert.assertEquals(3, loads.get());
+
+    cache.lookup("found", loader(Result.of(2)));
+    cache.lookup("missing", loader(Result.of(2)));
+    cache.lookup("failed", loader(Result.of(2)));
+    Assert.assertEquals(3, loads.get());
+    Assert.assertEquals(3, cache.size());
+
+    now.addAndGet(1);
+    Assert.assertEquals(Result.of(2), cache.lookup("failed", loader(Result.of(2))));
+    now.addAndGet(9);
+    Assert.assertNull(cache.get("missing"));
+    Assert.assertEquals(Result.of(1), cache.get("found"));
+    Assert.assertEquals(4, loads.get());
+    Assert.assertEquals(2, cache.size());
+
+    now.addAndGet(90);
+    Assert.assertEquals(Optional.empty(), cache.getOptional("found"));
+    Assert.assertTrue(cache.has("failed"));
+    Assert.assertEquals(2, cache.purge());
+    now.addAndGet(1);
+    Assert.assertEquals(1, cache.purge());
+    Assert.assertEquals(0, cache.purge());
+  }
+
+  @Test
+  public void testStore() {
+    Assert.assertEquals(Optional.empty(), cache.store("key", Result.of(1)));
+    Assert.assertEquals(Optional.of(Result.of(1)), cache.store("key", Result.empty()));
+    Assert.assertEquals(Optional.empty(), cache.store("key", null));
+    Assert.assertEquals(Optional.of(Result.empty()), cache.invalidate("key"));
+    Assert.assertEquals(Optional.empty(), cache.invalidate("key"));
+
+    cache.store("key", Result.of(1));
+    now.addAndGet(100);
+    Assert.assertEquals(Optional.empty(), cache.store("key", Result.of(2)));
+    Assert.assertEquals(Result.of(2), cache.entries().iterator().next().getSecond());
+  }
+
+  @Test
+  public void testUncached() {
+    final ResultCache<String, Integer> successes = new ResultCache<>(
+        new MapMemoryCache<>(HashMap::new), 1, 0, 0, TimeUnit.MINUTES);
+    successes.store("key", Result.of(1));
+    successes.store("key", Result.error("Down."));
+    Assert.assertFalse(successes.has("key"));
+    Assert.assertEquals(Result.empty(), successes.lookup("key", loader(Result.empty())));
+    Assert.assertEquals(Result.empty(), successes.lookup("key", loader(Result.empty())));
+    Assert.assertEquals(2, loads.get());
+    Assert.assertEquals(0, successes.size());
+    Assert.assertThrows(IllegalArgumentException.class, () -> new ResultCache<String, Integer>(
+        new MapMemoryCache<>(HashMap::new), 1, -1, 0, TimeUnit.MINUTES));
+  }
+
+  @Test
+  public void testSingleLoad() throws InterruptedException {
+    final MapMemoryCache<String, Expiring<Result<Integer>>> delegate =
+        new MapMemoryCache<>(ConcurrentHashMap::new);
+    final ResultCache<String, Integer> shared = new ResultCache<>(
+        delegate, 1, 1, 1, TimeUnit.MINUTES);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    final CountDownLatch start = new CountDownLatch(1);
+    final Function<String, Result<Integer>> slow = key -> {
+      loads.incrementAndGet();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return Result.empty();
+    };
+    for (int i = 0; i < 8; i++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        shared.lookup("missing", slow);
+      });
+    }
+    start.countDown();
+    executor.shutdown();
+    Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    Assert.assertEquals(1, loads.get());
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.SortedCache;
+import it.xaan.random.core.Pair;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class SortedMapMemoryCacheTest {
+
+  private SortedMapMemoryCache<Integer, String> create() {
+    SortedMapMemoryCache<Integer, String> cache = new SortedMapMemoryCache<>(
+        ConcurrentSkipListMap::new);
+    for (int i = 0; i < 10; i++) {
+      cache.store(i * 10, "value" + i * 10);
+    }
+    return cache;
+  }
+
+  @Test
+  public void testNonEmptySupplier() {
+    Assert.assertThrows(IllegalStateException.class,
+        () -> new SortedMapMemoryCache<>(() -> new TreeMap<>(Collections.singletonMap(1, 1))));
+  }
+
+  @Test
+  public void testComparator() {
+    Assert.assertNull(create().comparator());
+    final SortedMapMemoryCache<Integer, String> reversed = new SortedMapMemoryCache<>(
+        () -> new TreeMap<Integer, String>(Comparator.reverseOrder()));
+    reversed.store(1, "one");
+    reversed.store(2, "two");
+    Assert.assertNotNull(reversed.comparator());
+    Assert.assertEquals(Optional.of(Pair.from(2, "two")), reversed.first());
+  }
+
+  @Test
+  public void testRange() {
+    final SortedMapMemoryCache<Integer, String> cache = create();
+    Assert.assertEquals(
+        Arrays.asList(Pair.from(20, "value20"), Pair.from(30, "value30")),
+        cache.range(15, 40));
+    Assert.assertTrue(cache.range(41, 49).isEmpty());
+  }
+
+  @Test
+  public void testViews() {
+    final SortedMapMemoryCache<Integer, String> cache = create();
+    final SortedCache<Integer, String> head = cache.headCache(30, false);
+    final SortedCache<Integer, String> tail = cache.tailCache(30, true);
+    Assert.assertEquals(3, head.size());
+    Assert.assertEquals(7, tail.size());
+
+    // Views write through.
+    head.store(5, "value5");
+    Assert.assertEquals("value5", cache.get(5));
+    cache.invalidate(90);
+    Assert.assertFalse(tail.has(90));
+    Assert.assertThrows(IllegalArgumentException.class, () -> head.store(100, "outside"));
+
+    final SortedCache<Integer, String> sub = cache.subCache(10, true, 30, true);
+    Assert.assertEquals(Optional.of(Pair.from(10, "value10")), sub.first());
+    Assert.assertEquals(Optional.of(Pair.from(30, "value30")), sub.last());
+  }
+
+  @Test
+  public void testNavigation() {
+    final SortedMapMemoryCache<Integer, String> cache = create();
+    Assert.assertEquals(Optional.of(Pair.from(20, "value20")), cache.floor(25));
+    Assert.assertEquals(Optional.of(Pair.from(20, "value20")), cache.floor(20));
+    Assert.assertEquals(Optional.of(Pair.from(30, "value30")), cache.ceiling(25));
+    Assert.assertEquals(Optional.of(Pair.from(10, "value10")), cache.lower(20));
+    Assert.assertEquals(Optional.of(Pair.from(30, "value30")), cache.higher(20));
+    Assert.assertEquals(Optional.empty(), cache.lower(0));
+    Assert.assertEquals(Optional.empty(), cache.higher(90));
+    Assert.assertEquals(Optional.of(Pair.from(0, "value0")), cache.first());
+    Assert.assertEquals(Optional.of(Pair.from(90, "value90")), cache.last());
+  }
+
+  @Test
+  public void testInvalidateRange() {
+    final SortedMapMemoryCache<Integer, String> cache = create();
+    Assert.assertEquals(
+        Arrays.asList(Pair.from(40, "value40"), Pair.from(50, "value50")),
+        cache.invalidateRange(40, 60));
+    Assert.assertEquals(8, cache.size());
+    Assert.assertFalse(cache.has(40));
+    Assert.assertTrue(cache.has(60));
+  }
+
+  @Test
+  public void testInvalidateWhere() {
+    final SortedMapMemoryCache<Integer, String> cache = create();
+    Assert.assertEquals(5, cache.invalidateWhere((key, value) -> key % 20 == 0).size());
+    Assert.assertEquals(new HashSet<>(Arrays.asList(10, 30, 50, 70, 90)), cache.keys());
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.cache.impl;
+
+import it.xaan.random.cache.Versioned;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class VersionedMemoryCacheTest {
+
+  private VersionedMemoryCache<String, Integer> create() {
+    return new VersionedMemoryCache<>(HashMap::new);
+  }
+
+  @Test
+  public void testStoreIfVersion() {
+    final VersionedMemoryCache<String, Integer> cache = create();
+    Assert.assertTrue(cache.storeIfVersion("one", 1, Versioned.ABSENT));
+    Assert.assertFalse(cache.storeIfVersion("one", 2, Versioned.ABSENT));
+
+    final Versioned<Integer> read = cache.getVersioned("one").orElseThrow(AssertionError::new);
+    Assert.assertEquals(Integer.valueOf(1), read.getValue());
+    cache.store("one", 3);
+    // Somebody else wrote in between.
+    Assert.assertFalse(cache.storeIfVersion("one", read.getValue() + 1, read.getVersion()));
+
+    final long version = cache.getVersioned("one").map(Versioned::getVersion).orElse(-1L);
+    Assert.assertTrue(cache.storeIfVersion("one", 4, version));
+    Assert.assertEquals(Integer.valueOf(4), cache.get("one"));
+  }
+
+  @Test
+  public void testVersionsNotReused() {
+    final VersionedMemoryCache<String, Integer> cache = create();
+    cache.store("one", 1);
+    final long version = cache.getVersioned("one").map(Versioned::getVersion).orElse(-1L);
+    cache.invalidate("one");
+    cache.store("one", 1);
+    Assert.assertFalse(cache.storeIfVersion("one", 2, version));
+  }
+
+  @Test
+  public void testReplace() {
+    final VersionedMemoryCache<String, Integer> cache = create();
+    Assert.assertFalse(cache.replace("one", 1, 2));
+    cache.store("one", 1);
+    Assert.assertFalse(cache.replace("one", 5, 2));
+    Assert.assertTrue(cache.replace("one", 1, 2));
+    Assert.assertEquals(Integer.valueOf(2), cache.get("one"));
+  }
+
+  @Test
+  public void testComputeAndMerge() {
+    final VersionedMemoryCache<String, Integer> cache = create();
+    Assert.assertEquals(Optional.of(1), cache.merge("one", 1, Integer::sum));
+    Assert.assertEquals(Optional.of(3), cache.merge("one", 2, Integer::sum));
+    Assert.assertEquals(Optional.of(6), cache.compute("one", (key, value) -> value * 2));
+    Assert.assertEquals(Optional.empty(), cache.compute("one", (key, value) -> null));
+    Assert.assertFalse(cache.has("one"));
+  }
+
+  @Test
+  public void testMergeNull() {
+    final VersionedMemoryCache<String, Integer> cache = create();
+    Assert.assertEquals(Optional.empty(), cache.merge("one", null, Integer::sum));
+    Assert.assertFalse(cache.has("one"));
+    cache.store("one", 1);
+    // Like storing null, it leaves the value alone.
+    Assert.assertEquals(Optional.of(1), cache.merge("one", null, Integer::sum));
+    Assert.assertEquals(Integer.valueOf(1), cache.get("one"));
+  }
+
+  @Test
+  public void testConcurrentMerge() throws InterruptedException {
+    final VersionedMemoryCache<String, Integer> cache =
+        new VersionedMemoryCache<>(ConcurrentHashMap::new);
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 10_000; j++) {
+          cache.merge("counter", 1, Integer::sum);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertEquals(Integer.valueOf(40_000), cache.get("counter"));
+  }
+
+  @Test
+  public void testEquals() {
+    final VersionedMemoryCache<String, Integer> first = create();
+    final VersionedMemoryCache<String, Integer> second = create();
+    first.store("one", 1);
+    second.store("one", 0);
+    second.store("one", 1);
+    // Versions differ, contents don't.
+    Assert.assertEquals(first, second);
+    Assert.assertEquals(first.hashCode(), second.hashCode());
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.core;
+
+/**
+ * Helpers shared by the pair lists, which keep each side of their pairs in its own array.
+ */
+final class Columns {
+
+  // Below this, insertion sort beats merging.
+  private static final int INSERTION_SORT = 16;
+
+  private Columns() {
+  }
+
+  /**
+   * Works out the order the rows of a list should be in, without moving them, so every column can
+   * then be moved once. The sort is stable.
+   *
+   * @param size       The amount of rows.
+   * @param comparator Compares two rows by their index.
+   * @return The index of each row, in sorted order.
+   */
+  static int[] order(int size, RowComparator comparator) {
+    final int[] order = new int[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    sort(order, new int[size], 0, size, comparator);
+    return order;
+  }
+
+  // A merge sort, since Arrays has no way to sort ints with a comparator.
+  private static void sort(int[] rows, int[] buffer, int from, int to, RowComparator comparator) {
+    if (to - from <= INSERTION_SORT) {
+      for (int i = from + 1; i < to; i++) {
+        final int row = rows[i];
+        int j = i - 1;
+        while (j >= from && comparator.compare(rows[j], row) > 0) {
+          rows[j + 1] = rows[j];
+          j--;
+        }
+        rows[j + 1] = row;
+      }
+      return;
+    }
+    final int middle = (from + to) >>> 1;
+    sort(rows, buffer, from, middle, comparator);
+    sort(rows, buffer, middle, to, comparator);
+    if (comparator.compare(rows[middle - 1], rows[middle]) <= 0) {
+      return;
+    }
+    System.arraycopy(rows, from, buffer, from, to - from);
+    int left = from;
+    int right = middle;
+    for (int i = from; i < to; i++) {
+      if (right == to || (left < middle && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+        rows[i] = buffer[left++];
+      } else {
+        rows[i] = buffer[right++];
+      }
+    }
+  }
+
+  /**
+   * Compares two rows of a list by their index.
+   */
+  @FunctionalInterface
+  interface RowComparator {
+
+    /**
+     * Compares the rows.
+     *
+     * @param first  The index of the first row.
+     * @param second The index of the second row.
+     * @return A negative number, zero or a positive number if the first row sorts before, the same
+     * as or after the second.
+     */
+    int compare(int first, int second);
+  }
+}
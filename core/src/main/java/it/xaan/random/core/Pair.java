@@ -22,6 +22,9 @@ import javax.annotation.Nullable;
 
 /**
  * Represents two values, for when you need to return multiple things.
+ * <p>
+ * The hash code is worked out the first time it's needed and then kept, the same as {@link
+ * String#hashCode()}, so the elements mustn't change in a way that changes their own hash codes.
  *
  * @param <A> The type of the first variable.
  * @param <B> The type for the second variable.
@@ -34,6 +37,8 @@ public final class Pair<A, B> {
   private final A first;
   @Nullable
   private final B second;
+  // 0 until worked out. Racing threads work out the same value, so this doesn't need to be volatile.
+  private int hash;
 
   // Constructor
   private Pair(@Nullable A first, @Nullable B second) {
@@ -86,12 +91,22 @@ public final class Pair<A, B> {
       return false;
     }
     Pair<?, ?> other = (Pair<?, ?>) obj;
+    // Both hashes being known and different is a cheap way to tell most pairs apart.
+    if (this.hash != 0 && other.hash != 0 && this.hash != other.hash) {
+      return false;
+    }
     return Objects.equals(this.first, other.first) && Objects.equals(this.second, other.second);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(first, second);
+    int hash = this.hash;
+    if (hash == 0) {
+      // Same as Objects.hash(first, second), without the array.
+      hash = 31 * (31 + Objects.hashCode(first)) + Objects.hashCode(second);
+      this.hash = hash;
+    }
+    return hash;
   }
 
   @Override
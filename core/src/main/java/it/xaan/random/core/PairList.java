@@ -0,0 +1,446 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a list of {@link Pair}s, stored as two parallel arrays of the first and second elements
+ * rather than as a {@link Pair} per element. This is a {@link List} of {@link Pair}s, but methods
+ * that hand out a {@link Pair}, such as {@link #get(int)} or iterating, make a new one each time.
+ * Use {@link #getFirst(int)}, {@link #getSecond(int)}, {@link #forEachPair(BiConsumer)} or a
+ * {@link #cursor()} to read without making any.
+ * <p>
+ * For {@code int}, {@code long} and {@code double} elements there are lists that don't box either,
+ * such as {@link IntObjPairList}. This list isn't safe to use across threads.
+ *
+ * @param <A> The type of the first elements.
+ * @param <B> The type of the second elements.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"WeakerAccess", "unchecked"})
+public final class PairList<A, B> extends AbstractList<Pair<A, B>> implements RandomAccess {
+
+  private static final int MIN_GROWTH = 8;
+  // Some VMs reserve header words in an array.
+  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+  private Object[] firsts;
+  private Object[] seconds;
+  private int size;
+
+  /**
+   * Creates a new, empty {@link PairList}.
+   *
+   * @since 1.1.0
+   */
+  public PairList() {
+    this(0);
+  }
+
+  /**
+   * Creates a new, empty {@link PairList} that can hold the expected amount of pairs without
+   * growing.
+   *
+   * @param expected The amount of pairs expected.
+   * @since 1.1.0
+   */
+  public PairList(final int expected) {
+    if (expected < 0) {
+      throw new IllegalArgumentException("Expected size can't be negative.");
+    }
+    this.firsts = new Object[expected];
+    this.seconds = new Object[expected];
+  }
+
+  /**
+   * Gets a list of pairs as a {@link PairList}, for reading methods declared to return a {@link
+   * List} of {@link Pair}s, such as the bulk methods of a cache, without making a pair for each.
+   *
+   * @param pairs The list of pairs.
+   * @param <X>   The type of the first elements.
+   * @param <Y>   The type of the second elements.
+   * @return The same list if it's already a {@link PairList}, otherwise a new copy of it.
+   * @since 1.1.0
+   */
+  public static <X, Y> PairList<X, Y> of(List<Pair<X, Y>> pairs) {
+    if (pairs instanceof PairList) {
+      return (PairList<X, Y>) pairs;
+    }
+    PairList<X, Y> list = new PairList<>(pairs.size());
+    list.addAll(pairs);
+    return list;
+  }
+
+  /**
+   * Adds the pair to the end of the list.
+   *
+   * @param first  The possibly-null first element.
+   * @param second The possibly-null second element.
+   * @since 1.1.0
+   */
+  public void add(@Nullable A first, @Nullable B second) {
+    if (size == firsts.length) {
+      grow(size + 1);
+    }
+    firsts[size] = first;
+    seconds[size] = second;
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public boolean add(Pair<A, B> pair) {
+    add(pair.getFirst(), pair.getSecond());
+    return true;
+  }
+
+  @Override
+  public void add(int index, Pair<A, B> pair) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+    }
+    if (size == firsts.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(firsts, index, firsts, index + 1, size - index);
+    System.arraycopy(seconds, index, seconds, index + 1, size - index);
+    firsts[index] = pair.getFirst();
+    seconds[index] = pair.getSecond();
+    size++;
+    modCount++;
+  }
+
+  /**
+   * Adds every pair of the collection to the end of this list, in order. When the collection is
+   * another {@link PairList} no {@link Pair}s are made.
+   *
+   * @param pairs The pairs to add, which can be this list.
+   * @return {@code true} if the list changed, otherwise {@code false}.
+   */
+  @Override
+  public boolean addAll(Collection<? extends Pair<A, B>> pairs) {
+    final int amount = pairs.size();
+    if (size + amount > firsts.length) {
+      grow(size + amount);
+    }
+    if (!(pairs instanceof PairList)) {
+      return super.addAll(pairs);
+    }
+    final PairList<?, ?> other = (PairList<?, ?>) pairs;
+    // If other is this list, grow already replaced its arrays too.
+    System.arraycopy(other.firsts, 0, firsts, size, amount);
+    System.arraycopy(other.seconds, 0, seconds, size, amount);
+    size += amount;
+    modCount++;
+    return amount != 0;
+  }
+
+  /**
+   * Gets the first element of the pair at the index.
+   *
+   * @param index The index of the pair.
+   * @return The possibly-null first element.
+   * @throws IndexOutOfBoundsException If the index isn't in the list.
+   * @since 1.1.0
+   */
+  public @Nullable
+  A getFirst(int index) {
+    checkIndex(index);
+    return (A) firsts[index];
+  }
+
+  /**
+   * Gets the second element of the pair at the index.
+   *
+   * @param index The index of the pair.
+   * @return The possibly-null second element.
+   * @throws IndexOutOfBoundsException If the index isn't in the list.
+   * @since 1.1.0
+   */
+  public @Nullable
+  B getSecond(int index) {
+    checkIndex(index);
+    return (B) seconds[index];
+  }
+
+  /**
+   * Gets the pair at the index. This makes a new {@link Pair}, prefer {@link #getFirst(int)} and
+   * {@link #getSecond(int)} on hot paths.
+   *
+   * @param index The index of the pair.
+   * @return A new pair of the elements.
+   * @throws IndexOutOfBoundsException If the index isn't in the list.
+   */
+  @Override
+  public Pair<A, B> get(int index) {
+    return Pair.from(getFirst(index), getSecond(index));
+  }
+
+  /**
+   * Replaces the pair at the index.
+   *
+   * @param index  The index of the pair.
+   * @param first  The possibly-null new first element.
+   * @param second The possibly-null new second element.
+   * @throws IndexOutOfBoundsException If the index isn't in the list.
+   * @since 1.1.0
+   */
+  public void set(int index, @Nullable A first, @Nullable B second) {
+    checkIndex(index);
+    firsts[index] = first;
+    seconds[index] = second;
+  }
+
+  @Override
+  public Pair<A, B> set(int index, Pair<A, B> pair) {
+    final Pair<A, B> old = get(index);
+    set(index, pair.getFirst(), pair.getSecond());
+    return old;
+  }
+
+  @Override
+  public Pair<A, B> remove(int index) {
+    final Pair<A, B> old = get(index);
+    System.arraycopy(firsts, index + 1, firsts, index, size - index - 1);
+    System.arraycopy(seconds, index + 1, seconds, index, size - index - 1);
+    size--;
+    firsts[size] = null;
+    seconds[size] = null;
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(firsts, 0, size, null);
+    Arrays.fill(seconds, 0, size, null);
+    size = 0;
+    modCount++;
+  }
+
+  /**
+   * Runs the consumer for every pair in the list, in order, without making any {@link Pair}s.
+   *
+   * @param consumer The consumer to run.
+   * @since 1.1.0
+   */
+  public void forEachPair(BiConsumer<? super A, ? super B> consumer) {
+    final Object[] firsts = this.firsts;
+    final Object[] seconds = this.seconds;
+    for (int i = 0; i < size; i++) {
+      consumer.accept((A) firsts[i], (B) seconds[i]);
+    }
+  }
+
+  /**
+   * Gets a cursor over the list, which reads the pairs in order without making any {@link Pair}s.
+   * The same cursor is moved from pair to pair, so it should be read before being moved.
+   *
+   * @return A new cursor before the first pair.
+   * @since 1.1.0
+   */
+  public Cursor<A, B> cursor() {
+    return new Cursor<>(this);
+  }
+
+  /**
+   * Sorts the pairs by their first elements, keeping the order of pairs with equal first elements.
+   *
+   * @param comparator The comparator for the first elements.
+   * @since 1.1.0
+   */
+  public void sortByFirst(Comparator<? super A> comparator) {
+    final Object[] firsts = this.firsts;
+    reorder(Columns.order(size, (i, j) -> comparator.compare((A) firsts[i], (A) firsts[j])));
+  }
+
+  /**
+   * Sorts the pairs by their second elements, keeping the order of pairs with equal second
+   * elements.
+   *
+   * @param comparator The comparator for the second elements.
+   * @since 1.1.0
+   */
+  public void sortBySecond(Comparator<? super B> comparator) {
+    final Object[] seconds = this.seconds;
+    reorder(Columns.order(size, (i, j) -> comparator.compare((B) seconds[i], (B) seconds[j])));
+  }
+
+  private void reorder(int[] order) {
+    final Object[] firsts = new Object[this.firsts.length];
+    final Object[] seconds = new Object[this.seconds.length];
+    for (int i = 0; i < size; i++) {
+      firsts[i] = this.firsts[order[i]];
+      seconds[i] = this.seconds[order[i]];
+    }
+    this.firsts = firsts;
+    this.seconds = seconds;
+    modCount++;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+    }
+  }
+
+  private void grow(int needed) {
+    if (needed < 0 || needed > MAX_ARRAY_LENGTH) {
+      throw new OutOfMemoryError("Required array length too large.");
+    }
+    final long grown = Math.max(MIN_GROWTH, size + (size >> 1) + 1L);
+    final int capacity = (int) Math.max(needed, Math.min(MAX_ARRAY_LENGTH, grown));
+    firsts = Arrays.copyOf(firsts, capacity);
+    seconds = Arrays.copyOf(seconds, capacity);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof PairList)) {
+      return super.equals(obj);
+    }
+    if (this == obj) {
+      return true;
+    }
+    PairList<?, ?> other = (PairList<?, ?>) obj;
+    if (other.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!Objects.equals(firsts[i], other.firsts[i])
+          || !Objects.equals(seconds[i], other.seconds[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as List#hashCode with Pair#hashCode.
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + 31 * (31 + Objects.hashCode(firsts[i])) + Objects.hashCode(seconds[i]);
+    }
+    return hash;
+  }
+
+  /**
+   * Reads the pairs of a {@link PairList} in order, without making a {@link Pair} for each.
+   *
+   * <pre>{@code
+   * PairList.Cursor<String, Integer> cursor = list.cursor();
+   * while (cursor.next()) {
+   *   total += cursor.getSecond();
+   * }
+   * }</pre>
+   *
+   * @param <A> The type of the first elements.
+   * @param <B> The type of the second elements.
+   * @since 1.1.0
+   */
+  public static final class Cursor<A, B> {
+
+    private final PairList<A, B> list;
+    private int index = -1;
+
+    private Cursor(final PairList<A, B> list) {
+      this.list = list;
+    }
+
+    /**
+     * Moves to the next pair.
+     *
+     * @return {@code true} if there was a next pair, otherwise {@code false}.
+     * @since 1.1.0
+     */
+    public boolean next() {
+      if (index < list.size) {
+        index++;
+      }
+      return index < list.size;
+    }
+
+    /**
+     * Gets the index of the current pair.
+     *
+     * @return The index, or {@code -1} before {@link #next()} is first called.
+     * @since 1.1.0
+     */
+    public int index() {
+      return index;
+    }
+
+    /**
+     * Gets the first element of the current pair.
+     *
+     * @return The possibly-null first element.
+     * @throws NoSuchElementException If the cursor isn't on a pair.
+     * @since 1.1.0
+     */
+    public @Nullable
+    A getFirst() {
+      check();
+      return (A) list.firsts[index];
+    }
+
+    /**
+     * Gets the second element of the current pair.
+     *
+     * @return The possibly-null second element.
+     * @throws NoSuchElementException If the cursor isn't on a pair.
+     * @since 1.1.0
+     */
+    public @Nullable
+    B getSecond() {
+      check();
+      return (B) list.seconds[index];
+    }
+
+    /**
+     * Moves back to before the first pair, so the list can be read again.
+     *
+     * @since 1.1.0
+     */
+    public void reset() {
+      index = -1;
+    }
+
+    private void check() {
+      if (index < 0 || index >= list.size) {
+        throw new NoSuchElementException("The cursor isn't on a pair.");
+      }
+    }
+  }
+}
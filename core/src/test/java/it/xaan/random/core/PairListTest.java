@@ -0,0 +1,155 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PairListTest {
+
+  @Test
+  public void testAddGet() {
+    final PairList<String, Integer> list = new PairList<>();
+    list.add("one", 1);
+    list.add(Pair.from("two", 2));
+    list.add(null, null);
+    Assert.assertEquals(3, list.size());
+    Assert.assertEquals("one", list.getFirst(0));
+    Assert.assertEquals(Integer.valueOf(2), list.getSecond(1));
+    Assert.assertEquals(Pair.from("two", 2), list.get(1));
+    Assert.assertEquals(Pair.from(null, null), list.get(2));
+    list.set(0, "three", 3);
+    Assert.assertEquals(Pair.from("three", 3), list.get(0));
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.getFirst(-1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new PairList<>(-1));
+  }
+
+  @Test
+  public void testAgainstList() {
+    final PairList<String, Integer> list = new PairList<>();
+    final List<Pair<String, Integer>> reference = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      list.add(String.valueOf(i), i * 7);
+      reference.add(Pair.from(String.valueOf(i), i * 7));
+    }
+    for (int i = 999; i >= 0; i -= 3) {
+      Assert.assertEquals(reference.remove(i), list.remove(i));
+    }
+    list.add(5, Pair.from("inserted", -1));
+    reference.add(5, Pair.from("inserted", -1));
+    Assert.assertEquals(reference, list);
+    Assert.assertEquals(list, reference);
+    Assert.assertEquals(reference.hashCode(), list.hashCode());
+    Assert.assertEquals(reference.toString(), list.toString());
+    final List<Pair<String, Integer>> visited = new ArrayList<>();
+    list.forEachPair((first, second) -> visited.add(Pair.from(first, second)));
+    Assert.assertEquals(reference, visited);
+    Assert.assertEquals(reference, new ArrayList<>(list));
+    list.clear();
+    Assert.assertTrue(list.isEmpty());
+  }
+
+  @Test
+  public void testAddAll() {
+    final PairList<String, Integer> list = new PairList<>();
+    list.add("one", 1);
+    list.addAll(Arrays.asList(Pair.from("two", 2), Pair.from("three", 3)));
+    Assert.assertEquals(3, list.size());
+    list.addAll(list);
+    Assert.assertEquals(6, list.size());
+    Assert.assertEquals(list.subList(0, 3), list.subList(3, 6));
+    final PairList<String, Integer> other = new PairList<>();
+    other.addAll(list);
+    Assert.assertEquals(list, other);
+    Assert.assertFalse(other.addAll(new PairList<>()));
+  }
+
+  @Test
+  public void testOf() {
+    final PairList<String, Integer> list = new PairList<>();
+    list.add("one", 1);
+    Assert.assertSame(list, PairList.of(list));
+    final List<Pair<String, Integer>> pairs = Arrays.asList(Pair.from("one", 1));
+    final PairList<String, Integer> copy = PairList.of(pairs);
+    Assert.assertEquals(pairs, copy);
+    Assert.assertEquals("one", copy.getFirst(0));
+  }
+
+  @Test
+  public void testCursor() {
+    final PairList<String, Integer> list = new PairList<>();
+    for (int i = 0; i < 10; i++) {
+      list.add(String.valueOf(i), i * 2);
+    }
+    final PairList.Cursor<String, Integer> cursor = list.cursor();
+    Assert.assertEquals(-1, cursor.index());
+    Assert.assertThrows(NoSuchElementException.class, cursor::getFirst);
+    for (int pass = 0; pass < 2; pass++) {
+      int count = 0;
+      while (cursor.next()) {
+        Assert.assertEquals(count, cursor.index());
+        Assert.assertEquals(String.valueOf(count), cursor.getFirst());
+        Assert.assertEquals(Integer.valueOf(count * 2), cursor.getSecond());
+        count++;
+      }
+      Assert.assertEquals(10, count);
+      Assert.assertFalse(cursor.next());
+      Assert.assertThrows(NoSuchElementException.class, cursor::getSecond);
+      cursor.reset();
+    }
+  }
+
+  @Test
+  public void testSort() {
+    final PairList<Integer, String> list = new PairList<>();
+    for (int i = 0; i < 100; i++) {
+      list.add(i % 10, String.valueOf(99 - i));
+    }
+    list.sortByFirst(Comparator.naturalOrder());
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(Integer.valueOf(i / 10), list.getFirst(i));
+      // Pairs with equal first elements keep their order.
+      Assert.assertEquals(String.valueOf(99 - (i / 10 + i % 10 * 10)), list.getSecond(i));
+    }
+    list.sortBySecond(Comparator.comparing(Integer::parseInt));
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(String.valueOf(i), list.getSecond(i));
+      Assert.assertEquals(Integer.valueOf((99 - i) % 10), list.getFirst(i));
+    }
+  }
+
+  @Test
+  public void testIteratorFailsFast() {
+    final PairList<String, Integer> list = new PairList<>();
+    list.add("one", 1);
+    list.add("two", 2);
+    Assert.assertThrows(ConcurrentModificationException.class, () -> {
+      for (Pair<String, Integer> pair : list) {
+        list.add(pair);
+      }
+    });
+  }
+}
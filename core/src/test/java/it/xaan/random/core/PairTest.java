@@ -17,6 +17,7 @@
  */
 package it.xaan.random.core;
 
+import java.util.Objects;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -50,4 +51,18 @@ public class PairTest {
     Assert.assertEquals("Hello", test.getFirst());
     Assert.assertEquals("World", test.getSecond());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testHashCode() {
+    Assert.assertEquals(Objects.hash("Hello", "World"), test.hashCode());
+    Assert.assertEquals(test.hashCode(), test.hashCode());
+    Assert.assertEquals(Objects.hash(null, null), Pair.from(null, null).hashCode());
+    final Pair<String, String> other = Pair.from("Hello", "There");
+    other.hashCode();
+    Assert.assertNotEquals(test, other);
+    // Only one side has worked out its hash.
+    final Pair<String, String> fresh = Pair.from("Hello", "World");
+    Assert.assertEquals(test, fresh);
+    Assert.assertEquals(fresh, test);
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+
+/**
+ * Represents an {@link EventDispatcher} that dispatches events on its own thread. Publishing puts
+ * the event inside a preallocated ring buffer, which any amount of threads can publish to at once
+ * without locking or allocating. A single consumer takes events out in batches of up to the batch
+ * size and passes them to the handlers of the dispatcher, in the order they were published.
+ * <p>
+ * When the buffer is full, publishing does what the {@link Backpressure} says. While there are no
+ * events the consumer waits as the {@link WaitStrategy} says, which is also how publishers wait
+ * for room with {@link Backpressure#BLOCK}.
+ * <pre>{@code
+ * EventDispatcher<Event> dispatcher = new EventDispatcher<>();
+ * AsyncEventDispatcher<Event> async = new AsyncEventDispatcher<>(dispatcher, 1 << 16, 256,
+ *     WaitStrategy.PARK, Backpressure.BLOCK, executor);
+ * async.publish(new MessageEvent("Hello"));
+ * }</pre>
+ *
+ * @param <E> The type of events that can be published.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class AsyncEventDispatcher<E> implements AutoCloseable {
+
+  // The longest a parked thread sleeps before checking again, in case a wake up was missed.
+  private static final long MAX_PARK = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final EventDispatcher<E> dispatcher;
+  private final RingBuffer buffer;
+  private final int batchSize;
+  private final WaitStrategy waitStrategy;
+  private final Backpressure backpressure;
+  private final LongAdder dropped = new LongAdder();
+  private final CountDownLatch stopped = new CountDownLatch(1);
+  // Publishers between checking running and finishing their offer, which the consumer waits for
+  // before its last look at the buffer.
+  private final AtomicInteger publishing = new AtomicInteger();
+  private volatile boolean running = true;
+  private volatile boolean waiting;
+  @Nullable
+  private volatile Thread consumer;
+
+  /**
+   * Creates a new {@link AsyncEventDispatcher} that parks while waiting and blocks publishers
+   * while the buffer is full.
+   *
+   * @param dispatcher The dispatcher with the handlers.
+   * @param capacity   The size of the buffer, which is rounded up to a power of two.
+   * @param executor   The executor to run the consumer on, which keeps one of its threads until
+   *                   {@link #close()}.
+   * @since 1.1.0
+   */
+  public AsyncEventDispatcher(final EventDispatcher<E> dispatcher, final int capacity,
+      final Executor executor) {
+    this(dispatcher, capacity, 256, WaitStrategy.PARK, Backpressure.BLOCK, executor);
+  }
+
+  /**
+   * Creates a new {@link AsyncEventDispatcher}.
+   *
+   * @param dispatcher   The dispatcher with the handlers.
+   * @param capacity     The size of the buffer, which is rounded up to a power of two.
+   * @param batchSize    The most events the consumer dispatches before checking if it should
+   *                     stop.
+   * @param waitStrategy How threads wait for events or room.
+   * @param backpressure What publishing does when the buffer is full.
+   * @param executor     The executor to run the consumer on, which keeps one of its threads until
+   *                     {@link #close()}.
+   * @since 1.1.0
+   */
+  public AsyncEventDispatcher(final EventDispatcher<E> dispatcher, final int capacity,
+      final int batchSize, final WaitStrategy waitStrategy, final Backpressure backpressure,
+      final Executor executor) {
+    if (capacity < 1 || capacity > 1 << 30 || batchSize < 1) {
+      throw new IllegalArgumentException("The capacity and batch size must be positive.");
+    }
+    this.dispatcher = dispatcher;
+    this.buffer = new RingBuffer(Math.max(2, Integer.highestOneBit(capacity - 1) << 1));
+    this.batchSize = batchSize;
+    this.waitStrategy = waitStrategy;
+    this.backpressure = backpressure;
+    executor.execute(this::consume);
+  }
+
+  /**
+   * Publishes an event, to be dispatched on the consumer thread.
+   *
+   * @param event The event.
+   * @return {@code true} if the event will be dispatched, {@code false} if the buffer was full
+   * with {@link Backpressure#FAIL_FAST} or this is closed.
+   * @since 1.1.0
+   */
+  public boolean publish(E event) {
+    publishing.incrementAndGet();
+    try {
+      return offer(event);
+    } finally {
+      publishing.decrementAndGet();
+    }
+  }
+
+  private boolean offer(E event) {
+    if (!running) {
+      return false;
+    }
+    int idle = 0;
+    while (!buffer.offer(event)) {
+      switch (backpressure) {
+        case FAIL_FAST:
+          return false;
+        case DROP_OLDEST:
+          if (buffer.poll() != null) {
+            dropped.increment();
+          }
+          break;
+        default:
+          if (Thread.currentThread() == consumer) {
+            // A handler publishing to a full buffer would wait on itself forever.
+            dispatcher.publish(event);
+            return true;
+          }
+          if (!running) {
+            return false;
+          }
+          idle = idle(idle);
+      }
+    }
+    if (waiting) {
+      LockSupport.unpark(consumer);
+    }
+    return true;
+  }
+
+  /**
+   * Gets the {@link EventDispatcher} that events are dispatched with, to subscribe to.
+   *
+   * @return The dispatcher.
+   * @since 1.1.0
+   */
+  public EventDispatcher<E> dispatcher() {
+    return dispatcher;
+  }
+
+  /**
+   * Gets how many events are waiting to be dispatched. This is only an estimate while events are
+   * being published or dispatched.
+   *
+   * @return The amount of events.
+   * @since 1.1.0
+   */
+  public int pending() {
+    return buffer.size();
+  }
+
+  /**
+   * Gets the size of the buffer.
+   *
+   * @return The most events that can wait to be dispatched.
+   * @since 1.1.0
+   */
+  public int capacity() {
+    return buffer.capacity();
+  }
+
+  /**
+   * Gets how many events were dropped with {@link Backpressure#DROP_OLDEST}.
+   *
+   * @return The amount of events dropped.
+   * @since 1.1.0
+   */
+  public long dropped() {
+    return dropped.sum();
+  }
+
+  /**
+   * Stops taking events, waits for the ones already published to be dispatched and stops the
+   * consumer. Events published after this are rejected. If called by a handler, this returns
+   * straight away and the consumer stops after dispatching the rest. Being interrupted doesn't stop
+   * the wait, the thread is interrupted again once it's over.
+   *
+   * @since 1.1.0
+   */
+  @Override
+  public void close() {
+    running = false;
+    final Thread thread = consumer;
+    if (thread == Thread.currentThread()) {
+      // Closed by a handler, the consumer stops once that handler returns.
+      return;
+    }
+    LockSupport.unpark(thread);
+    boolean interrupted = false;
+    while (true) {
+      try {
+        stopped.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void consume() {
+    consumer = Thread.currentThread();
+    try {
+      int idle = 0;
+      // Once stopped, a publisher that saw it running may still be offering, so it waits for them
+      // before the buffer is looked at for the last time.
+      while (running || publishing.get() > 0 || !buffer.isEmpty()) {
+        final int dispatched = drain();
+        if (dispatched > 0) {
+          idle = 0;
+        } else if (waitStrategy == WaitStrategy.PARK) {
+          // Publishers only wake it up once it says it's waiting, and it looks once more after.
+          waiting = true;
+          if (buffer.isEmpty() && running) {
+            LockSupport.parkNanos(this, MAX_PARK);
+          }
+          waiting = false;
+        } else {
+          idle = idle(idle);
+        }
+      }
+    } finally {
+      consumer = null;
+      stopped.countDown();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private int drain() {
+    int dispatched = 0;
+    Object event;
+    while (dispatched < batchSize && (event = buffer.poll()) != null) {
+      dispatched++;
+      try {
+        dispatcher.publish((E) event);
+      } catch (RuntimeException e) {
+        // The consumer has to keep going, so it's reported the same way an uncaught one would be.
+        final Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+    return dispatched;
+  }
+
+  private int idle(int idle) {
+    switch (waitStrategy) {
+      case BUSY_SPIN:
+        break;
+      case YIELD:
+        Thread.yield();
+        break;
+      default:
+        // Spins a little first, since room often frees up within a few microseconds.
+        if (idle < 100) {
+          Thread.yield();
+        } else {
+          LockSupport.parkNanos(Math.min(MAX_PARK, 1_000L << Math.min(idle - 100, 10)));
+        }
+    }
+    return idle < 1_000 ? idle + 1 : idle;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("AsyncEventDispatcher[pending=%s,capacity=%s,dropped=%s]", pending(),
+        capacity(), dropped());
+  }
+}
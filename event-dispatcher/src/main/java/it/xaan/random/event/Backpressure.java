@@ -0,0 +1,40 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+/**
+ * Represents what {@link AsyncEventDispatcher#publish(Object)} does when the buffer is full,
+ * because events are published faster than they're dispatched.
+ *
+ * @since 1.1.0
+ */
+public enum Backpressure {
+  /**
+   * Waits for room, slowing publishers down to the speed of the handlers. Nothing is lost.
+   */
+  BLOCK,
+  /**
+   * Drops the oldest event that hasn't been dispatched yet to make room, so the newest events are
+   * always kept.
+   */
+  DROP_OLDEST,
+  /**
+   * Doesn't publish the event, and returns straight away.
+   */
+  FAIL_FAST
+}
@@ -0,0 +1,292 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a dispatcher of events to the handlers subscribed to their type. A handler subscribed
+ * to a type is called for events of that type and every subtype, including through interfaces.
+ * <p>
+ * The handlers for each class of event are worked out the first time an event of that class is
+ * published, and kept in a table until a handler is subscribed or unsubscribed. Publishing only
+ * looks up that table and calls the handlers, so it never walks the class hierarchy, uses
+ * reflection or locks. Handlers are called on the publishing thread, for the class of the event
+ * first, then its superclasses, then its interfaces, and in the order they were subscribed within
+ * each type.
+ * <pre>{@code
+ * EventDispatcher<Event> dispatcher = new EventDispatcher<>();
+ * dispatcher.subscribe(MessageEvent.class, event -> log(event.getMessage()));
+ * dispatcher.publish(new MessageEvent("Hello"));
+ * }</pre>
+ *
+ * @param <E> The type of events that can be published.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class EventDispatcher<E> {
+
+  private static final Handler<Object>[] NONE = newHandlers(0);
+  private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+  private final BiConsumer<? super E, ? super Exception> onError;
+  // Replaced rather than changed, and only while holding the lock.
+  private Map<Class<?>, Subscription[]> subscriptions = Collections.emptyMap();
+  private volatile Table table = new Table(subscriptions);
+
+  /**
+   * Creates a new {@link EventDispatcher}. An exception thrown by a handler is thrown from {@link
+   * #publish(Object)}, and the handlers after it aren't called. Checked exceptions are wrapped in
+   * an {@link UndeclaredThrowableException}.
+   *
+   * @since 1.1.0
+   */
+  public EventDispatcher() {
+    this(EventDispatcher::rethrow);
+  }
+
+  /**
+   * Creates a new {@link EventDispatcher}.
+   *
+   * @param onError Called with the event and the exception when a handler throws. The handlers
+   *                after it are still called, unless this throws.
+   * @since 1.1.0
+   */
+  public EventDispatcher(final BiConsumer<? super E, ? super Exception> onError) {
+    this.onError = onError;
+  }
+
+  /**
+   * Subscribes a {@link Handler} to events of the type and its subtypes. The same handler can be
+   * subscribed more than once, and is called once for each time.
+   *
+   * @param type    The type of events to handle.
+   * @param handler The handler.
+   * @param <T>     The type of events.
+   * @return A {@link Subscription} to unsubscribe the handler with.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends E> Subscription subscribe(Class<T> type, Handler<? super T> handler) {
+    final Subscription subscription = new Subscription(this, type, (Handler<Object>) handler);
+    add(Collections.singletonList(subscription));
+    return subscription;
+  }
+
+  /**
+   * Subscribes every method of the listener marked with {@link Subscribe}, including ones it
+   * inherits, to the type of its parameter. Each method is called through a class made for it
+   * with {@link java.lang.invoke.LambdaMetafactory}, so it runs as fast as a handwritten lambda,
+   * without reflection. That can only be done for public methods of public classes, others are
+   * called through a {@link java.lang.invoke.MethodHandle}. See {@link #register(Object,
+   * Lookup)} to do it for any method.
+   *
+   * @param listener The listener.
+   * @return A {@link Subscription} for each method, in order of their names.
+   * @throws IllegalArgumentException If a marked method is static or doesn't take a single
+   *                                  object.
+   * @since 1.1.0
+   */
+  public List<Subscription> register(Object listener) {
+    return registerWith(listener, null);
+  }
+
+  /**
+   * Subscribes every method of the listener marked with {@link Subscribe}, like {@link
+   * #register(Object)}, using a {@link Lookup} from the class of the listener. Passing {@code
+   * MethodHandles.lookup()} from inside that class lets methods it could call itself, including
+   * private ones, be called without reflection.
+   *
+   * @param listener The listener.
+   * @param lookup   A lookup with access to the methods.
+   * @return A {@link Subscription} for each method, in order of their names.
+   * @throws IllegalArgumentException If a marked method is static or doesn't take a single
+   *                                  object.
+   * @since 1.1.0
+   */
+  public List<Subscription> register(Object listener, Lookup lookup) {
+    return registerWith(listener, lookup);
+  }
+
+  private List<Subscription> registerWith(Object listener, @Nullable Lookup lookup) {
+    final List<Subscription> subscriptions = new ArrayList<>();
+    for (Method method : Invokers.subscribers(listener.getClass())) {
+      subscriptions.add(new Subscription(this, method.getParameterTypes()[0],
+          Invokers.create(listener, method, lookup)));
+    }
+    add(subscriptions);
+    return Collections.unmodifiableList(subscriptions);
+  }
+
+  /**
+   * Publishes an event to every handler subscribed to its type or one of its supertypes.
+   *
+   * @param event The event.
+   * @return How many handlers were called.
+   * @since 1.1.0
+   */
+  public int publish(E event) {
+    final Handler<Object>[] handlers = table.get(event.getClass());
+    for (Handler<Object> handler : handlers) {
+      try {
+        handler.handle(event);
+      } catch (Exception e) {
+        onError.accept(event, e);
+      }
+    }
+    return handlers.length;
+  }
+
+  /**
+   * Gets how many handlers an event of the class would be published to.
+   *
+   * @param type The class of the event.
+   * @return The amount of handlers.
+   * @since 1.1.0
+   */
+  public int handlers(Class<? extends E> type) {
+    return table.get(type).length;
+  }
+
+  /**
+   * Unsubscribes every handler.
+   *
+   * @since 1.1.0
+   */
+  public synchronized void clear() {
+    update(Collections.emptyMap());
+  }
+
+  // Adds them all at once, so the table is only dropped once.
+  private synchronized void add(List<Subscription> added) {
+    if (added.isEmpty()) {
+      return;
+    }
+    final Map<Class<?>, Subscription[]> next = new HashMap<>(subscriptions);
+    for (Subscription subscription : added) {
+      final Subscription[] existing = next.getOrDefault(subscription.getType(), NO_SUBSCRIPTIONS);
+      final Subscription[] grown = Arrays.copyOf(existing, existing.length + 1);
+      grown[existing.length] = subscription;
+      next.put(subscription.getType(), grown);
+    }
+    update(next);
+  }
+
+  synchronized boolean remove(Subscription subscription) {
+    final Subscription[] existing = subscriptions.get(subscription.getType());
+    final int index = existing == null ? -1 : Arrays.asList(existing).indexOf(subscription);
+    if (index == -1) {
+      return false;
+    }
+    final Map<Class<?>, Subscription[]> next = new HashMap<>(subscriptions);
+    if (existing.length == 1) {
+      next.remove(subscription.getType());
+    } else {
+      final Subscription[] removed = new Subscription[existing.length - 1];
+      System.arraycopy(existing, 0, removed, 0, index);
+      System.arraycopy(existing, index + 1, removed, index, removed.length - index);
+      next.put(subscription.getType(), removed);
+    }
+    update(next);
+    return true;
+  }
+
+  // A new table drops every class worked out by the old one.
+  private void update(Map<Class<?>, Subscription[]> next) {
+    subscriptions = next;
+    table = new Table(next);
+  }
+
+  // Generic arrays can't be created, but one of wildcards holds anything a Handler<Object> can.
+  @SuppressWarnings("unchecked")
+  private static Handler<Object>[] newHandlers(int length) {
+    return (Handler<Object>[]) new Handler<?>[length];
+  }
+
+  private static <E> void rethrow(E event, Exception e) {
+    if (e instanceof RuntimeException) {
+      throw (RuntimeException) e;
+    }
+    throw new UndeclaredThrowableException(e);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("EventDispatcher[types=%s]", subscriptions.keySet());
+  }
+
+  // The handlers of each class of event, worked out on first use from a snapshot of the
+  // subscriptions. ClassValue keeps them on the class itself, so a lookup is about as cheap as
+  // reading a field.
+  private static final class Table extends ClassValue<Handler<Object>[]> {
+
+    private final Map<Class<?>, Subscription[]> subscriptions;
+
+    Table(final Map<Class<?>, Subscription[]> subscriptions) {
+      this.subscriptions = subscriptions;
+    }
+
+    @Override
+    protected Handler<Object>[] computeValue(Class<?> type) {
+      if (subscriptions.isEmpty()) {
+        return NONE;
+      }
+      final List<Handler<Object>> handlers = new ArrayList<>();
+      for (Class<?> supertype : hierarchy(type)) {
+        final Subscription[] found = subscriptions.get(supertype);
+        if (found != null) {
+          for (Subscription subscription : found) {
+            handlers.add(subscription.handler());
+          }
+        }
+      }
+      return handlers.isEmpty() ? NONE : handlers.toArray(newHandlers(handlers.size()));
+    }
+
+    // The class, its superclasses, then every interface they implement breadth first.
+    private static Set<Class<?>> hierarchy(Class<?> type) {
+      final Set<Class<?>> hierarchy = new LinkedHashSet<>();
+      for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+        hierarchy.add(current);
+      }
+      final Deque<Class<?>> pending = new ArrayDeque<>(hierarchy);
+      while (!pending.isEmpty()) {
+        for (Class<?> implemented : pending.poll().getInterfaces()) {
+          if (hierarchy.add(implemented)) {
+            pending.add(implemented);
+          }
+        }
+      }
+      return hierarchy;
+    }
+  }
+}
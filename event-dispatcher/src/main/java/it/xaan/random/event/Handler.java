@@ -0,0 +1,38 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+/**
+ * Represents a handler of events published to an {@link EventDispatcher}.
+ *
+ * @param <T> The type of events it handles.
+ * @since 1.1.0
+ */
+@FunctionalInterface
+public interface Handler<T> {
+
+  /**
+   * Handles an event.
+   *
+   * @param event The event.
+   * @throws Exception If it can't be handled, which is passed to the error handler of the
+   *                   dispatcher.
+   * @since 1.1.0
+   */
+  void handle(T event) throws Exception;
+}
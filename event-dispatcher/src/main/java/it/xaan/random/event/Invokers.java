@@ -0,0 +1,141 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+// Turns methods marked with Subscribe into Handlers. Where it can, it makes a class implementing
+// Handler that calls the method directly, the same way the compiler does for a method reference,
+// so the JIT can inline it like a handwritten lambda. Otherwise it falls back to a MethodHandle,
+// which still avoids the boxing and access checks of Method.invoke.
+final class Invokers {
+
+  private static final Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType HANDLE = MethodType.methodType(void.class, Object.class);
+
+  private Invokers() {
+  }
+
+  // Every method marked with Subscribe in the class and its superclasses, overridden ones once.
+  static List<Method> subscribers(Class<?> type) {
+    final List<Method> methods = new ArrayList<>();
+    final Set<String> seen = new HashSet<>();
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      for (Method method : current.getDeclaredMethods()) {
+        if (!method.isAnnotationPresent(Subscribe.class) || method.isBridge()) {
+          continue;
+        }
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1
+            || method.getParameterTypes()[0].isPrimitive()) {
+          throw new IllegalArgumentException(
+              "Subscribe methods must not be static and must take one object: " + method);
+        }
+        if (seen.add(method.getName() + method.getParameterTypes()[0].getName())) {
+          methods.add(method);
+        }
+      }
+    }
+    // Reflection doesn't promise any order, so it's made the same every time.
+    methods.sort(Comparator.comparing(Method::getName)
+        .thenComparing(method -> method.getParameterTypes()[0].getName()));
+    return methods;
+  }
+
+  static Handler<Object> create(Object target, Method method, @Nullable Lookup lookup) {
+    try {
+      final Lookup caller = lookup != null ? lookup : accessible(method) ? LOOKUP : null;
+      if (caller != null) {
+        return generate(target, method, caller);
+      }
+    } catch (IllegalAccessException | LambdaConversionException e) {
+      // Not allowed to link to it directly, so it goes through a MethodHandle instead.
+    }
+    return handle(target, method);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Handler<Object> generate(Object target, Method method, Lookup caller)
+      throws IllegalAccessException, LambdaConversionException {
+    final CallSite site = LambdaMetafactory.metafactory(
+        caller,
+        "handle",
+        MethodType.methodType(Handler.class, method.getDeclaringClass()),
+        HANDLE,
+        caller.unreflect(method),
+        MethodType.methodType(void.class, method.getParameterTypes()[0]));
+    try {
+      return (Handler<Object>) site.getTarget().invoke(target);
+    } catch (Throwable e) {
+      throw new IllegalStateException("Couldn't create a handler for " + method, e);
+    }
+  }
+
+  private static Handler<Object> handle(Object target, Method method) {
+    final MethodHandle handle;
+    try {
+      method.setAccessible(true);
+      handle = LOOKUP.unreflect(method).bindTo(target).asType(HANDLE);
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new IllegalArgumentException("Can't access " + method, e);
+    }
+    return event -> {
+      try {
+        handle.invokeExact(event);
+      } catch (Exception | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new UndeclaredThrowableException(e);
+      }
+    };
+  }
+
+  // A class made from this one can only call public methods of public classes it can see itself.
+  private static boolean accessible(Method method) {
+    return Modifier.isPublic(method.getModifiers())
+        && visible(method.getDeclaringClass())
+        && visible(method.getParameterTypes()[0]);
+  }
+
+  private static boolean visible(Class<?> type) {
+    for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+      if (!Modifier.isPublic(current.getModifiers())) {
+        return false;
+      }
+    }
+    try {
+      return Class.forName(type.getName(), false, Invokers.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+}
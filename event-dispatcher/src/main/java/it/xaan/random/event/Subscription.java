@@ -0,0 +1,69 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+/**
+ * Represents a handler subscribed to an {@link EventDispatcher}, which can be used to unsubscribe
+ * it again.
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Subscription {
+
+  private final EventDispatcher<?> dispatcher;
+  private final Class<?> type;
+  private final Handler<Object> handler;
+
+  Subscription(final EventDispatcher<?> dispatcher, final Class<?> type,
+      final Handler<Object> handler) {
+    this.dispatcher = dispatcher;
+    this.type = type;
+    this.handler = handler;
+  }
+
+  /**
+   * Unsubscribes the handler, so it isn't called for events published after this returns. Calling
+   * this more than once does nothing.
+   *
+   * @return {@code true} if the handler was subscribed, otherwise {@code false}.
+   * @since 1.1.0
+   */
+  public boolean unsubscribe() {
+    return dispatcher.remove(this);
+  }
+
+  /**
+   * Gets the type of events the handler was subscribed to.
+   *
+   * @return The type, which also covers its subtypes.
+   * @since 1.1.0
+   */
+  public Class<?> getType() {
+    return type;
+  }
+
+  Handler<Object> handler() {
+    return handler;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Subscription[type=%s,handler=%s]", type.getName(), handler);
+  }
+}
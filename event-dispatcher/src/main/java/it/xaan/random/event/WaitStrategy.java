@@ -0,0 +1,43 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+/**
+ * Represents how a thread of an {@link AsyncEventDispatcher} waits, when there are no events to
+ * dispatch or no room to publish one. The faster ones to notice the wait is over use more CPU
+ * while waiting.
+ *
+ * @since 1.1.0
+ */
+public enum WaitStrategy {
+  /**
+   * Keeps checking without stopping. This has the lowest and most stable latency, but keeps a CPU
+   * busy the whole time, so it should only be used when there are more CPUs than busy threads.
+   */
+  BUSY_SPIN,
+  /**
+   * Keeps checking, letting other threads run in between. This has low latency, and uses less CPU
+   * when other threads need it.
+   */
+  YIELD,
+  /**
+   * Parks the thread until it's woken up. This uses no CPU while waiting, but takes a few
+   * microseconds to wake up.
+   */
+  PARK
+}
@@ -0,0 +1,206 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import it.xaan.random.test.Allocations;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncEventDispatcherTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final EventDispatcher<Integer> dispatcher = new EventDispatcher<>();
+  private final List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testProducers() throws InterruptedException {
+    dispatcher.subscribe(Integer.class, seen::add);
+    for (WaitStrategy strategy : WaitStrategy.values()) {
+      seen.clear();
+      final AsyncEventDispatcher<Integer> async = new AsyncEventDispatcher<>(dispatcher, 64, 16,
+          strategy, Backpressure.BLOCK, executor);
+      final int perThread = 10_000;
+      final Thread[] producers = new Thread[3];
+      for (int t = 0; t < producers.length; t++) {
+        final int producer = t;
+        producers[t] = new Thread(() -> {
+          for (int i = 0; i < perThread; i++) {
+            Assert.assertTrue(async.publish(producer * perThread + i));
+          }
+        });
+        producers[t].start();
+      }
+      for (Thread producer : producers) {
+        producer.join();
+      }
+      async.close();
+      Assert.assertEquals(producers.length * perThread, seen.size());
+      final int[] last = {-1, -1, -1};
+      for (int value : seen) {
+        Assert.assertEquals(last[value / perThread] + 1, value % perThread);
+        last[value / perThread] = value % perThread;
+      }
+      Assert.assertFalse(async.publish(1));
+      Assert.assertEquals(0, async.dropped());
+    }
+  }
+
+  @Test
+  public void testFailFast() throws InterruptedException {
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    dispatcher.subscribe(Integer.class, event -> {
+      entered.countDown();
+      release.await();
+      seen.add(event);
+    });
+    final AsyncEventDispatcher<Integer> async = new AsyncEventDispatcher<>(dispatcher, 3, 8,
+        WaitStrategy.PARK, Backpressure.FAIL_FAST, executor);
+    Assert.assertEquals(4, async.capacity());
+    Assert.assertTrue(async.publish(0));
+    Assert.assertTrue(entered.await(10, TimeUnit.SECONDS));
+    for (int i = 1; i <= 4; i++) {
+      Assert.assertTrue(async.publish(i));
+    }
+    Assert.assertFalse(async.publish(5));
+    Assert.assertEquals(4, async.pending());
+    release.countDown();
+    async.close();
+    Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), seen);
+  }
+
+  @Test
+  public void testDropOldest() throws InterruptedException {
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    dispatcher.subscribe(Integer.class, event -> {
+      entered.countDown();
+      release.await();
+      seen.add(event);
+    });
+    final AsyncEventDispatcher<Integer> async = new AsyncEventDispatcher<>(dispatcher, 4, 8,
+        WaitStrategy.YIELD, Backpressure.DROP_OLDEST, executor);
+    Assert.assertTrue(async.publish(0));
+    Assert.assertTrue(entered.await(10, TimeUnit.SECONDS));
+    for (int i = 1; i <= 10; i++) {
+      Assert.assertTrue(async.publish(i));
+    }
+    Assert.assertEquals(6, async.dropped());
+    release.countDown();
+    async.close();
+    Assert.assertEquals(Arrays.asList(0, 7, 8, 9, 10), seen);
+  }
+
+  @Test
+  public void testErrors() {
+    final AtomicInteger handled = new AtomicInteger();
+    final List<Throwable> uncaught = Collections.synchronizedList(new ArrayList<>());
+    final ExecutorService reporting = Executors.newSingleThreadExecutor(run -> {
+      Thread thread = new Thread(run);
+      thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+      return thread;
+    });
+    dispatcher.subscribe(Integer.class, event -> {
+      if (event == 1) {
+        throw new IllegalStateException("Failed.");
+      }
+      handled.incrementAndGet();
+    });
+    final AsyncEventDispatcher<Integer> async = new AsyncEventDispatcher<>(dispatcher, 8,
+        reporting);
+    async.publish(1);
+    async.publish(2);
+    async.close();
+    reporting.shutdown();
+    Assert.assertEquals(1, handled.get());
+    Assert.assertEquals(1, uncaught.size());
+  }
+
+  @Test
+  public void testAllocations() {
+    final AtomicInteger handled = new AtomicInteger();
+    final EventDispatcher<Object> objects = new EventDispatcher<>();
+    objects.subscribe(String.class, event -> handled.incrementAndGet());
+    final AsyncEventDispatcher<Object> async = new AsyncEventDispatcher<>(objects, 1024, executor);
+    Allocations.assertNone(() -> async.publish("Event."));
+    async.close();
+    Assert.assertTrue(handled.get() > 0);
+  }
+
+  @Test
+  public void testPublishedWhileClosing() throws InterruptedException {
+    final AtomicInteger handled = new AtomicInteger();
+    final EventDispatcher<Integer> counting = new EventDispatcher<>();
+    counting.subscribe(Integer.class, event -> handled.incrementAndGet());
+    for (int round = 0; round < 200; round++) {
+      handled.set(0);
+      final AsyncEventDispatcher<Integer> async = new AsyncEventDispatcher<>(counting, 1024, 16,
+          WaitStrategy.YIELD, Backpressure.BLOCK, executor);
+      final AtomicInteger accepted = new AtomicInteger();
+      final Thread[] producers = new Thread[3];
+      for (int t = 0; t < producers.length; t++) {
+        producers[t] = new Thread(() -> {
+          while (async.publish(1)) {
+            accepted.incrementAndGet();
+          }
+        });
+        producers[t].start();
+      }
+      Thread.yield();
+      async.close();
+      for (Thread producer : producers) {
+        producer.join();
+      }
+      // Everything publish said would be dispatched was, even if it raced with closing.
+      Assert.assertEquals(accepted.get(), handled.get());
+    }
+  }
+
+  @Test
+  public void testCloseInterrupted() {
+    dispatcher.subscribe(Integer.class, event -> {
+      // Long enough for close to be interrupted while it waits.
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+      seen.add(event);
+    });
+    final AsyncEventDispatcher<Integer> async = new AsyncEventDispatcher<>(dispatcher, 8,
+        executor);
+    async.publish(1);
+    Thread.currentThread().interrupt();
+    async.close();
+    // It still waited for the event, and the interrupt is kept.
+    Assert.assertTrue(Thread.interrupted());
+    Assert.assertEquals(Collections.singletonList(1), seen);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import it.xaan.random.test.Allocations;
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventDispatcherTest {
+
+  private final EventDispatcher<Object> dispatcher = new EventDispatcher<>();
+  private final List<String> seen = new ArrayList<>();
+
+  @Test
+  public void testHierarchy() {
+    dispatcher.subscribe(Named.class, event -> seen.add("named " + event.name()));
+    dispatcher.subscribe(Object.class, event -> seen.add("object"));
+    dispatcher.subscribe(Message.class, event -> seen.add("message"));
+    dispatcher.subscribe(Reply.class, event -> seen.add("reply"));
+    dispatcher.subscribe(Message.class, event -> seen.add("message again"));
+
+    Assert.assertEquals(5, dispatcher.publish(new Reply()));
+    Assert.assertEquals(
+        Arrays.asList("reply", "message", "message again", "object", "named reply"), seen);
+
+    seen.clear();
+    Assert.assertEquals(4, dispatcher.publish(new Message()));
+    Assert.assertEquals(1, dispatcher.publish("Not a message."));
+    Assert.assertEquals(
+        Arrays.asList("message", "message again", "object", "named message", "object"), seen);
+    Assert.assertEquals(5, dispatcher.handlers(Reply.class));
+  }
+
+  @Test
+  public void testUnsubscribe() {
+    final Subscription message = dispatcher.subscribe(Message.class, event -> seen.add("message"));
+    final Subscription named = dispatcher.subscribe(Named.class, event -> seen.add("named"));
+    dispatcher.publish(new Reply());
+    Assert.assertTrue(message.unsubscribe());
+    Assert.assertFalse(message.unsubscribe());
+    dispatcher.publish(new Reply());
+    Assert.assertEquals(Arrays.asList("message", "named", "named"), seen);
+    Assert.assertEquals(Named.class, named.getType());
+
+    dispatcher.subscribe(Reply.class, event -> seen.add("reply"));
+    Assert.assertEquals(2, dispatcher.handlers(Reply.class));
+    dispatcher.clear();
+    Assert.assertEquals(0, dispatcher.publish(new Reply()));
+    Assert.assertFalse(named.unsubscribe());
+  }
+
+  @Test
+  public void testErrors() {
+    dispatcher.subscribe(Message.class, event -> {
+      throw new IOException("Failed.");
+    });
+    dispatcher.subscribe(Message.class, event -> seen.add("after"));
+    try {
+      dispatcher.publish(new Message());
+      Assert.fail("Should have thrown.");
+    } catch (UndeclaredThrowableException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+    Assert.assertTrue(seen.isEmpty());
+
+    final List<Exception> errors = new ArrayList<>();
+    final EventDispatcher<Message> collecting = new EventDispatcher<>(
+        (event, e) -> errors.add(e));
+    collecting.subscribe(Message.class, event -> {
+      throw new IllegalStateException("Failed.");
+    });
+    collecting.subscribe(Message.class, event -> seen.add("after"));
+    Assert.assertEquals(2, collecting.publish(new Message()));
+    Assert.assertEquals(1, errors.size());
+    Assert.assertEquals(Arrays.asList("after"), seen);
+  }
+
+  @Test
+  public void testAllocations() {
+    final Reply reply = new Reply();
+    dispatcher.subscribe(Message.class, Message::touch);
+    dispatcher.subscribe(Named.class, Named::name);
+    Allocations.assertNone(() -> dispatcher.publish(reply));
+  }
+
+  private interface Named {
+
+    String name();
+  }
+
+  private static class Message implements Named {
+
+    private int touched;
+
+    void touch() {
+      touched++;
+    }
+
+    @Override
+    public String name() {
+      return "message";
+    }
+  }
+
+  private static final class Reply extends Message {
+
+    @Override
+    public String name() {
+      return "reply";
+    }
+  }
+}
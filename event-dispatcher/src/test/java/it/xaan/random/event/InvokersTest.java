@@ -0,0 +1,148 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InvokersTest {
+
+  @Test
+  public void testGenerated() throws Exception {
+    final PublicListener listener = new PublicListener();
+    final Method method = PublicListener.class.getMethod("onMessage", String.class);
+    final Handler<Object> handler = Invokers.create(listener, method, null);
+    Assert.assertFalse(usesMethodHandle(handler));
+    handler.handle("Hello");
+    Assert.assertEquals(Arrays.asList("message Hello"), listener.seen);
+    Assert.assertThrows(ClassCastException.class, () -> handler.handle(1));
+  }
+
+  @Test
+  public void testFallback() throws Exception {
+    final PrivateListener listener = new PrivateListener();
+    final Method method = PrivateListener.class.getDeclaredMethod("onMessage", String.class);
+    final Handler<Object> handler = Invokers.create(listener, method, null);
+    Assert.assertTrue(usesMethodHandle(handler));
+    handler.handle("Hello");
+    Assert.assertEquals(Arrays.asList("private Hello"), listener.seen);
+
+    final Handler<Object> generated = Invokers.create(listener, method, listener.lookup());
+    Assert.assertFalse(usesMethodHandle(generated));
+    generated.handle("Again");
+    Assert.assertEquals(Arrays.asList("private Hello", "private Again"), listener.seen);
+  }
+
+  @Test
+  public void testSubscribers() {
+    final List<Method> methods = Invokers.subscribers(ChildListener.class);
+    Assert.assertEquals(2, methods.size());
+    Assert.assertEquals("onMessage", methods.get(0).getName());
+    Assert.assertEquals(ChildListener.class, methods.get(0).getDeclaringClass());
+    Assert.assertEquals("onNumber", methods.get(1).getName());
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> Invokers.subscribers(InvalidListener.class));
+  }
+
+  @Test
+  public void testRegister() {
+    final EventDispatcher<Object> dispatcher = new EventDispatcher<>();
+    final ChildListener listener = new ChildListener();
+    final List<Subscription> subscriptions = dispatcher.register(listener);
+    Assert.assertEquals(2, subscriptions.size());
+    dispatcher.publish("Hello");
+    dispatcher.publish(5);
+    Assert.assertEquals(Arrays.asList("child Hello", "number 5"), listener.seen);
+
+    subscriptions.get(0).unsubscribe();
+    Assert.assertEquals(0, dispatcher.publish("Hello"));
+    try {
+      dispatcher.publish(-1);
+      Assert.fail("Should have thrown.");
+    } catch (UndeclaredThrowableException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  private static boolean usesMethodHandle(Handler<Object> handler) {
+    for (Field field : handler.getClass().getDeclaredFields()) {
+      if (field.getType() == MethodHandle.class) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static class PublicListener {
+
+    final List<String> seen = new ArrayList<>();
+
+    @Subscribe
+    public void onMessage(String message) {
+      seen.add("message " + message);
+    }
+
+    @Subscribe
+    public int onNumber(Integer number) throws IOException {
+      if (number < 0) {
+        throw new IOException("Negative.");
+      }
+      seen.add("number " + number);
+      return number;
+    }
+  }
+
+  public static class ChildListener extends PublicListener {
+
+    @Subscribe
+    @Override
+    public void onMessage(String message) {
+      seen.add("child " + message);
+    }
+  }
+
+  private static class PrivateListener {
+
+    final List<String> seen = new ArrayList<>();
+
+    @Subscribe
+    private void onMessage(String message) {
+      seen.add("private " + message);
+    }
+
+    MethodHandles.Lookup lookup() {
+      return MethodHandles.lookup();
+    }
+  }
+
+  public static class InvalidListener {
+
+    @Subscribe
+    public void onTwo(String first, String second) {
+    }
+  }
+}
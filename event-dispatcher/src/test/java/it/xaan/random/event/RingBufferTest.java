@@ -0,0 +1,80 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.event;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferTest {
+
+  @Test
+  public void testOrder() {
+    final RingBuffer buffer = new RingBuffer(4);
+    Assert.assertNull(buffer.poll());
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < 4; i++) {
+        Assert.assertTrue(buffer.offer(i));
+      }
+      Assert.assertFalse(buffer.offer(4));
+      Assert.assertEquals(4, buffer.size());
+      for (int i = 0; i < 4; i++) {
+        Assert.assertEquals(i, buffer.poll());
+      }
+      Assert.assertNull(buffer.poll());
+      Assert.assertTrue(buffer.isEmpty());
+    }
+    Assert.assertThrows(IllegalArgumentException.class, () -> new RingBuffer(6));
+  }
+
+  @Test
+  public void testConcurrent() throws InterruptedException {
+    final RingBuffer buffer = new RingBuffer(16);
+    final int perThread = 50_000;
+    final Thread[] producers = new Thread[3];
+    for (int t = 0; t < producers.length; t++) {
+      final int producer = t;
+      producers[t] = new Thread(() -> {
+        for (int i = 0; i < perThread; i++) {
+          while (!buffer.offer(producer * perThread + i)) {
+            Thread.yield();
+          }
+        }
+      });
+      producers[t].start();
+    }
+    final int[] last = {-1, -1, -1};
+    int taken = 0;
+    while (taken < producers.length * perThread) {
+      final Object event = buffer.poll();
+      if (event == null) {
+        Thread.yield();
+        continue;
+      }
+      final int value = (Integer) event;
+      final int producer = value / perThread;
+      // Each producer's events come out in the order it put them in.
+      Assert.assertEquals(last[producer] + 1, value % perThread);
+      last[producer] = value % perThread;
+      taken++;
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    Assert.assertNull(buffer.poll());
+  }
+}
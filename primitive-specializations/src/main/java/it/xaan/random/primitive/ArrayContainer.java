@@ -0,0 +1,274 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.primitive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link Container} for sparse values, kept as a sorted array. Turns into a {@link
+ * BitmapContainer} once it would hold more than {@link #ARRAY_MAX} values.
+ */
+final class ArrayContainer extends Container {
+
+  private char[] values;
+  private int size;
+
+  /**
+   * Creates a new, empty {@link ArrayContainer}.
+   */
+  ArrayContainer() {
+    this(new char[4], 0);
+  }
+
+  /**
+   * Creates a new {@link ArrayContainer}.
+   *
+   * @param values The sorted values, which is used directly.
+   * @param size   The amount of values used.
+   */
+  ArrayContainer(final char[] values, final int size) {
+    this.values = values;
+    this.size = size;
+  }
+
+  @Override
+  Container add(char value) {
+    int index = Arrays.binarySearch(values, 0, size, value);
+    if (index >= 0) {
+      return this;
+    }
+    if (size == ARRAY_MAX) {
+      return toBitmap().add(value);
+    }
+    index = -index - 1;
+    if (size == values.length) {
+      values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size << 1));
+    }
+    System.arraycopy(values, index, values, index + 1, size - index);
+    values[index] = value;
+    size++;
+    return this;
+  }
+
+  @Override
+  Container remove(char value) {
+    int index = Arrays.binarySearch(values, 0, size, value);
+    if (index >= 0) {
+      System.arraycopy(values, index + 1, values, index, size - index - 1);
+      size--;
+    }
+    return this;
+  }
+
+  @Override
+  boolean contains(char value) {
+    return Arrays.binarySearch(values, 0, size, value) >= 0;
+  }
+
+  @Override
+  int cardinality() {
+    return size;
+  }
+
+  @Override
+  BitmapContainer toBitmap() {
+    final long[] words = new long[BitmapContainer.WORDS];
+    final char[] values = this.values;
+    for (int i = 0; i < size; i++) {
+      words[values[i] >>> 6] |= 1L << values[i];
+    }
+    return new BitmapContainer(words, size);
+  }
+
+  @Override
+  int nextValue(int from) {
+    int index = Arrays.binarySearch(values, 0, size, (char) from);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return index < size ? values[index] : -1;
+  }
+
+  @Override
+  void forEach(int high, IntSet.ElementConsumer consumer) {
+    final char[] values = this.values;
+    for (int i = 0; i < size; i++) {
+      consumer.accept(high | values[i]);
+    }
+  }
+
+  @Override
+  int copyInto(int high, int[] into, int offset) {
+    final char[] values = this.values;
+    for (int i = 0; i < size; i++) {
+      into[offset + i] = high | values[i];
+    }
+    return offset + size;
+  }
+
+  @Override
+  Container copy() {
+    return new ArrayContainer(Arrays.copyOf(values, Math.max(size, 1)), size);
+  }
+
+  @Override
+  Container optimize() {
+    int runs = 0;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || values[i] != values[i - 1] + 1) {
+        runs++;
+      }
+    }
+    if (bytes(RUN, runs) < bytes(ARRAY, size)) {
+      char[] packed = new char[runs * 2];
+      int run = -1;
+      for (int i = 0; i < size; i++) {
+        if (i == 0 || values[i] != values[i - 1] + 1) {
+          packed[++run * 2] = values[i];
+        } else {
+          packed[run * 2 + 1]++;
+        }
+      }
+      return new RunContainer(packed, runs);
+    }
+    return this;
+  }
+
+  @Override
+  byte type() {
+    return ARRAY;
+  }
+
+  @Override
+  int length() {
+    return size;
+  }
+
+  @Override
+  void writeTo(ByteBuffer buffer) {
+    for (int i = 0; i < size; i++) {
+      buffer.putChar(values[i]);
+    }
+  }
+
+  /**
+   * Checks if the other container holds the same values.
+   *
+   * @param other The other container.
+   * @return {@code true} if they hold the same values.
+   */
+  boolean sameValues(ArrayContainer other) {
+    if (other.size != size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (values[i] != other.values[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the values that are, or aren't, in the other container.
+   *
+   * @param other The other container.
+   * @param keep  If values in the other container are kept, rather than removed.
+   * @return A new container.
+   */
+  Container filter(Container other, boolean keep) {
+    final char[] values = this.values;
+    final char[] kept = new char[Math.max(size, 1)];
+    int amount = 0;
+    for (int i = 0; i < size; i++) {
+      if (other.contains(values[i]) == keep) {
+        kept[amount++] = values[i];
+      }
+    }
+    return new ArrayContainer(kept, amount);
+  }
+
+  /**
+   * Merges two containers whose combined size fits in an {@link ArrayContainer}.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return A new container.
+   */
+  static Container or(ArrayContainer first, ArrayContainer second) {
+    final char[] merged = new char[Math.max(first.size + second.size, 1)];
+    int i = 0;
+    int j = 0;
+    int amount = 0;
+    while (i < first.size && j < second.size) {
+      char left = first.values[i];
+      char right = second.values[j];
+      if (left <= right) {
+        merged[amount++] = left;
+        i++;
+        if (left == right) {
+          j++;
+        }
+      } else {
+        merged[amount++] = right;
+        j++;
+      }
+    }
+    System.arraycopy(first.values, i, merged, amount, first.size - i);
+    amount += first.size - i;
+    System.arraycopy(second.values, j, merged, amount, second.size - j);
+    amount += second.size - j;
+    return new ArrayContainer(merged, amount);
+  }
+
+  /**
+   * Gets the values in exactly one of two containers whose combined size fits in an {@link
+   * ArrayContainer}.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return A new container.
+   */
+  static Container xor(ArrayContainer first, ArrayContainer second) {
+    final char[] merged = new char[Math.max(first.size + second.size, 1)];
+    int i = 0;
+    int j = 0;
+    int amount = 0;
+    while (i < first.size && j < second.size) {
+      char left = first.values[i];
+      char right = second.values[j];
+      if (left == right) {
+        i++;
+        j++;
+      } else if (left < right) {
+        merged[amount++] = left;
+        i++;
+      } else {
+        merged[amount++] = right;
+        j++;
+      }
+    }
+    System.arraycopy(first.values, i, merged, amount, first.size - i);
+    amount += first.size - i;
+    System.arraycopy(second.values, j, merged, amount, second.size - j);
+    amount += second.size - j;
+    return new ArrayContainer(merged, amount);
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.primitive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Container} for dense values, kept as one bit per possible value. Turns into an {@link
+ * ArrayContainer} once it holds {@link #ARRAY_MAX} values or less.
+ * <p>
+ * The set operations are plain loops over both word arrays, which C2 can vectorize.
+ */
+final class BitmapContainer extends Container {
+
+  /**
+   * The amount of words needed for every 16 bit value.
+   */
+  static final int WORDS = (1 << 16) / Long.SIZE;
+
+  final long[] words;
+  private int cardinality;
+
+  /**
+   * Creates a new {@link BitmapContainer}.
+   *
+   * @param words       The bits, which is used directly.
+   * @param cardinality The amount of bits set.
+   */
+  BitmapContainer(final long[] words, final int cardinality) {
+    this.words = words;
+    this.cardinality = cardinality;
+  }
+
+  /**
+   * Gets the container that best holds the bits.
+   *
+   * @param words The bits, which is used directly.
+   * @return A bitmap, or an array if there are few enough bits set.
+   */
+  static Container of(long[] words) {
+    int cardinality = 0;
+    for (long word : words) {
+      cardinality += Long.bitCount(word);
+    }
+    BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+    return cardinality > ARRAY_MAX ? bitmap : bitmap.toArray();
+  }
+
+  @Override
+  Container add(char value) {
+    final long bit = 1L << value;
+    final int index = value >>> 6;
+    if ((words[index] & bit) == 0) {
+      words[index] |= bit;
+      cardinality++;
+    }
+    return this;
+  }
+
+  @Override
+  Container remove(char value) {
+    final long bit = 1L << value;
+    final int index = value >>> 6;
+    if ((words[index] & bit) != 0) {
+      words[index] &= ~bit;
+      if (--cardinality <= ARRAY_MAX) {
+        return toArray();
+      }
+    }
+    return this;
+  }
+
+  @Override
+  boolean contains(char value) {
+    return (words[value >>> 6] & (1L << value)) != 0;
+  }
+
+  @Override
+  int cardinality() {
+    return cardinality;
+  }
+
+  @Override
+  BitmapContainer toBitmap() {
+    return this;
+  }
+
+  @Override
+  int nextValue(int from) {
+    int index = from >>> 6;
+    long word = words[index] & (-1L << from);
+    while (word == 0) {
+      if (++index == WORDS) {
+        return -1;
+      }
+      word = words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  @Override
+  void forEach(int high, IntSet.ElementConsumer consumer) {
+    final long[] words = this.words;
+    for (int i = 0; i < WORDS; i++) {
+      long word = words[i];
+      while (word != 0) {
+        consumer.accept(high | ((i << 6) + Long.numberOfTrailingZeros(word)));
+        word &= word - 1;
+      }
+    }
+  }
+
+  @Override
+  int copyInto(int high, int[] into, int offset) {
+    final long[] words = this.words;
+    for (int i = 0; i < WORDS; i++) {
+      long word = words[i];
+      while (word != 0) {
+        into[offset++] = high | ((i << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+    return offset;
+  }
+
+  @Override
+  Container copy() {
+    return new BitmapContainer(words.clone(), cardinality);
+  }
+
+  @Override
+  Container optimize() {
+    // A run starts at every set bit whose lower neighbour isn't set.
+    int runs = 0;
+    long previous = 0;
+    for (long word : words) {
+      runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+      previous = word;
+    }
+    if (bytes(RUN, runs) >= bytes(BITMAP, cardinality)) {
+      return this;
+    }
+    final char[] packed = new char[runs * 2];
+    int run = 0;
+    int index = 0;
+    long word = words[0];
+    while (true) {
+      while (word == 0) {
+        if (++index == WORDS) {
+          return new RunContainer(packed, runs);
+        }
+        word = words[index];
+      }
+      final int start = (index << 6) + Long.numberOfTrailingZeros(word);
+      // Set the bits below the start, so only the end of the run is left to find.
+      word |= word - 1;
+      while (word == -1L && index < WORDS - 1) {
+        word = words[++index];
+      }
+      final int end = word == -1L ? 1 << 16 : (index << 6) + Long.numberOfTrailingZeros(~word);
+      packed[run * 2] = (char) start;
+      packed[run * 2 + 1] = (char) (end - start - 1);
+      run++;
+      // Clear the bits of the run.
+      word &= word + 1;
+    }
+  }
+
+  @Override
+  byte type() {
+    return BITMAP;
+  }
+
+  @Override
+  int length() {
+    return cardinality;
+  }
+
+  @Override
+  void writeTo(ByteBuffer buffer) {
+    for (long word : words) {
+      buffer.putLong(word);
+    }
+  }
+
+  private ArrayContainer toArray() {
+    char[] values = new char[Math.max(cardinality, 1)];
+    int amount = 0;
+    for (int i = 0; i < WORDS; i++) {
+      long word = words[i];
+      while (word != 0) {
+        values[amount++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+    return new ArrayContainer(values, amount);
+  }
+
+  /**
+   * See {@link Container#and(Container, Container)}.
+   *
+   * @param first  The first bitmap.
+   * @param second The second bitmap.
+   * @return A new container, which may be empty.
+   */
+  static Container and(BitmapContainer first, BitmapContainer second) {
+    final long[] left = first.words;
+    final long[] right = second.words;
+    final long[] result = new long[WORDS];
+    for (int i = 0; i < WORDS; i++) {
+      result[i] = left[i] & right[i];
+    }
+    return of(result);
+  }
+
+  /**
+   * See {@link Container#or(Container, Container)}.
+   *
+   * @param first  The first bitmap.
+   * @param second The second bitmap.
+   * @return A new container.
+   */
+  static Container or(BitmapContainer first, BitmapContainer second) {
+    final long[] left = first.words;
+    final long[] right = second.words;
+    final long[] result = new long[WORDS];
+    for (int i = 0; i < WORDS; i++) {
+      result[i] = left[i] | right[i];
+    }
+    return of(result);
+  }
+
+  /**
+   * See {@link Container#xor(Container, Container)}.
+   *
+   * @param first  The first bitmap.
+   * @param second The second bitmap.
+   * @return A new container, which may be empty.
+   */
+  static Container xor(BitmapContainer first, BitmapContainer second) {
+    final long[] left = first.words;
+    final long[] right = second.words;
+    final long[] result = new long[WORDS];
+    for (int i = 0; i < WORDS; i++) {
+      result[i] = left[i] ^ right[i];
+    }
+    return of(result);
+  }
+
+  /**
+   * See {@link Container#andNot(Container, Container)}.
+   *
+   * @param first  The first bitmap.
+   * @param second The second bitmap.
+   * @return A new container, which may be empty.
+   */
+  static Container andNot(BitmapContainer first, BitmapContainer second) {
+    final long[] left = first.words;
+    final long[] right = second.words;
+    final long[] result = new long[WORDS];
+    for (int i = 0; i < WORDS; i++) {
+      result[i] = left[i] & ~right[i];
+    }
+    return of(result);
+  }
+}
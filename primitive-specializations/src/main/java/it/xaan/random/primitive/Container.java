@@ -0,0 +1,297 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.primitive;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Holds the values of an {@link IntSet} that share their upper 16 bits, as the lower 16 bits. The
+ * representation is picked by how many values there are and how clustered they are, see {@link
+ * ArrayContainer}, {@link BitmapContainer} and {@link RunContainer}.
+ * <p>
+ * Mutating methods return the container to keep using, which is either this container or a new
+ * one in a better representation. The set operations never change their arguments.
+ */
+abstract class Container {
+
+  /**
+   * The most values an {@link ArrayContainer} holds before a {@link BitmapContainer} is smaller.
+   */
+  static final int ARRAY_MAX = 4096;
+  /**
+   * The type of an {@link ArrayContainer} when serialized.
+   */
+  static final byte ARRAY = 0;
+  /**
+   * The type of a {@link BitmapContainer} when serialized.
+   */
+  static final byte BITMAP = 1;
+  /**
+   * The type of a {@link RunContainer} when serialized.
+   */
+  static final byte RUN = 2;
+
+  /**
+   * Adds the value.
+   *
+   * @param value The lower 16 bits of the value.
+   * @return The container to use from now on.
+   */
+  abstract Container add(char value);
+
+  /**
+   * Removes the value.
+   *
+   * @param value The lower 16 bits of the value.
+   * @return The container to use from now on.
+   */
+  abstract Container remove(char value);
+
+  /**
+   * Checks if the container holds the value.
+   *
+   * @param value The lower 16 bits of the value.
+   * @return {@code true} if the value is in the container.
+   */
+  abstract boolean contains(char value);
+
+  /**
+   * Gets the amount of values in the container.
+   *
+   * @return The amount of values.
+   */
+  abstract int cardinality();
+
+  /**
+   * Gets the values as a bitmap. A {@link BitmapContainer} returns itself, so the result mustn't
+   * be changed.
+   *
+   * @return The bitmap.
+   */
+  abstract BitmapContainer toBitmap();
+
+  /**
+   * Finds the smallest value in the container that isn't smaller than {@code from}.
+   *
+   * @param from The value to start at, between 0 and 65535.
+   * @return The value, or {@code -1} if there is none.
+   */
+  abstract int nextValue(int from);
+
+  /**
+   * Runs the consumer for every value, in ascending order.
+   *
+   * @param high     The upper 16 bits, already shifted.
+   * @param consumer The consumer to run.
+   */
+  abstract void forEach(int high, IntSet.ElementConsumer consumer);
+
+  /**
+   * Copies every value into the array, in ascending order.
+   *
+   * @param high   The upper 16 bits, already shifted.
+   * @param into   The array to copy into.
+   * @param offset The index to start at.
+   * @return The index after the last value copied.
+   */
+  abstract int copyInto(int high, int[] into, int offset);
+
+  /**
+   * Gets an independent copy of the container.
+   *
+   * @return The copy.
+   */
+  abstract Container copy();
+
+  /**
+   * Gets the container that holds the same values in the fewest bytes.
+   *
+   * @return This container or a smaller one.
+   */
+  abstract Container optimize();
+
+  /**
+   * Gets the type written in the header when serialized.
+   *
+   * @return One of {@link #ARRAY}, {@link #BITMAP} or {@link #RUN}.
+   */
+  abstract byte type();
+
+  /**
+   * Gets the length written in the header when serialized, which is the amount of values or, for
+   * a {@link RunContainer}, the amount of runs.
+   *
+   * @return The length.
+   */
+  abstract int length();
+
+  /**
+   * Writes the values, without the header.
+   *
+   * @param buffer The big endian buffer to write to.
+   */
+  abstract void writeTo(ByteBuffer buffer);
+
+  /**
+   * Gets the amount of bytes {@link #writeTo(ByteBuffer)} writes.
+   *
+   * @param type   The type of the container.
+   * @param length The length of the container.
+   * @return The amount of bytes.
+   */
+  static int bytes(byte type, int length) {
+    switch (type) {
+      case ARRAY:
+        return length * Character.BYTES;
+      case BITMAP:
+        return BitmapContainer.WORDS * Long.BYTES;
+      default:
+        return length * 2 * Character.BYTES;
+    }
+  }
+
+  /**
+   * Checks if the length in a header is possible for the type.
+   *
+   * @param type   The type of the container.
+   * @param length The length of the container.
+   * @return {@code true} if the length is valid.
+   */
+  static boolean valid(byte type, int length) {
+    switch (type) {
+      case ARRAY:
+        return length > 0 && length <= ARRAY_MAX;
+      case BITMAP:
+        return length > ARRAY_MAX && length <= 1 << 16;
+      case RUN:
+        return length > 0 && length <= 1 << 15;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Reads a container written by {@link #writeTo(ByteBuffer)}.
+   *
+   * @param source The buffer to read from.
+   * @param offset The index of the first byte of the container.
+   * @param type   The type of the container.
+   * @param length The length of the container.
+   * @return The container, copied onto the heap.
+   */
+  static Container read(ByteBuffer source, int offset, byte type, int length) {
+    ByteBuffer body = source.duplicate();
+    body.position(offset);
+    body.order(ByteOrder.BIG_ENDIAN);
+    switch (type) {
+      case ARRAY:
+        char[] values = new char[length];
+        body.asCharBuffer().get(values);
+        return new ArrayContainer(values, length);
+      case BITMAP:
+        long[] words = new long[BitmapContainer.WORDS];
+        body.asLongBuffer().get(words);
+        return new BitmapContainer(words, length);
+      default:
+        char[] runs = new char[length * 2];
+        body.asCharBuffer().get(runs);
+        return new RunContainer(runs, length);
+    }
+  }
+
+  /**
+   * Checks if two containers hold the same values, whatever their representation.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return {@code true} if they hold the same values.
+   */
+  static boolean same(Container first, Container second) {
+    if (first.cardinality() != second.cardinality()) {
+      return false;
+    }
+    if (first instanceof ArrayContainer && second instanceof ArrayContainer) {
+      return ((ArrayContainer) first).sameValues((ArrayContainer) second);
+    }
+    return Arrays.equals(first.toBitmap().words, second.toBitmap().words);
+  }
+
+  /**
+   * Gets the values in both containers.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return A new container, which may be empty.
+   */
+  static Container and(Container first, Container second) {
+    if (first instanceof ArrayContainer) {
+      return ((ArrayContainer) first).filter(second, true);
+    }
+    if (second instanceof ArrayContainer) {
+      return ((ArrayContainer) second).filter(first, true);
+    }
+    return BitmapContainer.and(first.toBitmap(), second.toBitmap());
+  }
+
+  /**
+   * Gets the values in either container.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return A new container.
+   */
+  static Container or(Container first, Container second) {
+    if (first instanceof ArrayContainer && second instanceof ArrayContainer
+        && first.cardinality() + second.cardinality() <= ARRAY_MAX) {
+      return ArrayContainer.or((ArrayContainer) first, (ArrayContainer) second);
+    }
+    return BitmapContainer.or(first.toBitmap(), second.toBitmap());
+  }
+
+  /**
+   * Gets the values in exactly one of the containers.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return A new container, which may be empty.
+   */
+  static Container xor(Container first, Container second) {
+    if (first instanceof ArrayContainer && second instanceof ArrayContainer
+        && first.cardinality() + second.cardinality() <= ARRAY_MAX) {
+      return ArrayContainer.xor((ArrayContainer) first, (ArrayContainer) second);
+    }
+    return BitmapContainer.xor(first.toBitmap(), second.toBitmap());
+  }
+
+  /**
+   * Gets the values in the first container that aren't in the second.
+   *
+   * @param first  The first container.
+   * @param second The second container.
+   * @return A new container, which may be empty.
+   */
+  static Container andNot(Container first, Container second) {
+    if (first instanceof ArrayContainer) {
+      return ((ArrayContainer) first).filter(second, false);
+    }
+    return BitmapContainer.andNot(first.toBitmap(), second.toBitmap());
+  }
+}
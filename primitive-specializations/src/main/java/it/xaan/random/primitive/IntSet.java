@@ -0,0 +1,619 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.primitive;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a set of {@code int} values as a compressed bitmap, in the style of Roaring bitmaps.
+ * Values are grouped by their upper 16 bits, and each group keeps its lower 16 bits in whichever
+ * of a sorted array, a 65536 bit bitmap or a list of runs is smallest. Dense and clustered sets
+ * take a fraction of a byte per value, and {@link #and(IntSet)}, {@link #or(IntSet)}, {@link
+ * #xor(IntSet)} and {@link #andNot(IntSet)} work on whole groups at a time instead of value by
+ * value.
+ * <p>
+ * Values are ordered as unsigned, so iterating gives {@code 0} to {@link Integer#MAX_VALUE} and
+ * then the negative values. Runs are only made by {@link #optimize()}, call it once a set is done
+ * changing and before {@link #writeTo(ByteBuffer)}.
+ * <p>
+ * Sets can be written to a portable, big endian binary format with {@link #writeTo(ByteBuffer)}
+ * and read back with {@link #readFrom(ByteBuffer)}, or opened read only with {@link
+ * #map(ByteBuffer)} and {@link #map(Path)}. A mapped set only reads its header when opened, and
+ * copies a group onto the heap the first time it's used, so a memory mapped file can be far
+ * bigger than the heap as long as only part of it is used.
+ * <p>
+ * This set isn't safe to use across threads, including read only sets.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class IntSet {
+
+  // "RBS1", so random bytes are caught before they're read.
+  private static final int COOKIE = 0x52425331;
+  private static final int HEADER_BYTES = Integer.BYTES * 2;
+  // A key, a type and a length per group.
+  private static final int ENTRY_BYTES = Character.BYTES + Byte.BYTES + Integer.BYTES;
+
+  // The upper 16 bits of each group, sorted.
+  private char[] keys;
+  // Null in a read only set until the group is used.
+  private Container[] containers;
+  private int count;
+  // Only set for read only sets.
+  @Nullable
+  private ByteBuffer source;
+  @Nullable
+  private int[] offsets;
+  @Nullable
+  private byte[] types;
+  @Nullable
+  private int[] lengths;
+
+  /**
+   * Creates a new, empty {@link IntSet}.
+   */
+  public IntSet() {
+    this(4);
+  }
+
+  private IntSet(final int capacity) {
+    this.keys = new char[Math.max(capacity, 1)];
+    this.containers = new Container[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Creates a new {@link IntSet} holding the values.
+   *
+   * @param values The values to hold.
+   * @return The new set.
+   */
+  public static IntSet of(int... values) {
+    IntSet set = new IntSet();
+    for (int value : values) {
+      set.add(value);
+    }
+    return set;
+  }
+
+  /**
+   * Adds the value to the set.
+   *
+   * @param value The value to add.
+   * @return {@code true} if the value wasn't in the set already, otherwise {@code false}.
+   * @throws UnsupportedOperationException If the set is read only.
+   */
+  public boolean add(int value) {
+    checkWritable();
+    final char key = (char) (value >>> 16);
+    int index = Arrays.binarySearch(keys, 0, count, key);
+    if (index < 0) {
+      index = -index - 1;
+      insert(index, key, new ArrayContainer());
+    }
+    final Container container = containers[index];
+    final int before = container.cardinality();
+    final Container changed = container.add((char) value);
+    containers[index] = changed;
+    return changed.cardinality() != before;
+  }
+
+  /**
+   * Removes the value from the set.
+   *
+   * @param value The value to remove.
+   * @return {@code true} if the value was in the set, otherwise {@code false}.
+   * @throws UnsupportedOperationException If the set is read only.
+   */
+  public boolean remove(int value) {
+    checkWritable();
+    final int index = Arrays.binarySearch(keys, 0, count, (char) (value >>> 16));
+    if (index < 0) {
+      return false;
+    }
+    final Container container = containers[index];
+    final int before = container.cardinality();
+    final Container changed = container.remove((char) value);
+    if (changed.cardinality() == 0) {
+      delete(index);
+    } else {
+      containers[index] = changed;
+    }
+    return changed.cardinality() != before;
+  }
+
+  /**
+   * Checks to see if the value is in the set.
+   *
+   * @param value The value to check.
+   * @return {@code true} if the value is in the set, otherwise {@code false}.
+   */
+  public boolean contains(int value) {
+    final int index = Arrays.binarySearch(keys, 0, count, (char) (value >>> 16));
+    return index >= 0 && container(index).contains((char) value);
+  }
+
+  /**
+   * Gets the amount of values in the set. This is a {@code long}, since a set can hold every
+   * {@code int}.
+   *
+   * @return The amount of values.
+   */
+  public long cardinality() {
+    long cardinality = 0;
+    for (int i = 0; i < count; i++) {
+      cardinality += lengths == null ? containers[i].cardinality() : cardinality(i);
+    }
+    return cardinality;
+  }
+
+  /**
+   * Checks if the set has no values.
+   *
+   * @return {@code true} if the set is empty, otherwise {@code false}.
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Checks if the set can't be changed, which is the case for sets made by {@link #map(ByteBuffer)}
+   * and {@link #map(Path)}.
+   *
+   * @return {@code true} if the set is read only.
+   */
+  public boolean isReadOnly() {
+    return source != null;
+  }
+
+  /**
+   * Removes every value from the set.
+   *
+   * @throws UnsupportedOperationException If the set is read only.
+   */
+  public void clear() {
+    checkWritable();
+    Arrays.fill(containers, 0, count, null);
+    count = 0;
+  }
+
+  /**
+   * Changes every group to whichever representation is smallest, which is the only way runs are
+   * made. Worth calling once a set is done changing, especially before writing it.
+   *
+   * @throws UnsupportedOperationException If the set is read only.
+   */
+  public void optimize() {
+    checkWritable();
+    for (int i = 0; i < count; i++) {
+      containers[i] = containers[i].optimize();
+    }
+  }
+
+  /**
+   * Gets the values in both this set and the other set.
+   *
+   * @param other The other set.
+   * @return A new set.
+   */
+  public IntSet and(IntSet other) {
+    final IntSet result = new IntSet(Math.min(count, other.count));
+    int i = 0;
+    int j = 0;
+    while (i < count && j < other.count) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        result.append(keys[i], Container.and(container(i), other.container(j)));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the values in either this set or the other set.
+   *
+   * @param other The other set.
+   * @return A new set.
+   */
+  public IntSet or(IntSet other) {
+    final IntSet result = new IntSet(count + other.count);
+    int i = 0;
+    int j = 0;
+    while (i < count || j < other.count) {
+      if (j == other.count || (i < count && keys[i] < other.keys[j])) {
+        result.append(keys[i], container(i).copy());
+        i++;
+      } else if (i == count || keys[i] > other.keys[j]) {
+        result.append(other.keys[j], other.container(j).copy());
+        j++;
+      } else {
+        result.append(keys[i], Container.or(container(i), other.container(j)));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the values in exactly one of this set and the other set.
+   *
+   * @param other The other set.
+   * @return A new set.
+   */
+  public IntSet xor(IntSet other) {
+    final IntSet result = new IntSet(count + other.count);
+    int i = 0;
+    int j = 0;
+    while (i < count || j < other.count) {
+      if (j == other.count || (i < count && keys[i] < other.keys[j])) {
+        result.append(keys[i], container(i).copy());
+        i++;
+      } else if (i == count || keys[i] > other.keys[j]) {
+        result.append(other.keys[j], other.container(j).copy());
+        j++;
+      } else {
+        result.append(keys[i], Container.xor(container(i), other.container(j)));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the values in this set that aren't in the other set.
+   *
+   * @param other The other set.
+   * @return A new set.
+   */
+  public IntSet andNot(IntSet other) {
+    final IntSet result = new IntSet(count);
+    int i = 0;
+    int j = 0;
+    while (i < count) {
+      if (j == other.count || keys[i] < other.keys[j]) {
+        result.append(keys[i], container(i).copy());
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        result.append(keys[i], Container.andNot(container(i), other.container(j)));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Runs the consumer for every value in the set, in unsigned order. This is faster than {@link
+   * #iterator()}.
+   *
+   * @param consumer The consumer to run.
+   */
+  public void forEach(ElementConsumer consumer) {
+    for (int i = 0; i < count; i++) {
+      container(i).forEach(keys[i] << 16, consumer);
+    }
+  }
+
+  /**
+   * Gets an iterator over the values in the set, in unsigned order. The set mustn't be changed
+   * while iterating.
+   *
+   * @return The iterator.
+   */
+  public PrimitiveIterator.OfInt iterator() {
+    return new ValueIterator(this);
+  }
+
+  /**
+   * Gets every value in the set, in unsigned order.
+   *
+   * @return A new array of the values.
+   * @throws IllegalStateException If the set holds more values than an array can.
+   */
+  public int[] toArray() {
+    final long cardinality = cardinality();
+    if (cardinality > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Too many values for an array: " + cardinality);
+    }
+    final int[] values = new int[(int) cardinality];
+    int offset = 0;
+    for (int i = 0; i < count; i++) {
+      offset = container(i).copyInto(keys[i] << 16, values, offset);
+    }
+    return values;
+  }
+
+  /**
+   * Gets the amount of bytes {@link #writeTo(ByteBuffer)} writes.
+   *
+   * @return The amount of bytes.
+   */
+  public int serializedSize() {
+    int size = HEADER_BYTES + ENTRY_BYTES * count;
+    for (int i = 0; i < count; i++) {
+      size += types == null
+          ? Container.bytes(containers[i].type(), containers[i].length())
+          : Container.bytes(types[i], lengths[i]);
+    }
+    return size;
+  }
+
+  /**
+   * Writes the set to the buffer, starting at its position. The format is the same whatever the
+   * byte order of the buffer or the platform. The position is moved past the set.
+   *
+   * @param buffer The buffer to write to.
+   * @throws BufferOverflowException If the buffer doesn't have {@link #serializedSize()} bytes
+   *                                 left, in which case nothing is written.
+   */
+  public void writeTo(ByteBuffer buffer) {
+    if (buffer.remaining() < serializedSize()) {
+      throw new BufferOverflowException();
+    }
+    final ByteBuffer out = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    out.putInt(COOKIE).putInt(count);
+    for (int i = 0; i < count; i++) {
+      final Container container = container(i);
+      out.putChar(keys[i]).put(container.type()).putInt(container.length());
+    }
+    for (int i = 0; i < count; i++) {
+      container(i).writeTo(out);
+    }
+    buffer.position(out.position());
+  }
+
+  /**
+   * Reads a set written by {@link #writeTo(ByteBuffer)}, starting at the position of the buffer.
+   * Everything is copied, so the buffer can be reused afterwards. The position is moved past the
+   * set.
+   *
+   * @param buffer The buffer to read from.
+   * @return A new set that can be changed.
+   * @throws IllegalArgumentException If the buffer doesn't hold a valid set.
+   */
+  public static IntSet readFrom(ByteBuffer buffer) {
+    final IntSet set = map(buffer);
+    for (int i = 0; i < set.count; i++) {
+      set.container(i);
+    }
+    set.source = null;
+    set.offsets = null;
+    set.types = null;
+    set.lengths = null;
+    return set;
+  }
+
+  /**
+   * Opens a set written by {@link #writeTo(ByteBuffer)} without copying it, starting at the
+   * position of the buffer. Only the header is read, each group is read the first time it's used.
+   * The buffer mustn't change while the set is in use. The position is moved past the set.
+   *
+   * @param buffer The buffer to read from, usually a {@link java.nio.MappedByteBuffer}.
+   * @return A new read only set.
+   * @throws IllegalArgumentException If the buffer doesn't hold a valid set.
+   */
+  public static IntSet map(ByteBuffer buffer) {
+    final ByteBuffer source = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+    if (source.remaining() < HEADER_BYTES || source.getInt(0) != COOKIE) {
+      throw new IllegalArgumentException("Buffer doesn't hold an IntSet.");
+    }
+    final int count = source.getInt(Integer.BYTES);
+    if (count < 0 || count > 1 << 16 || source.remaining() < HEADER_BYTES + (long) ENTRY_BYTES * count) {
+      throw new IllegalArgumentException("IntSet header is corrupt or cut off.");
+    }
+    final IntSet set = new IntSet(count);
+    set.source = source;
+    set.offsets = new int[count];
+    set.types = new byte[count];
+    set.lengths = new int[count];
+    long offset = HEADER_BYTES + ENTRY_BYTES * count;
+    for (int i = 0; i < count; i++) {
+      final int entry = HEADER_BYTES + ENTRY_BYTES * i;
+      final char key = source.getChar(entry);
+      final byte type = source.get(entry + Character.BYTES);
+      final int length = source.getInt(entry + Character.BYTES + Byte.BYTES);
+      if ((i > 0 && key <= set.keys[i - 1]) || !Container.valid(type, length)) {
+        throw new IllegalArgumentException("IntSet header is corrupt at group " + i + ".");
+      }
+      set.keys[i] = key;
+      set.types[i] = type;
+      set.lengths[i] = length;
+      set.offsets[i] = (int) offset;
+      offset += Container.bytes(type, length);
+      if (offset > source.limit()) {
+        throw new IllegalArgumentException("IntSet is cut off at group " + i + ".");
+      }
+    }
+    set.count = count;
+    buffer.position(buffer.position() + (int) offset);
+    return set;
+  }
+
+  /**
+   * Memory maps a file holding a set written by {@link #writeTo(ByteBuffer)}, see {@link
+   * #map(ByteBuffer)}. The mapping stays valid after this returns, until the set is garbage
+   * collected.
+   *
+   * @param path The file to map.
+   * @return A new read only set.
+   * @throws IOException              If the file can't be mapped.
+   * @throws IllegalArgumentException If the file doesn't hold a valid set.
+   */
+  public static IntSet map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return map(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  private Container container(int index) {
+    Container container = containers[index];
+    if (container == null) {
+      container = Container.read(source, offsets[index], types[index], lengths[index]);
+      containers[index] = container;
+    }
+    return container;
+  }
+
+  // The cardinality of a group of a read only set, without reading the group.
+  private int cardinality(int index) {
+    return types[index] == Container.RUN ? container(index).cardinality() : lengths[index];
+  }
+
+  private void checkWritable() {
+    if (source != null) {
+      throw new UnsupportedOperationException("This IntSet is read only.");
+    }
+  }
+
+  private void append(char key, Container container) {
+    if (container.cardinality() != 0) {
+      insert(count, key, container);
+    }
+  }
+
+  private void insert(int index, char key, Container container) {
+    if (count == keys.length) {
+      keys = Arrays.copyOf(keys, Tables.grow(keys.length, count + 1));
+      containers = Arrays.copyOf(containers, keys.length);
+    }
+    System.arraycopy(keys, index, keys, index + 1, count - index);
+    System.arraycopy(containers, index, containers, index + 1, count - index);
+    keys[index] = key;
+    containers[index] = container;
+    count++;
+  }
+
+  private void delete(int index) {
+    System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+    System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+    containers[--count] = null;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof IntSet)) {
+      return false;
+    }
+    IntSet other = (IntSet) obj;
+    if (other.count != count) {
+      return false;
+    }
+    for (int i = 0; i < count; i++) {
+      if (keys[i] != other.keys[i] || !Container.same(container(i), other.container(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as Set#hashCode, since Integer#hashCode is the value.
+    final int[] hash = {0};
+    forEach(value -> hash[0] += value);
+    return hash[0];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("IntSet[");
+    forEach(value -> builder.append(value).append(", "));
+    if (!isEmpty()) {
+      builder.setLength(builder.length() - 2);
+    }
+    return builder.append(']').toString();
+  }
+
+  /**
+   * Represents an operation on a value of an {@link IntSet}, without boxing.
+   */
+  @FunctionalInterface
+  public interface ElementConsumer {
+
+    /**
+     * Runs the operation.
+     *
+     * @param element The value.
+     */
+    void accept(int element);
+  }
+
+  private static final class ValueIterator implements PrimitiveIterator.OfInt {
+
+    private final IntSet set;
+    private int index;
+    // The lower 16 bits of the next value, or -1 when there are no more.
+    private int next;
+
+    private ValueIterator(final IntSet set) {
+      this.set = set;
+      find(0, 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next >= 0;
+    }
+
+    @Override
+    public int nextInt() {
+      if (next < 0) {
+        throw new NoSuchElementException();
+      }
+      final int value = (set.keys[index] << 16) | next;
+      find(index, next + 1);
+      return value;
+    }
+
+    private void find(int index, int from) {
+      for (; index < set.count; index++, from = 0) {
+        if (from <= Character.MAX_VALUE) {
+          final int found = set.container(index).nextValue(from);
+          if (found >= 0) {
+            this.index = index;
+            this.next = found;
+            return;
+          }
+        }
+      }
+      this.index = set.count;
+      this.next = -1;
+    }
+  }
+}
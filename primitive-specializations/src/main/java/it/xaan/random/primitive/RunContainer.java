@@ -0,0 +1,196 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.primitive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Container} for clustered values, kept as runs of consecutive values. Each run is a start
+ * and a length minus one, so a single run can cover all 65536 values. This is only made by {@link
+ * IntSet#optimize()} and reading, and turns into an {@link ArrayContainer} or a {@link
+ * BitmapContainer} when changed.
+ */
+final class RunContainer extends Container {
+
+  private final char[] runs;
+  private final int count;
+  private final int cardinality;
+
+  /**
+   * Creates a new {@link RunContainer}.
+   *
+   * @param runs  The sorted, non-touching runs, which is used directly.
+   * @param count The amount of runs.
+   */
+  RunContainer(final char[] runs, final int count) {
+    this.runs = runs;
+    this.count = count;
+    int cardinality = 0;
+    for (int i = 0; i < count; i++) {
+      cardinality += runs[i * 2 + 1] + 1;
+    }
+    this.cardinality = cardinality;
+  }
+
+  @Override
+  Container add(char value) {
+    return contains(value) ? this : mutable().add(value);
+  }
+
+  @Override
+  Container remove(char value) {
+    return contains(value) ? mutable().remove(value) : this;
+  }
+
+  @Override
+  boolean contains(char value) {
+    int run = find(value);
+    return run >= 0 && value <= runs[run * 2] + runs[run * 2 + 1];
+  }
+
+  @Override
+  int cardinality() {
+    return cardinality;
+  }
+
+  @Override
+  BitmapContainer toBitmap() {
+    final long[] words = new long[BitmapContainer.WORDS];
+    for (int i = 0; i < count; i++) {
+      final int start = runs[i * 2];
+      final int end = start + runs[i * 2 + 1] + 1;
+      final int first = start >>> 6;
+      final int last = (end - 1) >>> 6;
+      // Shifts only use the lower 6 bits, so these are the masks from start and up to end.
+      final long from = -1L << start;
+      final long to = -1L >>> -end;
+      if (first == last) {
+        words[first] |= from & to;
+      } else {
+        words[first] |= from;
+        for (int word = first + 1; word < last; word++) {
+          words[word] = -1L;
+        }
+        words[last] |= to;
+      }
+    }
+    return new BitmapContainer(words, cardinality);
+  }
+
+  @Override
+  int nextValue(int from) {
+    int run = Math.max(find((char) from), 0);
+    for (; run < count; run++) {
+      final int start = runs[run * 2];
+      if (from <= start + runs[run * 2 + 1]) {
+        return Math.max(from, start);
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  void forEach(int high, IntSet.ElementConsumer consumer) {
+    for (int i = 0; i < count; i++) {
+      final int start = high | runs[i * 2];
+      final int length = runs[i * 2 + 1] + 1;
+      // Counted by length, an end of Integer.MAX_VALUE would never stop.
+      for (int j = 0; j < length; j++) {
+        consumer.accept(start + j);
+      }
+    }
+  }
+
+  @Override
+  int copyInto(int high, int[] into, int offset) {
+    for (int i = 0; i < count; i++) {
+      final int start = high | runs[i * 2];
+      final int length = runs[i * 2 + 1] + 1;
+      for (int j = 0; j < length; j++) {
+        into[offset++] = start + j;
+      }
+    }
+    return offset;
+  }
+
+  @Override
+  Container copy() {
+    return new RunContainer(runs.clone(), count);
+  }
+
+  @Override
+  Container optimize() {
+    final int bytes = bytes(RUN, count);
+    if (cardinality <= ARRAY_MAX && bytes(ARRAY, cardinality) < bytes) {
+      return mutable();
+    }
+    if (cardinality > ARRAY_MAX && bytes(BITMAP, cardinality) < bytes) {
+      return toBitmap();
+    }
+    return this;
+  }
+
+  @Override
+  byte type() {
+    return RUN;
+  }
+
+  @Override
+  int length() {
+    return count;
+  }
+
+  @Override
+  void writeTo(ByteBuffer buffer) {
+    for (int i = 0; i < count * 2; i++) {
+      buffer.putChar(runs[i]);
+    }
+  }
+
+  // Finds the last run starting at or before the value, or -1 if there is none.
+  private int find(char value) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      if (runs[middle * 2] <= value) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return high;
+  }
+
+  private Container mutable() {
+    if (cardinality > ARRAY_MAX) {
+      return toBitmap();
+    }
+    final char[] values = new char[cardinality];
+    int amount = 0;
+    for (int i = 0; i < count; i++) {
+      final int start = runs[i * 2];
+      final int length = runs[i * 2 + 1] + 1;
+      for (int j = 0; j < length; j++) {
+        values[amount++] = (char) (start + j);
+      }
+    }
+    return new ArrayContainer(values, cardinality);
+  }
+}
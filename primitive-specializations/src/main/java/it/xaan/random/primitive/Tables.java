@@ -0,0 +1,234 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.primitive;
+
+/**
+ * Helpers shared by the generated collections. These are all static so every collection gets its
+ * own inlined copy, rather than going through a shared base class.
+ */
+final class Tables {
+
+  /**
+   * The load factor used when none is given.
+   */
+  static final float DEFAULT_LOAD_FACTOR = 0.75f;
+  /**
+   * The amount of elements expected when none is given.
+   */
+  static final int DEFAULT_EXPECTED = 16;
+
+  /**
+   * The largest capacity of a table. Doubling it would overflow.
+   */
+  static final int MAX_CAPACITY = 1 << 30;
+  // Some VMs reserve header words in an array.
+  private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+  private Tables() {
+  }
+
+  /**
+   * Spreads the bits of a key so keys that only differ in the high bits don't land on the same
+   * slot of a power of two table. Also used for {@code short}, {@code char} and {@code byte} keys.
+   *
+   * @param key The key to hash.
+   * @return The mixed hash.
+   */
+  static int hash(int key) {
+    int mixed = key * 0x9E3779B9;
+    return mixed ^ (mixed >>> 16);
+  }
+
+  /**
+   * See {@link #hash(int)}.
+   *
+   * @param key The key to hash.
+   * @return The mixed hash.
+   */
+  static int hash(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+
+  /**
+   * See {@link #hash(int)}. Hashes the bits, the same way {@link Float#equals(Object)} compares.
+   *
+   * @param key The key to hash.
+   * @return The mixed hash.
+   */
+  static int hash(float key) {
+    return hash(Float.floatToIntBits(key));
+  }
+
+  /**
+   * See {@link #hash(int)}. Hashes the bits, the same way {@link Double#equals(Object)} compares.
+   *
+   * @param key The key to hash.
+   * @return The mixed hash.
+   */
+  static int hash(double key) {
+    return hash(Double.doubleToLongBits(key));
+  }
+
+  /**
+   * See {@link #hash(int)}.
+   *
+   * @param key The non-null key to hash.
+   * @return The mixed hash.
+   */
+  static int hash(Object key) {
+    return hash(key.hashCode());
+  }
+
+  /**
+   * Checks if two keys are the same. Also used for {@code short}, {@code char} and {@code byte}
+   * keys.
+   *
+   * @param first  The first key.
+   * @param second The second key.
+   * @return {@code true} if the keys are the same.
+   */
+  static boolean same(int first, int second) {
+    return first == second;
+  }
+
+  /**
+   * See {@link #same(int, int)}.
+   *
+   * @param first  The first key.
+   * @param second The second key.
+   * @return {@code true} if the keys are the same.
+   */
+  static boolean same(long first, long second) {
+    return first == second;
+  }
+
+  /**
+   * See {@link #same(int, int)}. Compares the bits, so {@code NaN} can be a key and {@code 0.0}
+   * and {@code -0.0} are different keys, the same as {@link Float#equals(Object)}.
+   *
+   * @param first  The first key.
+   * @param second The second key.
+   * @return {@code true} if the keys are the same.
+   */
+  static boolean same(float first, float second) {
+    return Float.floatToIntBits(first) == Float.floatToIntBits(second);
+  }
+
+  /**
+   * See {@link #same(float, float)}.
+   *
+   * @param first  The first key.
+   * @param second The second key.
+   * @return {@code true} if the keys are the same.
+   */
+  static boolean same(double first, double second) {
+    return Double.doubleToLongBits(first) == Double.doubleToLongBits(second);
+  }
+
+  /**
+   * Gets the size of the table needed to hold the expected amount of elements without going over
+   * the load factor.
+   *
+   * @param expected   The amount of elements expected.
+   * @param loadFactor The load factor of the table.
+   * @return A power of two capacity.
+   */
+  static int capacity(int expected, float loadFactor) {
+    if (expected < 0) {
+      throw new IllegalArgumentException("Expected size can't be negative.");
+    }
+    long needed = Math.max(2, (long) Math.ceil(expected / (double) loadFactor));
+    if (needed > MAX_CAPACITY) {
+      return MAX_CAPACITY;
+    }
+    return Integer.highestOneBit((int) needed - 1) << 1;
+  }
+
+  /**
+   * Gets the amount of elements a table can hold before it should grow.
+   *
+   * @param capacity   The capacity of the table.
+   * @param loadFactor The load factor of the table.
+   * @return The amount of elements that makes the table grow.
+   */
+  static int threshold(int capacity, float loadFactor) {
+    // Always leave one free slot, otherwise probing for a missing key never ends.
+    return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+  }
+
+  /**
+   * Checks a table has room for one more key. Tables grow as soon as they reach their threshold, so
+   * this only fails once a table that's already {@link #MAX_CAPACITY} reaches it.
+   *
+   * @param size      The amount of keys in the table.
+   * @param threshold The threshold of the table.
+   * @throws IllegalStateException If the table is full.
+   */
+  static void checkRoom(int size, int threshold) {
+    if (size >= threshold) {
+      throw new IllegalStateException("The table is full, it can't hold more than " + threshold
+          + " keys.");
+    }
+  }
+
+  /**
+   * Checks the load factor is usable.
+   *
+   * @param loadFactor The load factor to check.
+   * @return The load factor.
+   * @throws IllegalArgumentException If the load factor isn't between 0 and 1, exclusive.
+   */
+  static float checkLoadFactor(float loadFactor) {
+    if (!(loadFactor > 0 && loadFactor < 1)) {
+      throw new IllegalArgumentException("Load factor must be between 0 and 1, exclusive.");
+    }
+    return loadFactor;
+  }
+
+  /**
+   * Checks if the key at {@code pos}, whose home slot is {@code slot}, can be moved back to {@code
+   * last} when {@code last} is freed. It can as long as its home slot doesn't lie cyclically inside
+   * {@code (last, pos]}, otherwise moving it would put it before its home slot.
+   *
+   * @param last The slot being freed.
+   * @param slot The home slot of the key at pos.
+   * @param pos  The slot the key currently sits at.
+   * @return {@code true} if the key can be moved to last.
+   */
+  static boolean movable(int last, int slot, int pos) {
+    return last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos;
+  }
+
+  /**
+   * Gets the new length of an array that has to fit at least {@code needed} elements. Grows by half
+   * each time, so adding to the end stays amortized constant time.
+   *
+   * @param length The current length of the array.
+   * @param needed The amount of elements the array has to fit.
+   * @return The new length.
+   * @throws OutOfMemoryError If more elements are needed than an array can hold.
+   */
+  static int grow(int length, int needed) {
+    if (needed < 0 || needed > MAX_ARRAY_LENGTH) {
+      throw new OutOfMemoryError("Required array length too large.");
+    }
+    long grown = length + (length >> 1) + 1L;
+    return (int) Math.max(needed, Math.min(grown, MAX_ARRAY_LENGTH));
+  }
+}
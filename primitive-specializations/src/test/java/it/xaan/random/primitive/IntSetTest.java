@@ -0,0 +1,234 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.primitive;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class IntSetTest {
+
+  // Mixes sparse groups, dense groups and long runs, so every kind of container is used.
+  private static Set<Integer> values(long seed) {
+    final Random random = new Random(seed);
+    final Set<Integer> values = new HashSet<>();
+    for (int i = 0; i < 2_000; i++) {
+      values.add(random.nextInt());
+    }
+    final int dense = random.nextInt(8) << 16;
+    for (int i = 0; i < 40_000; i++) {
+      values.add(dense | random.nextInt(1 << 16));
+    }
+    final int start = (8 + random.nextInt(8)) << 16;
+    for (int i = 0; i < 100_000; i++) {
+      values.add(start + i);
+    }
+    values.add(-1);
+    values.add(Integer.MAX_VALUE);
+    values.add(Integer.MIN_VALUE);
+    return values;
+  }
+
+  private static IntSet from(Set<Integer> values, boolean optimize) {
+    final IntSet set = new IntSet();
+    values.forEach(set::add);
+    if (optimize) {
+      set.optimize();
+    }
+    return set;
+  }
+
+  private static void assertSame(Set<Integer> expected, IntSet actual) {
+    Assert.assertEquals(expected.size(), actual.cardinality());
+    final List<Integer> sorted = new ArrayList<>(new TreeSet<>(expected));
+    sorted.sort(Integer::compareUnsigned);
+    final List<Integer> iterated = new ArrayList<>();
+    final PrimitiveIterator.OfInt iterator = actual.iterator();
+    while (iterator.hasNext()) {
+      iterated.add(iterator.nextInt());
+    }
+    Assert.assertEquals(sorted, iterated);
+    final List<Integer> visited = new ArrayList<>();
+    actual.forEach(visited::add);
+    Assert.assertEquals(sorted, visited);
+    final int[] array = actual.toArray();
+    Assert.assertEquals(sorted.size(), array.length);
+    for (int i = 0; i < array.length; i++) {
+      Assert.assertEquals((int) sorted.get(i), array[i]);
+    }
+    Assert.assertEquals(expected.hashCode(), actual.hashCode());
+  }
+
+  @Test
+  public void testAddRemove() {
+    final IntSet set = new IntSet();
+    final Set<Integer> reference = new HashSet<>();
+    final Random random = new Random(42);
+    for (int i = 0; i < 200_000; i++) {
+      // Few groups, so containers grow into bitmaps and shrink back into arrays.
+      final int value = (random.nextInt(3) << 16) | random.nextInt(10_000);
+      if (random.nextInt(3) == 0) {
+        Assert.assertEquals(reference.remove(value), set.remove(value));
+      } else {
+        Assert.assertEquals(reference.add(value), set.add(value));
+      }
+      Assert.assertEquals(reference.contains(value ^ 1), set.contains(value ^ 1));
+    }
+    assertSame(reference, set);
+    set.optimize();
+    assertSame(reference, set);
+    for (int value : reference) {
+      Assert.assertTrue(set.remove(value));
+    }
+    Assert.assertTrue(set.isEmpty());
+  }
+
+  @Test
+  public void testRuns() {
+    final IntSet set = new IntSet();
+    for (int i = 0; i < 70_000; i++) {
+      set.add(Integer.MAX_VALUE - i);
+    }
+    set.optimize();
+    Assert.assertEquals(70_000, set.cardinality());
+    Assert.assertTrue(set.serializedSize() < 100);
+    Assert.assertTrue(set.contains(Integer.MAX_VALUE));
+    Assert.assertFalse(set.contains(Integer.MAX_VALUE - 70_000));
+    // Changing a run turns it back into a bitmap or array.
+    Assert.assertTrue(set.remove(Integer.MAX_VALUE - 5));
+    Assert.assertFalse(set.contains(Integer.MAX_VALUE - 5));
+    Assert.assertTrue(set.add(Integer.MAX_VALUE - 5));
+    Assert.assertEquals(70_000, set.cardinality());
+    Assert.assertEquals(70_000, set.toArray().length);
+  }
+
+  @Test
+  public void testAlgebra() {
+    final Set<Integer> first = values(1);
+    final Set<Integer> second = values(2);
+    for (boolean optimize : new boolean[]{false, true}) {
+      final IntSet left = from(first, optimize);
+      final IntSet right = from(second, !optimize);
+
+      final Set<Integer> and = new HashSet<>(first);
+      and.retainAll(second);
+      assertSame(and, left.and(right));
+
+      final Set<Integer> or = new HashSet<>(first);
+      or.addAll(second);
+      assertSame(or, left.or(right));
+
+      final Set<Integer> andNot = new HashSet<>(first);
+      andNot.removeAll(second);
+      assertSame(andNot, left.andNot(right));
+
+      final Set<Integer> xor = new HashSet<>(or);
+      xor.removeAll(and);
+      assertSame(xor, left.xor(right));
+
+      Assert.assertTrue(left.xor(left).isEmpty());
+      Assert.assertEquals(left, left.or(left));
+    }
+    // The arguments are left alone.
+    assertSame(first, from(first, true).and(from(first, false)));
+  }
+
+  @Test
+  public void testEquals() {
+    final Set<Integer> values = values(3);
+    final IntSet plain = from(values, false);
+    final IntSet optimized = from(values, true);
+    Assert.assertEquals(plain, optimized);
+    Assert.assertEquals(plain.hashCode(), optimized.hashCode());
+    optimized.remove(values.iterator().next());
+    Assert.assertNotEquals(plain, optimized);
+    Assert.assertEquals(IntSet.of(1, 2, 3), IntSet.of(3, 2, 1));
+    Assert.assertEquals("IntSet[1, 2, -1]", IntSet.of(-1, 2, 1).toString());
+  }
+
+  @Test
+  public void testSerialization() {
+    final Set<Integer> values = values(4);
+    final IntSet set = from(values, true);
+    final ByteBuffer buffer = ByteBuffer.allocate(set.serializedSize() + 2)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put((byte) 1);
+    set.writeTo(buffer);
+    Assert.assertEquals(set.serializedSize() + 1, buffer.position());
+    buffer.put((byte) 2);
+    Assert.assertThrows(BufferOverflowException.class, () -> set.writeTo(buffer));
+    buffer.flip();
+    buffer.get();
+
+    final IntSet read = IntSet.readFrom(buffer.duplicate());
+    Assert.assertFalse(read.isReadOnly());
+    Assert.assertEquals(set, read);
+    assertSame(values, read);
+    read.add(7);
+
+    final IntSet mapped = IntSet.map(buffer);
+    Assert.assertEquals(2, buffer.get());
+    Assert.assertTrue(mapped.isReadOnly());
+    Assert.assertEquals(values.size(), mapped.cardinality());
+    Assert.assertEquals(set, mapped);
+    assertSame(values, mapped);
+    Assert.assertThrows(UnsupportedOperationException.class, () -> mapped.add(1));
+    Assert.assertThrows(UnsupportedOperationException.class, () -> mapped.remove(1));
+    Assert.assertThrows(UnsupportedOperationException.class, mapped::optimize);
+    Assert.assertEquals(set, mapped.or(new IntSet()));
+
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> IntSet.map(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}))
+    );
+    final ByteBuffer cut = ByteBuffer.allocate(set.serializedSize());
+    set.writeTo(cut);
+    cut.flip().limit(cut.limit() - 1);
+    Assert.assertThrows(IllegalArgumentException.class, () -> IntSet.map(cut));
+  }
+
+  @Test
+  public void testMapFile() throws IOException {
+    final Set<Integer> values = values(5);
+    final IntSet set = from(values, true);
+    final ByteBuffer buffer = ByteBuffer.allocate(set.serializedSize());
+    set.writeTo(buffer);
+    final Path file = Files.createTempFile("intset", ".bin");
+    try {
+      Files.write(file, buffer.array());
+      final IntSet mapped = IntSet.map(file);
+      Assert.assertTrue(mapped.contains(values.iterator().next()));
+      assertSame(values, mapped);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
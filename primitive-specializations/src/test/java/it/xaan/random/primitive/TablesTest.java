@@ -0,0 +1,39 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.primitive;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class TablesTest {
+
+  @Test
+  public void testCapacity() {
+    Assert.assertEquals(2, Tables.capacity(0, 0.75f));
+    Assert.assertEquals(32, Tables.capacity(16, 0.75f));
+    // Clamped rather than overflowing.
+    Assert.assertEquals(Tables.MAX_CAPACITY, Tables.capacity(Integer.MAX_VALUE, 0.75f));
+  }
+
+  @Test
+  public void testCheckRoom() {
+    final int threshold = Tables.threshold(Tables.MAX_CAPACITY, 0.75f);
+    Tables.checkRoom(threshold - 1, threshold);
+    Assert.assertThrows(IllegalStateException.class, () -> Tables.checkRoom(threshold, threshold));
+  }
+}
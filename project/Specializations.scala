@@ -0,0 +1,90 @@
+import java.nio.charset.StandardCharsets
+
+import sbt.Keys._
+import sbt._
+
+import scala.util.matching.Regex
+
+/**
+ * Renders the templates under src/main/templates and src/test/templates into Java sources, one for
+ * every primitive type combination the file name asks for. A template named
+ * `$K$2$V$Map.java.template` becomes `Int2IntMap.java`, `Int2LongMap.java` and so on, while
+ * `$K$List.java.template` only goes over the keys.
+ *
+ * Tokens inside a template:
+ *  - `$K$` / `$V$`: the name of the type, such as `Int`.
+ *  - `$k$` / `$v$`: the primitive, such as `int`.
+ *  - `$KB$` / `$VB$`: the box, such as `Integer`.
+ */
+object Specializations {
+
+  final case class Primitive(name: String, primitive: String, boxed: String)
+
+  val primitives: Seq[Primitive] = Seq(
+    Primitive("Int", "int", "Integer"),
+    Primitive("Long", "long", "Long"),
+    Primitive("Double", "double", "Double"),
+    Primitive("Float", "float", "Float"),
+    Primitive("Short", "short", "Short"),
+    Primitive("Byte", "byte", "Byte"),
+    Primitive("Char", "char", "Character")
+  )
+
+  /**
+   * The settings that render a project's templates, for both the main and the test sources.
+   *
+   * @param only The names of the primitives to render, every primitive if not given.
+   * @return The settings to add to the project.
+   */
+  def settings(only: Set[String] = primitives.map(_.name).toSet): Seq[Def.Setting[_]] = {
+    val types = primitives.filter(primitive => only(primitive.name))
+    Seq(
+      sourceGenerators in Compile += Def.task {
+        generate((sourceDirectory in Compile).value / "templates", (sourceManaged in Compile).value / "specializations", types)
+      }.taskValue,
+      sourceGenerators in Test += Def.task {
+        generate((sourceDirectory in Test).value / "templates", (sourceManaged in Test).value / "specializations", types)
+      }.taskValue,
+      // Sources jars only pick up unmanaged sources by default.
+      mappings in (Compile, packageSrc) ++= (managedSources in Compile).value pair Path.relativeTo((sourceManaged in Compile).value / "specializations")
+    )
+  }
+
+  private val Token = """\$(\w+)\$""".r
+  private val Suffix = ".template"
+
+  /**
+   * Renders every template under a directory.
+   *
+   * @param templates The directory holding the templates, laid out the same as the sources.
+   * @param output    The directory to write the sources to. Anything already in it is removed.
+   * @param types     The primitives to render.
+   * @return The rendered sources.
+   */
+  def generate(templates: File, output: File, types: Seq[Primitive] = primitives): Seq[File] = {
+    IO.delete(output)
+    (templates ** ("*.java" + Suffix)).get.flatMap { template =>
+      val path = IO.relativize(templates, template).get.stripSuffix(Suffix)
+      val text = IO.read(template, StandardCharsets.UTF_8)
+      combinations(path, types).map { tokens =>
+        val file = output / render(path, tokens)
+        IO.write(file, render(text, tokens), StandardCharsets.UTF_8)
+        file
+      }
+    }
+  }
+
+  private def combinations(path: String, types: Seq[Primitive]): Seq[Map[String, String]] = {
+    val keys = if (path.contains("$K$")) types.map(tokens("K", "k", "KB")) else Seq(Map.empty[String, String])
+    val values = if (path.contains("$V$")) types.map(tokens("V", "v", "VB")) else Seq(Map.empty[String, String])
+    for (key <- keys; value <- values) yield key ++ value
+  }
+
+  private def tokens(name: String, lower: String, boxed: String)(primitive: Primitive): Map[String, String] =
+    Map(name -> primitive.name, lower -> primitive.primitive, boxed -> primitive.boxed)
+
+  private def render(text: String, tokens: Map[String, String]): String =
+    Token.replaceAllIn(text, (token: Regex.Match) =>
+      Regex.quoteReplacement(tokens.getOrElse(token.group(1), sys.error(s"Unknown token ${token.matched}")))
+    )
+}
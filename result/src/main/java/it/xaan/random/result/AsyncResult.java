@@ -0,0 +1,594 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Result} that will be known later, such as the Result of an I/O call. Like
+ * Result it ends up in one of the Success, Error or Empty states, and the methods for chaining are
+ * run once it does, on the {@link Executor} of the AsyncResult, without blocking the caller.
+ * <p>
+ * If a function passed to any method throws, the AsyncResult it returns is in the Error state with
+ * the thrown exception, the same as an AsyncResult made from a {@link CompletableFuture} that
+ * completes exceptionally.
+ * <pre>{@code
+ * AsyncResult<User> user = AsyncResult.supply(() -> users.find(id), executor);
+ * AsyncResult<List<Order>> orders = user
+ *     .flatMap(found -> AsyncResult.supply(() -> orders.of(found), executor));
+ * orders.onError(IOException.class, e -> log.warn("Lookup failed.", e));
+ * }</pre>
+ *
+ * @param <T> The type of the element.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class AsyncResult<T> {
+
+  /**
+   * The error of AsyncResults that weren't known in time, see {@link #withTimeout(long, TimeUnit)}.
+   *
+   * @since 1.1.0
+   */
+  public static final Failure TIMED_OUT = Failure.of("Timed out.");
+
+  private static final Result<?> TIMED_OUT_RESULT = Result.error(TIMED_OUT);
+
+  private final CompletableFuture<Result<T>> future;
+  private final Executor executor;
+
+  private AsyncResult(final CompletableFuture<Result<T>> future, final Executor executor) {
+    this.future = future;
+    this.executor = executor;
+  }
+
+  // Creation
+
+  /**
+   * Creates an {@link AsyncResult} that is already known. See {@link Result#of(Object)}.
+   *
+   * @param element The element for this AsyncResult.
+   * @param <U>     The type of the AsyncResult.
+   * @return An instance of AsyncResult in the Success state.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> of(U element) {
+    return completed(Result.of(element));
+  }
+
+  /**
+   * Creates an {@link AsyncResult} that is already known. See {@link Result#error(Object)}.
+   *
+   * @param error The error for this AsyncResult.
+   * @param <U>   The type of the AsyncResult.
+   * @return An instance of AsyncResult in the Error state.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> error(Object error) {
+    return completed(Result.error(error));
+  }
+
+  /**
+   * Creates an {@link AsyncResult} that is already known. See {@link Result#empty()}.
+   *
+   * @param <U> The type of the AsyncResult.
+   * @return An instance of AsyncResult in the Empty state.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> empty() {
+    return completed(Result.empty());
+  }
+
+  /**
+   * Creates an {@link AsyncResult} that is already known, using the common {@link ForkJoinPool} to
+   * run the methods for chaining.
+   *
+   * @param result The Result it holds.
+   * @param <U>    The type of the AsyncResult.
+   * @return An AsyncResult holding the Result.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> completed(Result<U> result) {
+    return new AsyncResult<>(CompletableFuture.completedFuture(result), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Runs the {@link Supplier} on the common {@link ForkJoinPool}. See {@link #supply(Supplier,
+   * Executor)}.
+   *
+   * @param supplier The supplier to run.
+   * @param <U>      The type of the AsyncResult.
+   * @return An AsyncResult holding the Result the supplier returns.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> supply(Supplier<Result<U>> supplier) {
+    return supply(supplier, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Runs the {@link Supplier} on the {@link Executor}, which is also used to run the methods for
+   * chaining. Blocking calls should be given their own executor rather than the common pool.
+   *
+   * @param supplier The supplier to run.
+   * @param executor The executor to run on.
+   * @param <U>      The type of the AsyncResult.
+   * @return An AsyncResult holding the Result the supplier returns, or an error if it throws.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> supply(Supplier<Result<U>> supplier, Executor executor) {
+    return new AsyncResult<>(
+        CompletableFuture.supplyAsync(supplier, executor).handle(AsyncResult::settle), executor);
+  }
+
+  /**
+   * Creates an {@link AsyncResult} from a {@link CompletableFuture}. The AsyncResult is in the
+   * Success state if the future completes with an element, the Empty state if it completes with
+   * null, or the Error state with the exception if it completes exceptionally.
+   *
+   * @param future   The future to wait for.
+   * @param executor The executor to run the methods for chaining on.
+   * @param <U>      The type of the AsyncResult.
+   * @return An AsyncResult of the future.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> from(CompletableFuture<? extends U> future, Executor executor) {
+    return new AsyncResult<>(
+        future.handle((element, thrown) -> settle(Result.<U>ofNullable(element), thrown)),
+        executor);
+  }
+
+  /**
+   * Creates an {@link AsyncResult} from a {@link CompletableFuture}, using the common {@link
+   * ForkJoinPool} to run the methods for chaining. See {@link #from(CompletableFuture, Executor)}.
+   *
+   * @param future The future to wait for.
+   * @param <U>    The type of the AsyncResult.
+   * @return An AsyncResult of the future.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> from(CompletableFuture<? extends U> future) {
+    return from(future, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Runs the {@link Supplier} on the common {@link ForkJoinPool}, retrying it as the {@link
+   * RetryPolicy} says. See {@link #retrying(RetryPolicy, Supplier, Executor,
+   * ScheduledExecutorService)}.
+   *
+   * @param policy   The policy to retry by.
+   * @param supplier The supplier to run.
+   * @param <U>      The type of the AsyncResult.
+   * @return An AsyncResult holding the Result of the last attempt.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> retrying(RetryPolicy policy, Supplier<Result<U>> supplier) {
+    return retrying(policy, supplier, ForkJoinPool.commonPool(), Schedulers.shared());
+  }
+
+  /**
+   * Runs the {@link Supplier} on the {@link Executor}, retrying it as the {@link RetryPolicy} says.
+   * The waits between attempts are timers on the {@link ScheduledExecutorService}, rather than a
+   * thread sleeping, so waiting to retry doesn't hold any thread. A supplier that throws counts as
+   * the Error state.
+   *
+   * @param policy    The policy to retry by.
+   * @param supplier  The supplier to run.
+   * @param executor  The executor to run attempts and the methods for chaining on.
+   * @param scheduler The scheduler to wait between attempts on.
+   * @param <U>       The type of the AsyncResult.
+   * @return An AsyncResult holding the Result of the last attempt.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> retrying(RetryPolicy policy, Supplier<Result<U>> supplier,
+      Executor executor, ScheduledExecutorService scheduler) {
+    return new AsyncResult<>(new Retry<>(policy, supplier, executor, scheduler).start(), executor);
+  }
+
+  // Combining
+
+  /**
+   * Waits for every {@link AsyncResult}, which all run at the same time. See {@link
+   * #allOf(Collection)}.
+   *
+   * @param results The AsyncResults to wait for.
+   * @param <U>     The type of the elements.
+   * @return An AsyncResult of every element, in order.
+   * @since 1.1.0
+   */
+  @SafeVarargs
+  public static <U> AsyncResult<List<U>> allOf(AsyncResult<? extends U>... results) {
+    // Copied element by element, the array itself never leaves this method.
+    final List<AsyncResult<? extends U>> list = new ArrayList<>(results.length);
+    for (AsyncResult<? extends U> result : results) {
+      list.add(result);
+    }
+    return allOf(list);
+  }
+
+  /**
+   * Waits for every {@link AsyncResult}, which all run at the same time. The returned AsyncResult
+   * runs the methods for chaining on the {@link Executor} of the first one, or on the common
+   * {@link ForkJoinPool} if there are none. See {@link #allOf(Collection, Executor)}.
+   *
+   * @param results The AsyncResults to wait for.
+   * @param <U>     The type of the elements.
+   * @return An AsyncResult of every element, in order.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<List<U>> allOf(
+      Collection<? extends AsyncResult<? extends U>> results) {
+    return allOf(results, executor(results));
+  }
+
+  /**
+   * Waits for every {@link AsyncResult}, which all run at the same time. As soon as one of them is
+   * in the Error state there is no need to wait for the others, so the returned AsyncResult is
+   * completed with that error straight away. The others keep running.
+   *
+   * @param results  The AsyncResults to wait for.
+   * @param executor The {@link Executor} to run the methods for chaining on.
+   * @param <U>      The type of the elements.
+   * @return An AsyncResult in the Success state with every element in order if all of them are in
+   * the Success state. Otherwise the first Error to complete, or Empty if there is no error.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<List<U>> allOf(
+      Collection<? extends AsyncResult<? extends U>> results, Executor executor) {
+    final List<AsyncResult<? extends U>> copy = new ArrayList<>(results);
+    final CompletableFuture<Result<List<U>>> all = new CompletableFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(copy.size());
+    if (copy.isEmpty()) {
+      all.complete(Result.of(new ArrayList<>(0)));
+    }
+    for (AsyncResult<? extends U> result : copy) {
+      result.future.whenComplete((completed, $) -> {
+        if (completed.isError()) {
+          all.complete(Result.error(completed.getError()));
+        } else if (remaining.decrementAndGet() == 0) {
+          all.complete(elements(copy));
+        }
+      });
+    }
+    return new AsyncResult<>(all, executor);
+  }
+
+  /**
+   * Waits for the first {@link AsyncResult} to be in the Success state. See {@link
+   * #anyOf(Collection)}.
+   *
+   * @param results The AsyncResults to wait for.
+   * @param <U>     The type of the elements.
+   * @return An AsyncResult of the first success.
+   * @since 1.1.0
+   */
+  @SafeVarargs
+  public static <U> AsyncResult<U> anyOf(AsyncResult<? extends U>... results) {
+    // Copied element by element, the array itself never leaves this method.
+    final List<AsyncResult<? extends U>> list = new ArrayList<>(results.length);
+    for (AsyncResult<? extends U> result : results) {
+      list.add(result);
+    }
+    return anyOf(list);
+  }
+
+  /**
+   * Waits for the first {@link AsyncResult} to be in the Success state. The returned AsyncResult
+   * runs the methods for chaining on the {@link Executor} of the first one, or on the common
+   * {@link ForkJoinPool} if there are none. See {@link #anyOf(Collection, Executor)}.
+   *
+   * @param results The AsyncResults to wait for.
+   * @param <U>     The type of the elements.
+   * @return An AsyncResult of the first success.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> anyOf(Collection<? extends AsyncResult<? extends U>> results) {
+    return anyOf(results, executor(results));
+  }
+
+  /**
+   * Waits for the first {@link AsyncResult} to be in the Success state, such as the first of a few
+   * replicas to answer. The others keep running.
+   *
+   * @param results  The AsyncResults to wait for.
+   * @param executor The {@link Executor} to run the methods for chaining on.
+   * @param <U>      The type of the elements.
+   * @return An AsyncResult of the first to be in the Success state. If none of them are, the first
+   * Error in order, or Empty if there is no error.
+   * @since 1.1.0
+   */
+  public static <U> AsyncResult<U> anyOf(Collection<? extends AsyncResult<? extends U>> results,
+      Executor executor) {
+    final List<AsyncResult<? extends U>> copy = new ArrayList<>(results);
+    final CompletableFuture<Result<U>> any = new CompletableFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(copy.size());
+    if (copy.isEmpty()) {
+      any.complete(Result.empty());
+    }
+    for (AsyncResult<? extends U> result : copy) {
+      result.future.whenComplete((completed, $) -> {
+        if (completed.isSuccess()) {
+          any.complete(Result.of(completed.get()));
+        } else if (remaining.decrementAndGet() == 0) {
+          any.complete(firstError(copy));
+        }
+      });
+    }
+    return new AsyncResult<>(any, executor);
+  }
+
+  // Chaining
+
+  /**
+   * Runs the {@link Consumer} once this is in the Success state. See {@link
+   * Result#onSuccess(Consumer)}.
+   *
+   * @param cons The consumer to run.
+   * @return An AsyncResult that is known once the consumer has run.
+   * @since 1.1.0
+   */
+  public AsyncResult<T> onSuccess(Consumer<? super T> cons) {
+    return then(result -> result.onSuccess(cons::accept));
+  }
+
+  /**
+   * Runs the {@link Runnable} once this is in the Empty state. See {@link
+   * Result#onEmpty(Runnable)}.
+   *
+   * @param run The runnable to run.
+   * @return An AsyncResult that is known once the runnable has run.
+   * @since 1.1.0
+   */
+  public AsyncResult<T> onEmpty(Runnable run) {
+    return then(result -> result.onEmpty(run));
+  }
+
+  /**
+   * Runs the {@link Consumer} once this is in the Error state with an error of the class. See
+   * {@link Result#onError(Class, Consumer)}.
+   *
+   * @param clazz The class to run on.
+   * @param cons  The consumer to run.
+   * @param <U>   The type of the error.
+   * @return An AsyncResult that is known once the consumer has run.
+   * @since 1.1.0
+   */
+  public <U> AsyncResult<T> onError(Class<? extends U> clazz, Consumer<U> cons) {
+    return then(result -> result.onError(clazz, cons));
+  }
+
+  /**
+   * Filters this once it's known. See {@link Result#filter(Predicate)}.
+   *
+   * @param filter The predicate to test against.
+   * @return An AsyncResult of the filtered Result.
+   * @since 1.1.0
+   */
+  public AsyncResult<T> filter(Predicate<? super T> filter) {
+    return then(result -> result.filter(filter::test));
+  }
+
+  /**
+   * Maps this once it's known. See {@link Result#map(Function)}.
+   *
+   * @param func The function to map from the current element to a new one.
+   * @param <U>  The type of the new AsyncResult.
+   * @return An AsyncResult of the mapped Result.
+   * @since 1.1.0
+   */
+  public <U> AsyncResult<U> map(Function<? super T, U> func) {
+    return then(result -> result.map(func));
+  }
+
+  /**
+   * Flatmaps this once it's known, such as to start another call with the element. The function
+   * is only called in the Success state.
+   *
+   * @param func The function to map from the current element to a new AsyncResult.
+   * @param <U>  The type of the new AsyncResult.
+   * @return An AsyncResult of the one returned by the function, or of this if it isn't in the
+   * Success state.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public <U> AsyncResult<U> flatMap(Function<? super T, AsyncResult<U>> func) {
+    final CompletableFuture<Result<U>> next = future.thenComposeAsync(result -> {
+      if (!result.isSuccess()) {
+        // Error and empty Results have no element, so they're the same whatever their type.
+        return CompletableFuture.completedFuture((Result<U>) (Result<?>) result);
+      }
+      try {
+        return func.apply(result.get()).future;
+      } catch (RuntimeException e) {
+        return CompletableFuture.completedFuture(Result.error(e));
+      }
+    }, executor).handle(AsyncResult::settle);
+    return new AsyncResult<>(next, executor);
+  }
+
+  /**
+   * Gets an {@link AsyncResult} with the same Result that runs the methods for chaining on the
+   * {@link Executor}.
+   *
+   * @param executor The executor to run on.
+   * @return A new AsyncResult.
+   * @since 1.1.0
+   */
+  public AsyncResult<T> withExecutor(Executor executor) {
+    return new AsyncResult<>(future, executor);
+  }
+
+  /**
+   * Gets an {@link AsyncResult} that's in the Error state with {@link #TIMED_OUT} if this isn't
+   * known within the timeout. See {@link #withTimeout(long, TimeUnit, ScheduledExecutorService)}.
+   *
+   * @param timeout How long to wait.
+   * @param unit    The {@link TimeUnit} of the timeout.
+   * @return A new AsyncResult.
+   * @since 1.1.0
+   */
+  public AsyncResult<T> withTimeout(long timeout, TimeUnit unit) {
+    return withTimeout(timeout, unit, Schedulers.shared());
+  }
+
+  /**
+   * Gets an {@link AsyncResult} that's in the Error state with {@link #TIMED_OUT} if this isn't
+   * known within the timeout, otherwise it has the same Result. The work behind this AsyncResult
+   * isn't stopped, only no longer waited for.
+   *
+   * @param timeout   How long to wait.
+   * @param unit      The {@link TimeUnit} of the timeout.
+   * @param scheduler The scheduler to time out on.
+   * @return A new AsyncResult.
+   * @since 1.1.0
+   */
+  public AsyncResult<T> withTimeout(long timeout, TimeUnit unit,
+      ScheduledExecutorService scheduler) {
+    if (future.isDone()) {
+      return this;
+    }
+    final CompletableFuture<Result<T>> timed = new CompletableFuture<>();
+    final ScheduledFuture<?> timer = scheduler.schedule(
+        () -> timed.complete(TIMED_OUT_RESULT.retype()), timeout, unit);
+    future.whenComplete((result, thrown) -> {
+      timer.cancel(false);
+      timed.complete(settle(result, thrown));
+    });
+    return new AsyncResult<>(timed, executor);
+  }
+
+  // Getting the Result
+
+  /**
+   * Checks if this is known yet.
+   *
+   * @return {@code true} if it's known, otherwise {@code false}.
+   * @since 1.1.0
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  /**
+   * Waits for this to be known. This blocks, prefer chaining where possible.
+   *
+   * @return The Result.
+   * @since 1.1.0
+   */
+  public Result<T> join() {
+    return future.join();
+  }
+
+  /**
+   * Gets a {@link CompletableFuture} of the {@link Result}. Completing the returned future doesn't
+   * change this AsyncResult.
+   *
+   * @return A new future that completes with the Result.
+   * @since 1.1.0
+   */
+  public CompletableFuture<Result<T>> toFuture() {
+    return future.thenApply(Function.identity());
+  }
+
+  /**
+   * Gets a {@link CompletableFuture} of the element. The future completes exceptionally with the
+   * error if it's a {@link Throwable}, otherwise with a {@link NoSuchElementException}.
+   *
+   * @return A new future that completes with the element.
+   * @since 1.1.0
+   */
+  public CompletableFuture<T> toCompletableFuture() {
+    return future.thenApply(result -> {
+      if (result.isSuccess()) {
+        return result.get();
+      }
+      if (result.isError(Throwable.class)) {
+        throw new CompletionException((Throwable) result.getError());
+      }
+      throw new NoSuchElementException(result.isEmpty()
+          ? "The Result is empty."
+          : "The Result has an error: " + result.getError());
+    });
+  }
+
+  private <U> AsyncResult<U> then(Function<Result<T>, Result<U>> stage) {
+    return new AsyncResult<>(future.thenApplyAsync(stage, executor).handle(AsyncResult::settle),
+        executor);
+  }
+
+  // Turns a function throwing, or the executor refusing to run it, into the Error state.
+  private static <U> Result<U> settle(@Nullable Result<U> result, @Nullable Throwable thrown) {
+    if (thrown == null) {
+      return result == null ? Result.error(new NullPointerException("Null Result.")) : result;
+    }
+    return Result.error(thrown instanceof CompletionException && thrown.getCause() != null
+        ? thrown.getCause()
+        : thrown);
+  }
+
+  // Only called once all of them are done and none are in the Error state.
+  private static <U> Result<List<U>> elements(List<AsyncResult<? extends U>> results) {
+    final List<U> elements = new ArrayList<>(results.size());
+    for (AsyncResult<? extends U> result : results) {
+      final Result<? extends U> completed = result.future.join();
+      if (completed.isEmpty()) {
+        return Result.empty();
+      }
+      elements.add(completed.get());
+    }
+    return Result.of(elements);
+  }
+
+  private static Executor executor(Collection<? extends AsyncResult<?>> results) {
+    if (results.isEmpty()) {
+      return ForkJoinPool.commonPool();
+    }
+    final AsyncResult<?> first = results.iterator().next();
+    return first.executor;
+  }
+
+  private static <U> Result<U> firstError(List<AsyncResult<? extends U>> results) {
+    for (AsyncResult<? extends U> result : results) {
+      if (result.future.join().isError()) {
+        return Result.error(result.future.join().getError());
+      }
+    }
+    return Result.empty();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("AsyncResult[result=%s]", future.isDone() ? future.join() : "pending");
+  }
+}
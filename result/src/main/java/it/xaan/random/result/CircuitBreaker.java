@@ -0,0 +1,250 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a circuit breaker, which stops calling something that keeps failing so it has time to
+ * recover and callers fail fast instead of waiting on it. It starts {@link State#CLOSED}, calling
+ * through. After a number of errors in a row it turns {@link State#OPEN}, and every call returns
+ * {@link #REJECTED} without running. Once it's been open for long enough, the next call is let
+ * through as a trial. If the trial succeeds it closes again, otherwise it stays open for another
+ * period. A trial that hasn't finished by the end of another period, such as an {@link
+ * AsyncResult} that never completes, is given up on and the next call becomes a new trial.
+ * <p>
+ * Only the result of the current trial can close the breaker or open it again. A call that was let
+ * through before the breaker opened, or a trial that was given up on, can't close it by
+ * succeeding late.
+ * <p>
+ * Only Results in the Error state, and anything thrown, count as failures. The state is swapped
+ * atomically without locks, and a successful call when there were no failures doesn't write
+ * anything, so a closed breaker adds almost nothing to each call.
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class CircuitBreaker {
+
+  /**
+   * The error of calls that weren't run because the breaker was open.
+   */
+  public static final Failure REJECTED = Failure.of("The circuit breaker is open.");
+
+  private static final Result<?> REJECTED_RESULT = Result.error(REJECTED);
+
+  private final int threshold;
+  private final long openTime;
+  private final LongSupplier ticker;
+  // Replaced rather than changed, so a call can tell if it's still the one it was let through by.
+  private final AtomicReference<Status> status = new AtomicReference<>(
+      new Status(State.CLOSED, 0));
+  private final AtomicInteger failures = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Creates a new {@link CircuitBreaker}.
+   *
+   * @param threshold How many errors in a row open the breaker.
+   * @param openTime  How long the breaker stays open before letting a trial call through.
+   * @param unit      The {@link TimeUnit} of the open time.
+   * @since 1.1.0
+   */
+  public CircuitBreaker(final int threshold, final long openTime, final TimeUnit unit) {
+    this(threshold, openTime, unit, System::nanoTime);
+  }
+
+  // Used by tests to control time.
+  CircuitBreaker(final int threshold, final long openTime, final TimeUnit unit,
+      final LongSupplier ticker) {
+    if (threshold < 1 || openTime < 0) {
+      throw new IllegalArgumentException("The threshold must be at least 1 and the time positive.");
+    }
+    this.threshold = threshold;
+    this.openTime = unit.toNanos(openTime);
+    this.ticker = ticker;
+  }
+
+  /**
+   * Calls the {@link Supplier} if the breaker lets it through.
+   *
+   * @param supplier The supplier to call.
+   * @param <U>      The type of the Result.
+   * @return The Result the supplier returned, an error with the exception if it threw, or an error
+   * with {@link #REJECTED} if it wasn't called. Anything thrown that isn't a {@link
+   * RuntimeException} is counted as a failure and rethrown.
+   * @since 1.1.0
+   */
+  public <U> Result<U> call(Supplier<Result<U>> supplier) {
+    final Status token = tryAcquire();
+    if (token == null) {
+      return REJECTED_RESULT.retype();
+    }
+    boolean success = false;
+    try {
+      final Result<U> result = supplier.get();
+      success = !result.isError();
+      return result;
+    } catch (RuntimeException e) {
+      return Result.error(e);
+    } finally {
+      record(token, success);
+    }
+  }
+
+  /**
+   * Calls the {@link Supplier} if the breaker lets it through, counting the {@link AsyncResult}
+   * it returns once it's known.
+   *
+   * @param supplier The supplier to call.
+   * @param <U>      The type of the AsyncResult.
+   * @return The AsyncResult the supplier returned, an error with the exception if it threw, or an
+   * error with {@link #REJECTED} if it wasn't called. Anything thrown that isn't a {@link
+   * RuntimeException} is counted as a failure and rethrown.
+   * @since 1.1.0
+   */
+  public <U> AsyncResult<U> callAsync(Supplier<AsyncResult<U>> supplier) {
+    final Status token = tryAcquire();
+    if (token == null) {
+      return AsyncResult.completed(REJECTED_RESULT.retype());
+    }
+    final AsyncResult<U> result;
+    try {
+      result = Objects.requireNonNull(supplier.get(), "The supplier returned null.");
+    } catch (RuntimeException e) {
+      record(token, false);
+      return AsyncResult.error(e);
+    } catch (Throwable e) {
+      record(token, false);
+      throw e;
+    }
+    result.toFuture().whenComplete((known, thrown) -> record(token, thrown == null
+        && !known.isError()));
+    return result;
+  }
+
+  /**
+   * Gets the current {@link State}. An open breaker stays open until a trial call is let through,
+   * even if its time is up.
+   *
+   * @return The state.
+   * @since 1.1.0
+   */
+  public State state() {
+    return status.get().state;
+  }
+
+  /**
+   * Gets how many calls weren't run because the breaker was open.
+   *
+   * @return The amount of rejected calls.
+   * @since 1.1.0
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  // The status the call was let through by, or null if it wasn't.
+  @Nullable
+  private Status tryAcquire() {
+    final Status current = status.get();
+    if (current.state == State.CLOSED) {
+      return current;
+    }
+    // Open for long enough, or the trial has taken as long and is given up on. Only the one thread
+    // that replaces the status gets the new trial, and when it started comes with it.
+    final long now = ticker.getAsLong();
+    if (now - current.since >= openTime) {
+      final Status trial = new Status(State.HALF_OPEN, now);
+      if (status.compareAndSet(current, trial)) {
+        return trial;
+      }
+    }
+    rejected.increment();
+    return null;
+  }
+
+  private void record(Status token, boolean success) {
+    if (token.state == State.HALF_OPEN) {
+      // A trial that was given up on is no longer the status, so it changes nothing.
+      if (status.get() == token && status.compareAndSet(token, success
+          ? new Status(State.CLOSED, 0) : new Status(State.OPEN, ticker.getAsLong())) && success) {
+        failures.set(0);
+      }
+      return;
+    }
+    // A call let through while closed can't close the breaker, even if it finishes after it opened.
+    if (success) {
+      if (failures.get() != 0) {
+        failures.set(0);
+      }
+      return;
+    }
+    final Status current = status.get();
+    if (failures.incrementAndGet() >= threshold && current.state == State.CLOSED) {
+      status.compareAndSet(current, new Status(State.OPEN, ticker.getAsLong()));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CircuitBreaker[state=%s,failures=%s,rejected=%s]", state(),
+        failures.get(), rejected());
+  }
+
+  /**
+   * Represents the states of a {@link CircuitBreaker}.
+   *
+   * @since 1.1.0
+   */
+  public enum State {
+    /**
+     * Calls are let through.
+     */
+    CLOSED,
+    /**
+     * Calls are rejected.
+     */
+    OPEN,
+    /**
+     * A single trial call has been let through, and the rest are rejected until it's done or it
+     * has taken as long as the breaker stays open.
+     */
+    HALF_OPEN
+  }
+
+  // The state, and when the breaker opened or the trial started.
+  private static final class Status {
+
+    private final State state;
+    private final long since;
+
+    Status(final State state, final long since) {
+      this.state = state;
+      this.since = since;
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Represents the errors of a {@link Validation}, in the order they were found. Errors are never
+ * copied: joining two of them makes one node that points at both, so every Validation made along
+ * the way shares the errors it was made from.
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Errors implements Iterable<Object> {
+
+  // Each side is either another Errors or a single error, the second is null for a single error.
+  private final Object first;
+  private final Object second;
+  private final int size;
+
+  private Errors(final Object first, final Object second, final int size) {
+    this.first = first;
+    this.second = second;
+    this.size = size;
+  }
+
+  /**
+   * Creates {@link Errors} holding a single error.
+   *
+   * @param error The error.
+   * @return New Errors of the one error.
+   * @since 1.1.0
+   */
+  public static Errors of(Object error) {
+    return new Errors(Objects.requireNonNull(error), null, 1);
+  }
+
+  /**
+   * Joins these {@link Errors} with others, which come after these ones. Neither is copied.
+   *
+   * @param other The errors that come after these.
+   * @return New Errors of both.
+   * @since 1.1.0
+   */
+  public Errors concat(Errors other) {
+    return new Errors(unwrap(this), unwrap(other), size + other.size);
+  }
+
+  /**
+   * Gets the amount of errors.
+   *
+   * @return The amount of errors, which is at least one.
+   * @since 1.1.0
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the first error.
+   *
+   * @return The first error.
+   * @since 1.1.0
+   */
+  public Object head() {
+    Object current = this;
+    while (current instanceof Errors) {
+      current = ((Errors) current).first;
+    }
+    return current;
+  }
+
+  /**
+   * Gets every error, in order.
+   *
+   * @return A new unmodifiable list of the errors.
+   * @since 1.1.0
+   */
+  public List<Object> toList() {
+    final List<Object> list = new ArrayList<>(size);
+    forEach(list::add);
+    return Collections.unmodifiableList(list);
+  }
+
+  @Override
+  public void forEach(Consumer<? super Object> action) {
+    // Joins can nest deeply on either side, so this walks with a stack rather than recursing.
+    final Deque<Object> pending = new ArrayDeque<>();
+    pending.push(this);
+    while (!pending.isEmpty()) {
+      Object current = pending.pop();
+      while (current instanceof Errors) {
+        final Errors errors = (Errors) current;
+        if (errors.second != null) {
+          pending.push(errors.second);
+        }
+        current = errors.first;
+      }
+      action.accept(current);
+    }
+  }
+
+  @Override
+  public Iterator<Object> iterator() {
+    return new Iterator<Object>() {
+      private final Deque<Object> pending = new ArrayDeque<>(Collections.singleton(Errors.this));
+
+      @Override
+      public boolean hasNext() {
+        return !pending.isEmpty();
+      }
+
+      @Override
+      public Object next() {
+        if (pending.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        Object current = pending.pop();
+        while (current instanceof Errors) {
+          final Errors errors = (Errors) current;
+          if (errors.second != null) {
+            pending.push(errors.second);
+          }
+          current = errors.first;
+        }
+        return current;
+      }
+    };
+  }
+
+  // A single error is kept as itself inside a join, so it doesn't need a node of its own.
+  private static Object unwrap(Errors errors) {
+    return errors.second == null ? errors.first : errors;
+  }
+
+  @Override
+  public int hashCode() {
+    return toList().hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Errors)) {
+      return false;
+    }
+    Errors other = (Errors) obj;
+    return size == other.size && toList().equals(other.toList());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Errors[errors=%s]", toList());
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+/**
+ * Represents an error that is cheap to make and to throw. Unlike most exceptions it doesn't fill in
+ * a stack trace, which is most of the cost of an exception, and it can't have suppressed
+ * exceptions, so one made ahead of time can be shared and thrown over and over.
+ * <pre>{@code
+ * private static final Failure NOT_FOUND = Failure.of("Not found.");
+ *
+ * Result<User> user = Result.attempt(() -> find(id), NOT_FOUND);
+ * }</pre>
+ * Failures are compared by identity, so {@link Result#isError(Class)} or {@code ==} against the
+ * constant tells them apart.
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Failure extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private Failure(final String message) {
+    super(message, null, false, false);
+  }
+
+  /**
+   * Creates a new {@link Failure}. It's meant to be made once and kept, such as in a constant.
+   *
+   * @param message The message describing the failure.
+   * @return A new Failure without a stack trace.
+   * @since 1.1.0
+   */
+  public static Failure of(String message) {
+    return new Failure(message);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Failure[message=%s]", getMessage());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+/**
+ * Checks text before it's parsed by the primitive Results, so that text that obviously isn't a
+ * number is turned into an error without the parser throwing. Throwing is far slower than parsing,
+ * most of it being the stack trace, which matters when a lot of the input is bad.
+ * <p>
+ * The checks can let through text the parser turns down, such as a number that overflows, but
+ * never turn down text it accepts.
+ */
+final class Numbers {
+
+  private Numbers() {
+  }
+
+  static boolean looksLikeInt(String text) {
+    return looksLikeWhole(text);
+  }
+
+  static boolean looksLikeLong(String text) {
+    return looksLikeWhole(text);
+  }
+
+  // Double.parseDouble also takes hex, NaN, Infinity and whitespace around the number, only the
+  // start is checked.
+  static boolean looksLikeDouble(String text) {
+    int start = 0;
+    while (start < text.length() && text.charAt(start) <= ' ') {
+      start++;
+    }
+    if (start == text.length()) {
+      return false;
+    }
+    final char first = text.charAt(start);
+    return (first >= '0' && first <= '9')
+        || first == '+' || first == '-' || first == '.' || first == 'N' || first == 'I';
+  }
+
+  // The same as Integer.parseInt and Long.parseLong take, which includes digits of every script.
+  private static boolean looksLikeWhole(String text) {
+    if (text.isEmpty()) {
+      return false;
+    }
+    final int start = text.charAt(0) == '-' || text.charAt(0) == '+' ? 1 : 0;
+    if (start == text.length()) {
+      return false;
+    }
+    for (int i = start; i < text.length(); i++) {
+      if (Character.digit(text.charAt(i), 10) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Makes the exception for text that can't be parsed, without a stack trace. The parse methods
+   * are the only place it's made from, so the trace wouldn't say anything.
+   *
+   * @param text The text that couldn't be parsed.
+   * @return A new exception.
+   */
+  static NumberFormatException invalid(String text) {
+    return new NumberFormatException("For input string: \"" + text + "\"") {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public synchronized Throwable fillInStackTrace() {
+        return this;
+      }
+    };
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents {@link Result}s split up by their state, made by {@link Result#partitioning()}.
+ *
+ * @param <T> The type of the elements.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Partition<T> {
+
+  private final List<T> successes = new ArrayList<>();
+  private final List<Object> errors = new ArrayList<>();
+  private int empties;
+
+  Partition() {
+  }
+
+  void add(Result<? extends T> result) {
+    if (result.isSuccess()) {
+      successes.add(result.get());
+    } else if (result.isError()) {
+      errors.add(result.getError());
+    } else {
+      empties++;
+    }
+  }
+
+  Partition<T> merge(Partition<T> other) {
+    successes.addAll(other.successes);
+    errors.addAll(other.errors);
+    empties += other.empties;
+    return this;
+  }
+
+  /**
+   * Gets the elements of the {@link Result}s in the Success state, in order.
+   *
+   * @return An unmodifiable list of the elements.
+   * @since 1.1.0
+   */
+  public List<T> successes() {
+    return Collections.unmodifiableList(successes);
+  }
+
+  /**
+   * Gets the errors of the {@link Result}s in the Error state, in order.
+   *
+   * @return An unmodifiable list of the errors.
+   * @since 1.1.0
+   */
+  public List<Object> errors() {
+    return Collections.unmodifiableList(errors);
+  }
+
+  /**
+   * Gets how many {@link Result}s were in the Empty state.
+   *
+   * @return The amount of empty Results.
+   * @since 1.1.0
+   */
+  public int empties() {
+    return empties;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Partition[successes=%s,errors=%s,empties=%s]", successes, errors,
+        empties);
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a chain of {@link Result#map(Function)}, {@link Result#filter(Predicate)} and {@link
+ * Result#flatMap(Function)} calls that is built once and run many times. Nothing runs while
+ * building, and running goes through every step in one pass without making a Result between the
+ * steps. Only the final Result is made, and a Result that isn't in the Success state is passed
+ * through as is.
+ * <pre>{@code
+ * Pipeline<String, Integer> port = Pipeline.<String>start()
+ *     .map(String::trim)
+ *     .filter(text -> !text.isEmpty())
+ *     .flatMap(text -> IntResult.parse(text).boxed());
+ * Result<Integer> result = port.apply(config.get("port"));
+ * }</pre>
+ * Pipelines are immutable, every step returns a new Pipeline, so they can be kept as constants and
+ * shared across threads as long as the steps can be. Every step is called from the same place, so
+ * a short chain of {@link Result#map(Function)} calls that the JIT can inline is faster when it
+ * succeeds.
+ *
+ * @param <T> The type of the element going in.
+ * @param <R> The type of the element coming out.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess", "unchecked"})
+public final class Pipeline<T, R> {
+
+  private static final Pipeline<?, ?> START = new Pipeline<>(new byte[0], new Object[0]);
+
+  private static final byte MAP = 0;
+  private static final byte FILTER = 1;
+  private static final byte FLAT_MAP = 2;
+
+  // Kept as two arrays so running doesn't have to go through a step object.
+  private final byte[] kinds;
+  private final Object[] steps;
+
+  private Pipeline(final byte[] kinds, final Object[] steps) {
+    this.kinds = kinds;
+    this.steps = steps;
+  }
+
+  /**
+   * Gets a {@link Pipeline} with no steps, which returns what it's given.
+   *
+   * @param <U> The type of the element.
+   * @return A Pipeline with no steps.
+   * @since 1.1.0
+   */
+  public static <U> Pipeline<U, U> start() {
+    return (Pipeline<U, U>) START;
+  }
+
+  /**
+   * Adds a step that maps the element. See {@link Result#map(Function)}.
+   *
+   * @param func The function to map from the current element to a new one. If it returns null the
+   *             Pipeline stops with an empty Result.
+   * @param <U>  The type of the new element.
+   * @return A new Pipeline with the step added.
+   * @since 1.1.0
+   */
+  public <U> Pipeline<T, U> map(Function<? super R, ? extends U> func) {
+    return then(MAP, func);
+  }
+
+  /**
+   * Adds a step that filters the element. See {@link Result#filter(Predicate)}.
+   *
+   * @param filter The predicate to test against. If it returns false the Pipeline stops with an
+   *               empty Result.
+   * @return A new Pipeline with the step added.
+   * @since 1.1.0
+   */
+  public Pipeline<T, R> filter(Predicate<? super R> filter) {
+    return then(FILTER, filter);
+  }
+
+  /**
+   * Adds a step that flatmaps the element. See {@link Result#flatMap(Function)}.
+   *
+   * @param func The function to map from the current element to a new Result. If the Result isn't
+   *             in the Success state the Pipeline stops with it.
+   * @param <U>  The type of the new element.
+   * @return A new Pipeline with the step added.
+   * @since 1.1.0
+   */
+  public <U> Pipeline<T, U> flatMap(Function<? super R, Result<U>> func) {
+    return then(FLAT_MAP, func);
+  }
+
+  /**
+   * Runs the steps on the element of the {@link Result}.
+   *
+   * @param result The Result to run on.
+   * @return The Result of the last step, or the Result passed if it isn't in the Success state.
+   * @since 1.1.0
+   */
+  public Result<R> apply(Result<? extends T> result) {
+    return result.isSuccess() ? apply(result.get()) : (Result<R>) result;
+  }
+
+  /**
+   * Runs the steps on the element.
+   *
+   * @param element The possibly-null element to run on. If it's null the Result is empty.
+   * @return The Result of the last step.
+   * @since 1.1.0
+   */
+  public Result<R> apply(@Nullable T element) {
+    Object current = element;
+    final byte[] kinds = this.kinds;
+    final Object[] steps = this.steps;
+    for (int i = 0; i < kinds.length && current != null; i++) {
+      switch (kinds[i]) {
+        case MAP:
+          current = ((Function<Object, Object>) steps[i]).apply(current);
+          break;
+        case FILTER:
+          if (!((Predicate<Object>) steps[i]).test(current)) {
+            return Result.empty();
+          }
+          break;
+        default:
+          Result<Object> next = ((Function<Object, Result<Object>>) steps[i]).apply(current);
+          if (!next.isSuccess()) {
+            return (Result<R>) (Result<?>) next;
+          }
+          current = next.get();
+      }
+    }
+    return Result.ofNullable((R) current);
+  }
+
+  /**
+   * Gets the amount of steps in this {@link Pipeline}.
+   *
+   * @return The amount of steps.
+   * @since 1.1.0
+   */
+  public int size() {
+    return kinds.length;
+  }
+
+  private <U> Pipeline<T, U> then(byte kind, Object step) {
+    Objects.requireNonNull(step);
+    byte[] kinds = Arrays.copyOf(this.kinds, this.kinds.length + 1);
+    Object[] steps = Arrays.copyOf(this.steps, this.steps.length + 1);
+    kinds[kinds.length - 1] = kind;
+    steps[steps.length - 1] = step;
+    return new Pipeline<>(kinds, steps);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Pipeline[size=%s]", kinds.length);
+  }
+}
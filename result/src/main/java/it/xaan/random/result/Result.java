@@ -17,13 +17,21 @@
  */
 package it.xaan.random.result;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 import javax.annotation.Nullable;
 
 /**
@@ -112,6 +120,157 @@ public final class Result<T> {
     return (Result<U>) EMPTY;
   }
 
+  /**
+   * Runs the {@link ThrowingSupplier}, turning an exception it throws into the Error state, without
+   * having to catch it.
+   *
+   * @param supplier The supplier to run.
+   * @param <U>      The type of the Result.
+   * @return A Result in the Success state with the returned element, the Empty state if the
+   * supplier returned null, or the Error state with the exception if it threw.
+   * @since 1.1.0
+   */
+  public static <U> Result<U> attempt(ThrowingSupplier<? extends U> supplier) {
+    try {
+      return ofNullable(supplier.get());
+    } catch (Exception e) {
+      return error(interrupted(e));
+    }
+  }
+
+  /**
+   * Runs the {@link ThrowingSupplier}, returning the passed Result if it throws. When the failure
+   * is made once and kept, such as {@code Result.error(Failure.of("Not found."))}, the exception is
+   * dropped straight away and the Error state costs nothing. Making the exception still costs the
+   * code that throws it, which is cheap if that code throws a {@link Failure} it kept.
+   *
+   * @param supplier The supplier to run.
+   * @param failure  The Result in the Error or Empty state to return if the supplier throws.
+   * @param <U>      The type of the Result.
+   * @return A Result in the Success state with the returned element, the Empty state if the
+   * supplier returned null, or the failure if it threw.
+   * @throws IllegalArgumentException If the failure is in the Success state.
+   * @since 1.1.0
+   */
+  public static <U> Result<U> attempt(ThrowingSupplier<? extends U> supplier, Result<?> failure) {
+    checkFailure(failure);
+    try {
+      return ofNullable(supplier.get());
+    } catch (Exception e) {
+      interrupted(e);
+      return failure.retype();
+    }
+  }
+
+  /**
+   * Runs the {@link Supplier}, retrying it as the {@link RetryPolicy} says, and waits for the
+   * Result. The attempts run on the common {@link ForkJoinPool} and the waits between them are
+   * timers, but the calling thread is blocked until the last attempt is done. Prefer {@link
+   * AsyncResult#retrying(RetryPolicy, Supplier)} where the caller shouldn't wait.
+   *
+   * @param policy   The policy to retry by.
+   * @param supplier The supplier to run.
+   * @param <U>      The type of the Result.
+   * @return The Result of the last attempt, or an error with the exception if it threw.
+   * @since 1.1.0
+   */
+  public static <U> Result<U> retrying(RetryPolicy policy, Supplier<Result<U>> supplier) {
+    return AsyncResult.retrying(policy, supplier).join();
+  }
+
+  // Bulk
+
+  /**
+   * Turns {@link Result}s into one Result of every element. This stops at the first Result in the
+   * Error state without looking at the rest.
+   *
+   * @param results The Results to go over, in order.
+   * @param <U>     The type of the elements.
+   * @return A Result in the Success state with every element in order if all of them are in the
+   * Success state. Otherwise the first Result in the Error state, or Empty if there is none.
+   * @since 1.1.0
+   */
+  public static <U> Result<List<U>> sequence(Iterable<? extends Result<? extends U>> results) {
+    final List<U> elements = results instanceof Collection
+        ? new ArrayList<>(((Collection<?>) results).size())
+        : new ArrayList<>();
+    boolean empty = false;
+    for (Result<? extends U> result : results) {
+      if (result.isError()) {
+        return result.retype();
+      }
+      // Keep going after an empty one, as an error later on takes its place.
+      empty |= result.isEmpty();
+      if (!empty) {
+        elements.add(result.element);
+      }
+    }
+    return empty ? empty() : of(elements);
+  }
+
+  /**
+   * Maps every item to a {@link Result} and turns them into one Result of every element, the same
+   * as {@link #sequence(Iterable)}. The function isn't called for any item after the first one
+   * that it returns an error for.
+   *
+   * @param items The items to map, in order.
+   * @param func  The function to map an item to a Result.
+   * @param <A>   The type of the items.
+   * @param <U>   The type of the elements.
+   * @return A Result in the Success state with every element in order if the function returned a
+   * Success for every item. Otherwise the first Error it returned, or Empty if there is none.
+   * @since 1.1.0
+   */
+  public static <A, U> Result<List<U>> traverse(Collection<? extends A> items,
+      Function<? super A, ? extends Result<? extends U>> func) {
+    final List<U> elements = new ArrayList<>(items.size());
+    boolean empty = false;
+    for (A item : items) {
+      final Result<? extends U> result = func.apply(item);
+      if (result.isError()) {
+        return result.retype();
+      }
+      empty |= result.isEmpty();
+      if (!empty) {
+        elements.add(result.element);
+      }
+    }
+    return empty ? empty() : of(elements);
+  }
+
+  /**
+   * Does the same as {@link #traverse(Collection, Function)}, splitting the items over the {@link
+   * ForkJoinPool}. Once an item maps to an error, parts that haven't started are skipped and parts
+   * that have stop at their next item.
+   *
+   * @param items The items to map.
+   * @param func  The function to map an item to a Result, which must be safe to call from many
+   *              threads at once.
+   * @param pool  The pool to run on.
+   * @param <A>   The type of the items.
+   * @param <U>   The type of the elements.
+   * @return A Result in the Success state with every element in order if the function returned a
+   * Success for every item. Otherwise an Error it returned, which isn't always the first in order,
+   * or Empty if there is none.
+   * @since 1.1.0
+   */
+  public static <A, U> Result<List<U>> traverse(List<? extends A> items,
+      Function<? super A, ? extends Result<? extends U>> func, ForkJoinPool pool) {
+    return pool.invoke(new Traverse<>(items, func));
+  }
+
+  /**
+   * Gets a {@link Collector} that splits {@link Result}s into their elements, their errors and how
+   * many are empty, in one pass.
+   *
+   * @param <U> The type of the elements.
+   * @return A Collector of a {@link Partition}.
+   * @since 1.1.0
+   */
+  public static <U> Collector<Result<? extends U>, ?, Partition<U>> partitioning() {
+    return Collector.of(Partition::new, Partition::add, Partition::merge);
+  }
+
   // Checks
 
   /**
@@ -241,26 +400,17 @@ public final class Result<T> {
    * Maps the current {@link Result} to a new Result. The passed {@link Function} will only be
    * called when the Result is in a Success state. If the function returns null this will return an
    * empty instance, otherwise it returns a new Result with the returned element. In any other state
-   * a new Result is returned with the same information.
+   * the current instance is returned, as it has no element to be typed by.
    *
    * @param func The function to map from the current element to a new one.
    * @param <U>  The type of the new Result.
    * @return If the current Result is in the Success state, new Result in the Empty state if the
-   * function returns null, or a Success state with the new element. In any other state a new
-   * Result is returned with the same information.
+   * function returns null, or a Success state with the new element. In any other state the current
+   * instance.
    * @since 1.0.0
    */
   public <U> Result<U> map(Function<? super T, U> func) {
-    if (isEmpty()) {
-      return empty();
-    } else if (isSuccess()) {
-      return ofNullable(func.apply(this.element));
-    } else {
-      // IntelliJ disagrees but it's not empty or a success, it's an error.
-      return error(
-          Objects.requireNonNull(
-              this.error, "Should never happen. If this ever happens the world is ending."));
-    }
+    return isSuccess() ? ofNullable(func.apply(this.element)) : retype();
   }
 
   /**
@@ -270,21 +420,110 @@ public final class Result<T> {
    * @param func The function to map from the current element to a new one.
    * @param <U>  The type of the new Result.
    * @return If the current Result is in the Success state, the Result returned from the function.
-   * In any other state a new Result is returned with the same information.
+   * In any other state the current instance.
    * @since 1.0.0
    */
   public <U> Result<U> flatMap(Function<T, Result<U>> func) {
-    if (isEmpty()) {
-      return empty();
-    } else if (isSuccess()) {
-      return func.apply(this.element);
-    } else {
-      return error(
-          Objects.requireNonNull(
-              this.error, "Should never happen. If this ever happens the world is ending."));
+    return isSuccess() ? func.apply(this.element) : retype();
+  }
+
+  /**
+   * Maps the current {@link Result} with a function that can throw. See {@link #map(Function)} and
+   * {@link #attempt(ThrowingSupplier)}.
+   *
+   * @param func The function to map from the current element to a new one.
+   * @param <U>  The type of the new Result.
+   * @return If the current Result is in the Success state, a new Result with the new element, in
+   * the Empty state if the function returned null, or in the Error state with the exception if it
+   * threw. In any other state the current instance.
+   * @since 1.1.0
+   */
+  public <U> Result<U> attemptMap(ThrowingFunction<? super T, ? extends U> func) {
+    if (!isSuccess()) {
+      return retype();
+    }
+    try {
+      return ofNullable(func.apply(this.element));
+    } catch (Exception e) {
+      return error(interrupted(e));
     }
   }
 
+  /**
+   * Maps the current {@link Result} with a function that can throw, returning the passed Result
+   * if it does. See {@link #attempt(ThrowingSupplier, Result)}.
+   *
+   * @param func    The function to map from the current element to a new one.
+   * @param failure The Result in the Error or Empty state to return if the function throws.
+   * @param <U>     The type of the new Result.
+   * @return If the current Result is in the Success state, a new Result with the new element, in
+   * the Empty state if the function returned null, or the failure if it threw. In any other state
+   * the current instance.
+   * @throws IllegalArgumentException If the failure is in the Success state.
+   * @since 1.1.0
+   */
+  public <U> Result<U> attemptMap(ThrowingFunction<? super T, ? extends U> func,
+      Result<?> failure) {
+    checkFailure(failure);
+    if (!isSuccess()) {
+      return retype();
+    }
+    try {
+      return ofNullable(func.apply(this.element));
+    } catch (Exception e) {
+      interrupted(e);
+      return failure.retype();
+    }
+  }
+
+  /**
+   * Maps the current {@link Result} to an {@link IntResult}, without boxing the new element. The
+   * passed {@link ToIntFunction} will only be called when the Result is in a Success state.
+   *
+   * @param func The function to map from the current element to an {@code int}.
+   * @return If the current Result is in the Success state, a new IntResult in the Success state
+   * with the new element. In any other state, a IntResult with the same information.
+   * @since 1.1.0
+   */
+  public IntResult mapToInt(ToIntFunction<? super T> func) {
+    if (isSuccess()) {
+      return IntResult.of(func.applyAsInt(this.element));
+    }
+    return isEmpty() ? IntResult.empty() : IntResult.error(this.error);
+  }
+
+  /**
+   * Maps the current {@link Result} to a {@link LongResult}, without boxing the new element. The
+   * passed {@link ToLongFunction} will only be called when the Result is in a Success state.
+   *
+   * @param func The function to map from the current element to a {@code long}.
+   * @return If the current Result is in the Success state, a new LongResult in the Success state
+   * with the new element. In any other state, a LongResult with the same information.
+   * @since 1.1.0
+   */
+  public LongResult mapToLong(ToLongFunction<? super T> func) {
+    if (isSuccess()) {
+      return LongResult.of(func.applyAsLong(this.element));
+    }
+    return isEmpty() ? LongResult.empty() : LongResult.error(this.error);
+  }
+
+  /**
+   * Maps the current {@link Result} to a {@link DoubleResult}, without boxing the new element. The
+   * passed {@link ToDoubleFunction} will only be called when the Result is in a Success state.
+   *
+   * @param func The function to map from the current element to a {@code double}.
+   * @return If the current Result is in the Success state, a new DoubleResult in the Success state
+   * with the new element. In any other state, a DoubleResult with the same information.
+   * @since 1.1.0
+   */
+  public DoubleResult mapToDouble(ToDoubleFunction<? super T> func) {
+    if (isSuccess()) {
+      return DoubleResult.of(func.applyAsDouble(this.element));
+    }
+    return isEmpty() ? DoubleResult.empty() : DoubleResult.error(this.error);
+  }
+
   /**
    * Retrieves the current element from this {@link Result} if it's in a Success state, otherwise
    * errors.
@@ -346,6 +585,7 @@ public final class Result<T> {
    * Retrieves the current element from this {@link Result} if it's in a success state, otherwise
    * returns the result of the passed {@link Supplier}. It should be noted that while this is marked
    * as nullable, it's not possible for this to return null unless you the supplier returns null.
+   * The supplier is only called if this Result isn't in a Success state.
    *
    * @param supplier The supplier to default to.
    * @return The current value, or the return value of the supplier passed if this Result isn't in a
@@ -354,7 +594,7 @@ public final class Result<T> {
    */
   @Nullable
   public T orElseGet(Supplier<T> supplier) {
-    return orElse(supplier.get());
+    return isSuccess() ? element : supplier.get();
   }
 
   /**
@@ -373,10 +613,31 @@ public final class Result<T> {
     throw supplier.get();
   }
 
+  // Error and empty Results have no element, so they're the same whatever their type.
+  @SuppressWarnings("unchecked")
+  <U> Result<U> retype() {
+    return (Result<U>) this;
+  }
+
+  private static void checkFailure(Result<?> failure) {
+    if (failure.isSuccess()) {
+      throw new IllegalArgumentException("The failure can't be a success.");
+    }
+  }
+
+  // Catching an InterruptedException clears the flag, so it's put back for the caller to see.
+  private static Exception interrupted(Exception e) {
+    if (e instanceof InterruptedException) {
+      Thread.currentThread().interrupt();
+    }
+    return e;
+  }
+
   // Overrides
   @Override
   public int hashCode() {
-    return Objects.hash(this.element, this.error);
+    // Same as Objects.hash(element, error), without the array.
+    return 31 * (31 + Objects.hashCode(this.element)) + Objects.hashCode(this.error);
   }
 
   @Override
@@ -395,4 +656,46 @@ public final class Result<T> {
   public String toString() {
     return String.format("Result[element=%s,error=%s]", this.element, this.error);
   }
+
+  /**
+   * Represents a {@link Supplier} that can throw, for {@link #attempt(ThrowingSupplier)}.
+   *
+   * @param <T> The type of the element.
+   * @since 1.1.0
+   */
+  @FunctionalInterface
+  public interface ThrowingSupplier<T> {
+
+    /**
+     * Gets the element.
+     *
+     * @return The possibly-null element.
+     * @throws Exception If it can't be gotten.
+     * @since 1.1.0
+     */
+    @Nullable
+    T get() throws Exception;
+  }
+
+  /**
+   * Represents a {@link Function} that can throw, for {@link #attemptMap(ThrowingFunction)}.
+   *
+   * @param <T> The type of the element going in.
+   * @param <R> The type of the element coming out.
+   * @since 1.1.0
+   */
+  @FunctionalInterface
+  public interface ThrowingFunction<T, R> {
+
+    /**
+     * Maps the element.
+     *
+     * @param element The element to map.
+     * @return The possibly-null new element.
+     * @throws Exception If it can't be mapped.
+     * @since 1.1.0
+     */
+    @Nullable
+    R apply(T element) throws Exception;
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Runs the attempts of AsyncResult.retrying. Each attempt runs on the executor, and the wait before
+// the next one is a timer on the scheduler, so no thread is held while waiting.
+final class Retry<T> implements Runnable {
+
+  private final RetryPolicy policy;
+  private final Supplier<Result<T>> supplier;
+  private final Executor executor;
+  private final ScheduledExecutorService scheduler;
+  private final CompletableFuture<Result<T>> future = new CompletableFuture<>();
+  // Only touched by one attempt at a time, each handed over through the executor.
+  private int attempt;
+
+  Retry(final RetryPolicy policy, final Supplier<Result<T>> supplier, final Executor executor,
+      final ScheduledExecutorService scheduler) {
+    this.policy = policy;
+    this.supplier = supplier;
+    this.executor = executor;
+    this.scheduler = scheduler;
+  }
+
+  CompletableFuture<Result<T>> start() {
+    submit();
+    return future;
+  }
+
+  @Override
+  public void run() {
+    Result<T> result;
+    try {
+      result = supplier.get();
+      if (result == null) {
+        result = Result.error(new NullPointerException("Null Result."));
+      }
+    } catch (RuntimeException e) {
+      result = Result.error(e);
+    }
+    attempt++;
+    if (!policy.shouldRetry(attempt, result)) {
+      future.complete(result);
+      return;
+    }
+    final long delay = policy.delay(attempt);
+    if (delay == 0) {
+      submit();
+      return;
+    }
+    try {
+      scheduler.schedule(this::submit, delay, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      future.complete(Result.error(e));
+    }
+  }
+
+  private void submit() {
+    try {
+      executor.execute(this);
+    } catch (RejectedExecutionException e) {
+      future.complete(Result.error(e));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Represents how an operation returning a {@link Result} is retried, see {@link
+ * AsyncResult#retrying(RetryPolicy, java.util.function.Supplier)}. Only the Error state is retried,
+ * and the wait between attempts grows by a multiplier each time, up to a maximum. Policies can't
+ * be changed, each method returns a new one.
+ * <pre>{@code
+ * RetryPolicy policy = RetryPolicy.attempts(5)
+ *     .withBackoff(50, 2_000, TimeUnit.MILLISECONDS)
+ *     .withJitter()
+ *     .retryingOn(error -> error instanceof IOException);
+ * }</pre>
+ *
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class RetryPolicy {
+
+  private final int attempts;
+  private final long initialDelay;
+  private final long maxDelay;
+  private final double multiplier;
+  private final boolean jitter;
+  private final Predicate<Object> retryOn;
+
+  private RetryPolicy(final int attempts, final long initialDelay, final long maxDelay,
+      final double multiplier, final boolean jitter, final Predicate<Object> retryOn) {
+    this.attempts = attempts;
+    this.initialDelay = initialDelay;
+    this.maxDelay = maxDelay;
+    this.multiplier = multiplier;
+    this.jitter = jitter;
+    this.retryOn = retryOn;
+  }
+
+  /**
+   * Creates a {@link RetryPolicy} that retries every error straight away.
+   *
+   * @param attempts How many times to try at most, including the first.
+   * @return A new RetryPolicy.
+   * @since 1.1.0
+   */
+  public static RetryPolicy attempts(int attempts) {
+    if (attempts < 1) {
+      throw new IllegalArgumentException("There must be at least one attempt.");
+    }
+    return new RetryPolicy(attempts, 0, 0, 2, false, error -> true);
+  }
+
+  /**
+   * Waits before each retry, doubling the wait every time. See {@link #withMultiplier(double)}.
+   *
+   * @param initialDelay How long to wait before the first retry.
+   * @param maxDelay     The longest to wait before any retry.
+   * @param unit         The {@link TimeUnit} of the delays.
+   * @return A new RetryPolicy.
+   * @since 1.1.0
+   */
+  public RetryPolicy withBackoff(long initialDelay, long maxDelay, TimeUnit unit) {
+    if (initialDelay < 0 || maxDelay < initialDelay) {
+      throw new IllegalArgumentException("The delays must be positive and in order.");
+    }
+    return new RetryPolicy(attempts, unit.toNanos(initialDelay), unit.toNanos(maxDelay), multiplier,
+        jitter, retryOn);
+  }
+
+  /**
+   * Changes how much the wait grows by after each retry.
+   *
+   * @param multiplier What the wait is multiplied by, at least 1.
+   * @return A new RetryPolicy.
+   * @since 1.1.0
+   */
+  public RetryPolicy withMultiplier(double multiplier) {
+    if (!(multiplier >= 1)) {
+      throw new IllegalArgumentException("The multiplier must be at least 1.");
+    }
+    return new RetryPolicy(attempts, initialDelay, maxDelay, multiplier, jitter, retryOn);
+  }
+
+  /**
+   * Waits a random amount between half and all of each delay, so that callers which failed at
+   * the same time don't all retry at the same time.
+   *
+   * @return A new RetryPolicy.
+   * @since 1.1.0
+   */
+  public RetryPolicy withJitter() {
+    return new RetryPolicy(attempts, initialDelay, maxDelay, multiplier, true, retryOn);
+  }
+
+  /**
+   * Only retries errors that pass the {@link Predicate}.
+   *
+   * @param retryOn The predicate to test errors with.
+   * @return A new RetryPolicy.
+   * @since 1.1.0
+   */
+  public RetryPolicy retryingOn(Predicate<Object> retryOn) {
+    return new RetryPolicy(attempts, initialDelay, maxDelay, multiplier, jitter, retryOn);
+  }
+
+  /**
+   * Gets how many times to try at most.
+   *
+   * @return The amount of attempts, including the first.
+   * @since 1.1.0
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  boolean shouldRetry(int attempt, Result<?> result) {
+    return attempt < attempts && result.isError() && retryOn.test(result.getError());
+  }
+
+  // The wait after the attempt, in nanoseconds, the first attempt being 1.
+  long delay(int attempt) {
+    final double grown = initialDelay * Math.pow(multiplier, attempt - 1);
+    final long delay = grown >= maxDelay ? maxDelay : (long) grown;
+    if (!jitter || delay < 2) {
+      return delay;
+    }
+    final long half = delay >> 1;
+    return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("RetryPolicy[attempts=%s,initialDelay=%s,maxDelay=%s,multiplier=%s,"
+        + "jitter=%s]", attempts, initialDelay, maxDelay, multiplier, jitter);
+  }
+}
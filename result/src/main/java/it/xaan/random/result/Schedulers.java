@@ -0,0 +1,51 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+// The scheduler used for delays when one isn't passed. It only starts and cancels timers, the work
+// they lead to runs on an executor, so one daemon thread is enough for the whole process.
+final class Schedulers {
+
+  private Schedulers() {
+  }
+
+  static ScheduledExecutorService shared() {
+    return Holder.SHARED;
+  }
+
+  // Only made the first time it's needed.
+  private static final class Holder {
+
+    private static final ScheduledExecutorService SHARED = create();
+
+    private static ScheduledExecutorService create() {
+      final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, run -> {
+        Thread thread = new Thread(run, "Result-scheduler");
+        thread.setDaemon(true);
+        return thread;
+      });
+      // Timeouts are mostly cancelled, so they're dropped straight away rather than kept until due.
+      scheduler.setRemoveOnCancelPolicy(true);
+      return scheduler;
+    }
+  }
+}
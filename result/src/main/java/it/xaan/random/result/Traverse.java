@@ -0,0 +1,102 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Runs {@link Result#traverse(List, Function, java.util.concurrent.ForkJoinPool)}. The items are
+ * split in halves until each part is small enough, and every part writes its elements straight
+ * into one shared array. The first error is shared too, so every part stops once there is one.
+ *
+ * @param <A> The type of the items.
+ * @param <U> The type of the elements.
+ */
+@SuppressWarnings("unchecked")
+final class Traverse<A, U> extends RecursiveTask<Result<List<U>>> {
+
+  private static final long serialVersionUID = 1L;
+  // Enough parts for work stealing to even out items that take longer than others.
+  private static final int PARTS_PER_THREAD = 8;
+
+  private final List<? extends A> items;
+  private final Function<? super A, ? extends Result<? extends U>> func;
+  private final Object[] elements;
+  private final AtomicReference<Result<?>> failure = new AtomicReference<>();
+  private volatile boolean empty;
+  private int threshold;
+
+  Traverse(final List<? extends A> items,
+      final Function<? super A, ? extends Result<? extends U>> func) {
+    this.items = items;
+    this.func = func;
+    this.elements = new Object[items.size()];
+  }
+
+  @Override
+  protected Result<List<U>> compute() {
+    threshold = Math.max(1, items.size() / (getPool().getParallelism() * PARTS_PER_THREAD));
+    new Part(0, items.size()).invoke();
+    final Result<?> failed = failure.get();
+    if (failed != null) {
+      return failed.retype();
+    }
+    return empty ? Result.empty() : Result.of(new ArrayList<>(Arrays.asList((U[]) elements)));
+  }
+
+  private final class Part extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+    private final int from;
+    private final int to;
+
+    private Part(final int from, final int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (failure.get() != null) {
+        return;
+      }
+      if (to - from > threshold) {
+        final int middle = (from + to) >>> 1;
+        invokeAll(new Part(from, middle), new Part(middle, to));
+        return;
+      }
+      for (int i = from; i < to && failure.get() == null; i++) {
+        final Result<? extends U> result = func.apply(items.get(i));
+        if (result.isError()) {
+          failure.compareAndSet(null, result);
+        } else if (result.isEmpty()) {
+          empty = true;
+        } else {
+          elements[i] = result.get();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,414 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a Validation. Unlike a {@link Result}, which stops at the first error, combining
+ * Validations keeps every error from each of them, so a whole request can be checked and all of
+ * its problems reported together. This can be in one of two states: <br>
+ * - Valid, with an element <br>
+ * - Invalid, with one or more {@link Errors} <br>
+ * <br>
+ * The errors of an invalid Validation are never copied when it's combined, see {@link Errors}.
+ *
+ * @param <T> The type of the element.
+ * @since 1.1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class Validation<T> {
+
+  private final T element;
+  private final Errors errors;
+
+  private Validation(@Nullable final T element, @Nullable final Errors errors) {
+    this.element = element;
+    this.errors = errors;
+  }
+
+  // Creation
+
+  /**
+   * Creates a new {@link Validation} in the Valid state with the specified non-null element.
+   *
+   * @param element The element for this Validation.
+   * @param <U>     The type of the Validation.
+   * @return An instance of Validation in the Valid state.
+   * @since 1.1.0
+   */
+  public static <U> Validation<U> valid(U element) {
+    return new Validation<>(Objects.requireNonNull(element), null);
+  }
+
+  /**
+   * Creates a new {@link Validation} in the Invalid state with a single error.
+   *
+   * @param error The error for this Validation.
+   * @param <U>   The type of the Validation.
+   * @return An instance of Validation in the Invalid state.
+   * @since 1.1.0
+   */
+  public static <U> Validation<U> invalid(Object error) {
+    return new Validation<>(null, Errors.of(error));
+  }
+
+  /**
+   * Creates a new {@link Validation} in the Invalid state with the specified errors.
+   *
+   * @param errors The errors for this Validation.
+   * @param <U>    The type of the Validation.
+   * @return An instance of Validation in the Invalid state.
+   * @since 1.1.0
+   */
+  public static <U> Validation<U> invalid(Errors errors) {
+    return new Validation<>(null, Objects.requireNonNull(errors));
+  }
+
+  /**
+   * Creates a new {@link Validation} from a {@link Result}.
+   *
+   * @param result     The Result to convert.
+   * @param emptyError The error to use if the Result is in the Empty state.
+   * @param <U>        The type of the Validation.
+   * @return A Validation in the Valid state if the Result was in the Success state, otherwise in
+   * the Invalid state with the Result's error, or the passed error if it was empty.
+   * @since 1.1.0
+   */
+  public static <U> Validation<U> from(Result<? extends U> result, Object emptyError) {
+    if (result.isSuccess()) {
+      return valid(result.get());
+    }
+    return invalid(result.isError() ? result.getError() : emptyError);
+  }
+
+  /**
+   * Combines two {@link Validation}s, keeping the errors of both.
+   *
+   * @param first  The first Validation.
+   * @param second The second Validation.
+   * @param func   The function to combine the elements with if both are valid.
+   * @param <A>    The type of the first element.
+   * @param <B>    The type of the second element.
+   * @param <R>    The type of the combined element.
+   * @return A Validation in the Valid state with the combined element if both were valid,
+   * otherwise in the Invalid state with every error, in order.
+   * @since 1.1.0
+   */
+  public static <A, B, R> Validation<R> map2(Validation<? extends A> first,
+      Validation<? extends B> second, BiFunction<? super A, ? super B, ? extends R> func) {
+    final Errors errors = join(first.errors, second.errors);
+    if (errors != null) {
+      return new Validation<>(null, errors);
+    }
+    return valid(func.apply(first.element, second.element));
+  }
+
+  /**
+   * Combines three {@link Validation}s, keeping the errors of all of them.
+   *
+   * @param first  The first Validation.
+   * @param second The second Validation.
+   * @param third  The third Validation.
+   * @param func   The function to combine the elements with if all are valid.
+   * @param <A>    The type of the first element.
+   * @param <B>    The type of the second element.
+   * @param <C>    The type of the third element.
+   * @param <R>    The type of the combined element.
+   * @return A Validation in the Valid state with the combined element if all were valid,
+   * otherwise in the Invalid state with every error, in order.
+   * @since 1.1.0
+   */
+  public static <A, B, C, R> Validation<R> map3(Validation<? extends A> first,
+      Validation<? extends B> second, Validation<? extends C> third,
+      Function3<? super A, ? super B, ? super C, ? extends R> func) {
+    final Errors errors = join(join(first.errors, second.errors), third.errors);
+    if (errors != null) {
+      return new Validation<>(null, errors);
+    }
+    return valid(func.apply(first.element, second.element, third.element));
+  }
+
+  /**
+   * Combines any amount of {@link Validation}s, keeping the errors of all of them. This is meant
+   * for payloads with many fields, where each field is validated on its own.
+   *
+   * @param validations The Validations to combine.
+   * @param func        The function to combine the elements with if all are valid, given them in
+   *                    the same order.
+   * @param <U>         The type of the elements.
+   * @param <R>         The type of the combined element.
+   * @return A Validation in the Valid state with the combined element if all were valid,
+   * otherwise in the Invalid state with every error, in order.
+   * @since 1.1.0
+   */
+  public static <U, R> Validation<R> mapN(List<? extends Validation<? extends U>> validations,
+      Function<? super List<U>, ? extends R> func) {
+    Errors errors = null;
+    for (final Validation<? extends U> validation : validations) {
+      errors = join(errors, validation.errors);
+    }
+    if (errors != null) {
+      return new Validation<>(null, errors);
+    }
+    final List<U> elements = new ArrayList<>(validations.size());
+    for (final Validation<? extends U> validation : validations) {
+      elements.add(validation.element);
+    }
+    return valid(func.apply(elements));
+  }
+
+  /**
+   * Combines {@link Validation}s into one of all their elements, keeping the errors of all of
+   * them.
+   *
+   * @param validations The Validations to combine.
+   * @param <U>         The type of the elements.
+   * @return A Validation in the Valid state with every element, in order, if all were valid,
+   * otherwise in the Invalid state with every error, in order.
+   * @since 1.1.0
+   */
+  public static <U> Validation<List<U>> sequence(
+      List<? extends Validation<? extends U>> validations) {
+    return mapN(validations, Function.identity());
+  }
+
+  // Either side may be null, which means it has no errors.
+  @Nullable
+  private static Errors join(@Nullable Errors first, @Nullable Errors second) {
+    if (first == null) {
+      return second;
+    }
+    return second == null ? first : first.concat(second);
+  }
+
+  // States
+
+  /**
+   * Checks if this {@link Validation} is in the Valid state.
+   *
+   * @return True if this Validation has an element.
+   * @since 1.1.0
+   */
+  public boolean isValid() {
+    return errors == null;
+  }
+
+  /**
+   * Checks if this {@link Validation} is in the Invalid state.
+   *
+   * @return True if this Validation has errors.
+   * @since 1.1.0
+   */
+  public boolean isInvalid() {
+    return errors != null;
+  }
+
+  /**
+   * Runs the specified {@link Consumer} if this {@link Validation} is in the Valid state.
+   *
+   * @param cons The consumer to run on the element.
+   * @return This Validation.
+   * @since 1.1.0
+   */
+  public Validation<T> onValid(Consumer<? super T> cons) {
+    if (isValid()) {
+      cons.accept(element);
+    }
+    return this;
+  }
+
+  /**
+   * Runs the specified {@link Consumer} if this {@link Validation} is in the Invalid state.
+   *
+   * @param cons The consumer to run on the errors.
+   * @return This Validation.
+   * @since 1.1.0
+   */
+  public Validation<T> onInvalid(Consumer<? super Errors> cons) {
+    if (isInvalid()) {
+      cons.accept(errors);
+    }
+    return this;
+  }
+
+  // Transformations
+
+  /**
+   * Maps the element of this {@link Validation} if it's in the Valid state.
+   *
+   * @param func The function to map the element with, which must not return null.
+   * @param <U>  The type of the new element.
+   * @return A Validation in the Valid state with the mapped element, or this one if it's invalid.
+   * @since 1.1.0
+   */
+  public <U> Validation<U> map(Function<? super T, ? extends U> func) {
+    return isValid() ? valid(func.apply(element)) : retype();
+  }
+
+  /**
+   * Maps the element of this {@link Validation} to another Validation if it's in the Valid state.
+   * This is for checks that need the element to be valid first, so it doesn't keep going on an
+   * invalid one.
+   *
+   * @param func The function to map the element with.
+   * @param <U>  The type of the new element.
+   * @return The Validation returned by the function, or this one if it's invalid.
+   * @since 1.1.0
+   */
+  @SuppressWarnings("unchecked")
+  public <U> Validation<U> flatMap(Function<? super T, ? extends Validation<? extends U>> func) {
+    return isValid() ? (Validation<U>) func.apply(element) : retype();
+  }
+
+  /**
+   * Combines this {@link Validation} with another, keeping the errors of both. This is the same as
+   * {@link #map2(Validation, Validation, BiFunction)}.
+   *
+   * @param other The other Validation, whose errors come after these.
+   * @param func  The function to combine the elements with if both are valid.
+   * @param <U>   The type of the other element.
+   * @param <R>   The type of the combined element.
+   * @return A Validation in the Valid state with the combined element if both were valid,
+   * otherwise in the Invalid state with every error, in order.
+   * @since 1.1.0
+   */
+  public <U, R> Validation<R> combine(Validation<? extends U> other,
+      BiFunction<? super T, ? super U, ? extends R> func) {
+    return map2(this, other, func);
+  }
+
+  /**
+   * Converts this {@link Validation} to a {@link Result}.
+   *
+   * @return A Result in the Success state with the element if this is valid, otherwise in the
+   * Error state with the {@link Errors}.
+   * @since 1.1.0
+   */
+  public Result<T> toResult() {
+    return isValid() ? Result.of(element) : Result.error(errors);
+  }
+
+  // Retrieval
+
+  /**
+   * Retrieves the element from this {@link Validation} if it's in the Valid state, otherwise
+   * errors.
+   *
+   * @return The non-null element.
+   * @throws NoSuchElementException If {@link #isValid()} returns false.
+   * @since 1.1.0
+   */
+  public T get() {
+    if (isInvalid()) {
+      throw new NoSuchElementException("Get call on invalid Validation.");
+    }
+    return element;
+  }
+
+  /**
+   * Retrieves the errors from this {@link Validation} if it's in the Invalid state, otherwise
+   * errors.
+   *
+   * @return The errors.
+   * @throws NoSuchElementException If {@link #isInvalid()} returns false.
+   * @since 1.1.0
+   */
+  public Errors getErrors() {
+    if (isValid()) {
+      throw new NoSuchElementException("Get errors call on valid Validation.");
+    }
+    return errors;
+  }
+
+  /**
+   * Retrieves the element from this {@link Validation} if it's in the Valid state, otherwise
+   * returns the passed parameter.
+   *
+   * @param other The value to default to.
+   * @return The element, or the parameter passed if this Validation is invalid.
+   * @since 1.1.0
+   */
+  @Nullable
+  public T orElse(@Nullable T other) {
+    return isValid() ? element : other;
+  }
+
+  // An invalid Validation has no element, so it's the same whatever its type.
+  @SuppressWarnings("unchecked")
+  private <U> Validation<U> retype() {
+    return (Validation<U>) this;
+  }
+
+  // Overrides
+  @Override
+  public int hashCode() {
+    return 31 * (31 + Objects.hashCode(this.element)) + Objects.hashCode(this.errors);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof Validation)) {
+      return false;
+    }
+    Validation<?> other = (Validation<?>) obj;
+    return Objects.equals(this.element, other.element)
+        && Objects.equals(this.errors, other.errors);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Validation[element=%s,errors=%s]", this.element, this.errors);
+  }
+
+  /**
+   * Represents a function of three arguments, for
+   * {@link #map3(Validation, Validation, Validation, Function3)}.
+   *
+   * @param <A> The type of the first argument.
+   * @param <B> The type of the second argument.
+   * @param <C> The type of the third argument.
+   * @param <R> The type of the result.
+   * @since 1.1.0
+   */
+  @FunctionalInterface
+  public interface Function3<A, B, C, R> {
+
+    /**
+     * Applies this function.
+     *
+     * @param first  The first argument.
+     * @param second The second argument.
+     * @param third  The third argument.
+     * @return The result.
+     * @since 1.1.0
+     */
+    R apply(A first, B second, C third);
+  }
+}
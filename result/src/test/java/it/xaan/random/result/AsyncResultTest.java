@@ -0,0 +1,250 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncResultTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void testStates() {
+    Assert.assertEquals(Result.of("Hello"), AsyncResult.of("Hello").join());
+    Assert.assertSame(Result.empty(), AsyncResult.empty().join());
+    Assert.assertEquals(Result.error("Error state."), AsyncResult.error("Error state.").join());
+    Assert.assertEquals(Result.of(5), AsyncResult.supply(() -> Result.of(5), executor).join());
+    Assert.assertTrue(AsyncResult.completed(Result.of(5)).isDone());
+  }
+
+  @Test
+  public void testChaining() {
+    final AtomicReference<Object> seen = new AtomicReference<>();
+    final Result<Integer> result = AsyncResult.supply(() -> Result.of("  Hello "), executor)
+        .map(String::trim)
+        .filter(text -> !text.isEmpty())
+        .onSuccess(seen::set)
+        .map(String::length)
+        .join();
+    Assert.assertEquals(Result.of(5), result);
+    Assert.assertEquals("Hello", seen.get());
+
+    AsyncResult.empty().onEmpty(() -> seen.set("empty")).join();
+    Assert.assertEquals("empty", seen.get());
+    AsyncResult.error(new IOException("Broken pipe."))
+        .map(Object::toString)
+        .onError(IOException.class, seen::set)
+        .join();
+    Assert.assertTrue(seen.get() instanceof IOException);
+  }
+
+  @Test
+  public void testFlatMap() {
+    final AsyncResult<Integer> length = AsyncResult.supply(() -> Result.of("Hello"), executor)
+        .flatMap(text -> AsyncResult.supply(() -> Result.of(text.length()), executor));
+    Assert.assertEquals(Result.of(5), length.join());
+    final AsyncResult<Integer> error = AsyncResult.<String>error("Error state.")
+        .flatMap(text -> {
+          throw new AssertionError("Called on an error.");
+        });
+    Assert.assertEquals(Result.error("Error state."), error.join());
+  }
+
+  @Test
+  public void testThrowing() {
+    final IllegalStateException thrown = new IllegalStateException("Thrown.");
+    Assert.assertEquals(Result.error(thrown), AsyncResult.of("Hello").map(text -> {
+      throw thrown;
+    }).join());
+    Assert.assertEquals(Result.error(thrown), AsyncResult.of("Hello").flatMap(text -> {
+      throw thrown;
+    }).join());
+    Assert.assertEquals(Result.error(thrown), AsyncResult.supply(() -> {
+      throw thrown;
+    }, executor).join());
+    Assert.assertTrue(AsyncResult.supply(() -> null, executor).join()
+        .isError(NullPointerException.class));
+  }
+
+  @Test
+  public void testFutures() {
+    Assert.assertEquals(Result.of(1), AsyncResult.from(CompletableFuture.completedFuture(1)).join());
+    Assert.assertTrue(AsyncResult.from(CompletableFuture.completedFuture(null)).join().isEmpty());
+    final CompletableFuture<String> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IOException("Broken pipe."));
+    Assert.assertTrue(AsyncResult.from(failed, executor).join().isError(IOException.class));
+
+    Assert.assertEquals(Result.of(1), AsyncResult.of(1).toFuture().join());
+    Assert.assertEquals(Integer.valueOf(1), AsyncResult.of(1).toCompletableFuture().join());
+    try {
+      AsyncResult.error(new IOException("Broken pipe.")).toCompletableFuture().join();
+      Assert.fail("Joined an error.");
+    } catch (CompletionException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    }
+    try {
+      AsyncResult.empty().toCompletableFuture().join();
+      Assert.fail("Joined an empty Result.");
+    } catch (CompletionException e) {
+      Assert.assertTrue(e.getCause() instanceof NoSuchElementException);
+    }
+  }
+
+  @Test
+  public void testAllOfRunsConcurrently() {
+    // Neither can finish until both have started.
+    final CountDownLatch started = new CountDownLatch(2);
+    final AsyncResult<List<Integer>> all = AsyncResult.allOf(
+        AsyncResult.supply(() -> Result.of(await(started, 1)), executor),
+        AsyncResult.supply(() -> Result.of(await(started, 2)), executor)
+    );
+    Assert.assertEquals(Result.of(Arrays.asList(1, 2)), all.join());
+  }
+
+  @Test
+  public void testAllOf() {
+    Assert.assertEquals(Result.of(Collections.emptyList()),
+        AsyncResult.allOf(Collections.<AsyncResult<Integer>>emptyList()).join());
+    Assert.assertTrue(AsyncResult.allOf(AsyncResult.of(1), AsyncResult.empty()).join().isEmpty());
+    Assert.assertEquals(Result.error("First."), AsyncResult.allOf(
+        AsyncResult.of(1), AsyncResult.empty(), AsyncResult.error("First."),
+        AsyncResult.error("Second.")
+    ).join());
+  }
+
+  @Test
+  public void testAnyOf() {
+    final CompletableFuture<Integer> never = new CompletableFuture<>();
+    Assert.assertEquals(Result.of(2), AsyncResult.anyOf(
+        AsyncResult.from(never), AsyncResult.error("Error state."), AsyncResult.of(2)
+    ).join());
+    Assert.assertEquals(Result.error("First."), AsyncResult.anyOf(
+        AsyncResult.empty(), AsyncResult.error("First."), AsyncResult.error("Second.")
+    ).join());
+    Assert.assertTrue(AsyncResult.anyOf(Collections.emptyList()).join().isEmpty());
+  }
+
+  @Test
+  public void testAllOfFailsFast() {
+    final CompletableFuture<Integer> never = new CompletableFuture<>();
+    // Doesn't wait for the one that never completes.
+    Assert.assertEquals(Result.error("Failed."), AsyncResult.allOf(
+        AsyncResult.from(never), AsyncResult.error("Failed.")
+    ).join());
+  }
+
+  @Test
+  public void testCombinedExecutor() {
+    final AtomicInteger first = new AtomicInteger();
+    final AtomicInteger given = new AtomicInteger();
+    final AsyncResult<Integer> one = AsyncResult.of(1).withExecutor(task -> {
+      first.incrementAndGet();
+      task.run();
+    });
+    final Executor counting = task -> {
+      given.incrementAndGet();
+      task.run();
+    };
+
+    // The first one's executor is reused.
+    AsyncResult.allOf(one, AsyncResult.of(2)).map(List::size).join();
+    AsyncResult.anyOf(one, AsyncResult.of(2)).map(value -> value).join();
+    Assert.assertEquals(2, first.get());
+    AsyncResult.allOf(Arrays.asList(one, AsyncResult.of(2)), counting).map(List::size).join();
+    AsyncResult.anyOf(Arrays.asList(one, AsyncResult.of(2)), counting).map(value -> value).join();
+    Assert.assertEquals(2, given.get());
+  }
+
+  @Test
+  public void testRetrying() {
+    final AtomicInteger calls = new AtomicInteger();
+    final RetryPolicy policy = RetryPolicy.attempts(4).withBackoff(1, 20, TimeUnit.MILLISECONDS);
+    final AsyncResult<Integer> third = AsyncResult.retrying(policy,
+        () -> calls.incrementAndGet() < 3 ? Result.error("Down.") : Result.of(calls.get()),
+        executor, scheduler);
+    Assert.assertEquals(Result.of(3), third.join());
+
+    calls.set(0);
+    Assert.assertEquals(Result.error("Down."), AsyncResult.retrying(policy, () -> {
+      calls.incrementAndGet();
+      return Result.error("Down.");
+    }, executor, scheduler).join());
+    Assert.assertEquals(4, calls.get());
+
+    calls.set(0);
+    final IllegalStateException thrown = new IllegalStateException("Thrown.");
+    Assert.assertEquals(Result.error(thrown), Result.retrying(policy.retryingOn(
+        error -> error instanceof IOException), () -> {
+          calls.incrementAndGet();
+          throw thrown;
+        }));
+    Assert.assertEquals(1, calls.get());
+    Assert.assertSame(Result.empty(), Result.retrying(policy, Result::empty));
+  }
+
+  @Test
+  public void testTimeout() {
+    final CompletableFuture<Integer> never = new CompletableFuture<>();
+    Assert.assertEquals(Result.error(AsyncResult.TIMED_OUT),
+        AsyncResult.from(never).withTimeout(10, TimeUnit.MILLISECONDS, scheduler).join());
+    Assert.assertEquals(Result.of(1), AsyncResult.of(1).withTimeout(0, TimeUnit.SECONDS).join());
+
+    final CompletableFuture<Integer> later = new CompletableFuture<>();
+    final AsyncResult<Integer> timed = AsyncResult.from(later).withTimeout(1, TimeUnit.MINUTES);
+    later.complete(5);
+    Assert.assertEquals(Result.of(5), timed.join());
+  }
+
+  private static int await(CountDownLatch latch, int value) {
+    latch.countDown();
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("Not run at the same time.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+    return value;
+  }
+}
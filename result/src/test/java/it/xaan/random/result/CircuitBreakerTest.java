@@ -0,0 +1,174 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import it.xaan.random.result.CircuitBreaker.State;
+import it.xaan.random.test.Allocations;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CircuitBreakerTest {
+
+  private static final Supplier<Result<Integer>> DOWN = () -> Result.error("Down.");
+  private static final Result<Integer> ONE = Result.of(1);
+  private static final Supplier<Result<Integer>> UP = () -> ONE;
+
+  private final AtomicLong now = new AtomicLong(Long.MAX_VALUE - 5);
+  private final CircuitBreaker breaker = new CircuitBreaker(3, 10, TimeUnit.NANOSECONDS, now::get);
+
+  @Test
+  public void testOpening() {
+    breaker.call(DOWN);
+    breaker.call(DOWN);
+    breaker.call(UP);
+    breaker.call(DOWN);
+    breaker.call(Result::empty);
+    Assert.assertEquals(State.CLOSED, breaker.state());
+
+    breaker.call(DOWN);
+    breaker.call(DOWN);
+    Assert.assertEquals(Result.error("Down."), breaker.call(DOWN));
+    Assert.assertEquals(State.OPEN, breaker.state());
+    Assert.assertEquals(Result.error(CircuitBreaker.REJECTED), breaker.call(UP));
+    Assert.assertEquals(1, breaker.rejected());
+  }
+
+  @Test
+  public void testTrial() {
+    for (int i = 0; i < 3; i++) {
+      breaker.call(() -> {
+        throw new IllegalStateException("Thrown.");
+      });
+    }
+    Assert.assertEquals(State.OPEN, breaker.state());
+    // Crosses the point where nanoTime wraps around.
+    now.addAndGet(10);
+    Assert.assertEquals(Result.error("Down."), breaker.call(() -> {
+      Assert.assertEquals(State.HALF_OPEN, breaker.state());
+      Assert.assertTrue(breaker.call(UP).isError());
+      return Result.error("Down.");
+    }));
+    Assert.assertEquals(State.OPEN, breaker.state());
+    Assert.assertTrue(breaker.call(UP).isError());
+
+    now.addAndGet(10);
+    Assert.assertEquals(Result.of(1), breaker.call(UP));
+    Assert.assertEquals(State.CLOSED, breaker.state());
+    breaker.call(DOWN);
+    breaker.call(DOWN);
+    Assert.assertEquals(State.CLOSED, breaker.state());
+    Assert.assertEquals(2, breaker.rejected());
+  }
+
+  @Test
+  public void testAsync() {
+    final CompletableFuture<Integer> later = new CompletableFuture<>();
+    final CircuitBreaker single = new CircuitBreaker(1, 1, TimeUnit.MINUTES);
+    final AsyncResult<Integer> pending = single.callAsync(() -> AsyncResult.from(later));
+    Assert.assertEquals(State.CLOSED, single.state());
+    later.completeExceptionally(new IllegalStateException("Failed."));
+    pending.join();
+    Assert.assertEquals(State.OPEN, single.state());
+    Assert.assertEquals(Result.error(CircuitBreaker.REJECTED),
+        single.callAsync(() -> AsyncResult.of(1)).join());
+  }
+
+  private void open() {
+    for (int i = 0; i < 3; i++) {
+      breaker.call(DOWN);
+    }
+    Assert.assertEquals(State.OPEN, breaker.state());
+  }
+
+  @Test
+  public void testTrialThrowingError() {
+    open();
+    now.addAndGet(10);
+    Assert.assertThrows(AssertionError.class, () -> breaker.call(() -> {
+      throw new AssertionError("Not a RuntimeException.");
+    }));
+    // Not stuck half open.
+    Assert.assertEquals(State.OPEN, breaker.state());
+    now.addAndGet(10);
+    Assert.assertEquals(Result.of(1), breaker.call(UP));
+    Assert.assertEquals(State.CLOSED, breaker.state());
+  }
+
+  @Test
+  public void testTrialNeverCompletes() {
+    open();
+    now.addAndGet(10);
+    final CompletableFuture<Integer> never = new CompletableFuture<>();
+    final CompletableFuture<Integer> late = new CompletableFuture<>();
+    breaker.callAsync(() -> AsyncResult.from(late));
+    Assert.assertEquals(State.HALF_OPEN, breaker.state());
+    Assert.assertTrue(breaker.call(UP).isError());
+
+    // Given up on once it takes as long as the breaker stays open.
+    now.addAndGet(10);
+    breaker.callAsync(() -> AsyncResult.from(never));
+    Assert.assertEquals(State.HALF_OPEN, breaker.state());
+    // The first trial finishing now changes nothing.
+    late.completeExceptionally(new IllegalStateException("Failed."));
+    Assert.assertEquals(State.HALF_OPEN, breaker.state());
+    now.addAndGet(10);
+    Assert.assertEquals(Result.of(1), breaker.call(UP));
+    Assert.assertEquals(State.CLOSED, breaker.state());
+  }
+
+  @Test
+  public void testTrialReturningNull() {
+    open();
+    now.addAndGet(10);
+    Assert.assertTrue(breaker.callAsync(() -> null).toFuture().join().isError());
+    // Not stuck half open.
+    Assert.assertEquals(State.OPEN, breaker.state());
+    now.addAndGet(10);
+    Assert.assertEquals(Result.of(1), breaker.call(UP));
+    Assert.assertEquals(State.CLOSED, breaker.state());
+  }
+
+  @Test
+  public void testLateSuccessDoesNotClose() {
+    final CompletableFuture<Integer> slow = new CompletableFuture<>();
+    breaker.callAsync(() -> AsyncResult.from(slow));
+    open();
+    now.addAndGet(10);
+    final CompletableFuture<Integer> trial = new CompletableFuture<>();
+    breaker.callAsync(() -> AsyncResult.from(trial));
+    // Started before the breaker opened, so it isn't the trial.
+    slow.complete(1);
+    Assert.assertEquals(State.HALF_OPEN, breaker.state());
+    trial.complete(1);
+    Assert.assertEquals(State.CLOSED, breaker.state());
+  }
+
+  @Test
+  public void testAllocations() {
+    Allocations.assertNone(() -> breaker.call(UP));
+    for (int i = 0; i < 3; i++) {
+      breaker.call(DOWN);
+    }
+    Allocations.assertNone(() -> breaker.call(UP));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ErrorsTest {
+
+  @Test
+  public void testOrder() {
+    final Errors first = Errors.of("a").concat(Errors.of("b"));
+    final Errors second = Errors.of("c").concat(Errors.of("d").concat(Errors.of("e")));
+    final Errors both = first.concat(second);
+    Assert.assertEquals(5, both.size());
+    Assert.assertEquals("a", both.head());
+    Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), both.toList());
+
+    final List<Object> iterated = new ArrayList<>();
+    for (Object error : both) {
+      iterated.add(error);
+    }
+    Assert.assertEquals(both.toList(), iterated);
+  }
+
+  @Test
+  public void testSharing() {
+    final Errors shared = Errors.of("a").concat(Errors.of("b"));
+    final Errors left = shared.concat(Errors.of("c"));
+    final Errors right = shared.concat(Errors.of("d"));
+    Assert.assertEquals(Arrays.asList("a", "b", "c"), left.toList());
+    Assert.assertEquals(Arrays.asList("a", "b", "d"), right.toList());
+    Assert.assertEquals(Arrays.asList("a", "b"), shared.toList());
+  }
+
+  @Test
+  public void testDeep() {
+    Errors leftHeavy = Errors.of(0);
+    Errors rightHeavy = Errors.of(0);
+    for (int i = 1; i < 100_000; i++) {
+      leftHeavy = leftHeavy.concat(Errors.of(i));
+      rightHeavy = Errors.of(-i).concat(rightHeavy);
+    }
+    Assert.assertEquals(100_000, leftHeavy.size());
+    Assert.assertEquals(99_999, leftHeavy.toList().get(99_999));
+    Assert.assertEquals(-99_999, rightHeavy.head());
+    Assert.assertEquals(0, rightHeavy.toList().get(99_999));
+  }
+
+  @Test
+  public void testIterator() {
+    final Iterator<Object> iterator = Errors.of("a").iterator();
+    Assert.assertEquals("a", iterator.next());
+    Assert.assertFalse(iterator.hasNext());
+    Assert.assertThrows(NoSuchElementException.class, iterator::next);
+  }
+
+  @Test
+  public void testEquality() {
+    final Errors joined = Errors.of("a").concat(Errors.of("b").concat(Errors.of("c")));
+    final Errors other = Errors.of("a").concat(Errors.of("b")).concat(Errors.of("c"));
+    Assert.assertEquals(joined, other);
+    Assert.assertEquals(joined.hashCode(), other.hashCode());
+    Assert.assertNotEquals(joined, Errors.of("a"));
+    Assert.assertEquals("Errors[errors=[a, b, c]]", joined.toString());
+    Assert.assertThrows(NullPointerException.class, () -> Errors.of(null));
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import it.xaan.random.test.Allocations;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FailureTest {
+
+  private static final Failure NOT_FOUND = Failure.of("Not found.");
+
+  @Test
+  public void testStackless() {
+    Assert.assertEquals(0, NOT_FOUND.getStackTrace().length);
+    NOT_FOUND.addSuppressed(new IllegalStateException("Ignored."));
+    Assert.assertEquals(0, NOT_FOUND.getSuppressed().length);
+    Assert.assertEquals("Not found.", NOT_FOUND.getMessage());
+    Assert.assertEquals("Failure[message=Not found.]", NOT_FOUND.toString());
+  }
+
+  @Test
+  public void testThrowing() {
+    try {
+      throw NOT_FOUND;
+    } catch (Failure e) {
+      Assert.assertSame(NOT_FOUND, e);
+    }
+    Allocations.assertNone(() -> {
+      try {
+        throw NOT_FOUND;
+      } catch (Failure ignored) {
+        // Thrown again and again without making anything.
+      }
+    });
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import it.xaan.random.test.Allocations;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PipelineTest {
+
+  private final Pipeline<String, Integer> pipeline = Pipeline.<String>start()
+      .map(String::trim)
+      .filter(text -> !text.isEmpty())
+      .flatMap(text -> IntResult.parse(text).boxed())
+      .map(number -> number * 2);
+
+  @Test
+  public void testStart() {
+    final Pipeline<String, String> start = Pipeline.start();
+    Assert.assertEquals(0, start.size());
+    Assert.assertEquals(Result.of("Hello"), start.apply("Hello"));
+    Assert.assertTrue(start.apply((String) null).isEmpty());
+  }
+
+  @Test
+  public void testApply() {
+    Assert.assertEquals(4, pipeline.size());
+    Assert.assertEquals(Result.of(84), pipeline.apply(" 42 "));
+    Assert.assertEquals(Result.of(84), pipeline.apply(Result.of("42")));
+    Assert.assertTrue(pipeline.apply("   ").isEmpty());
+    Assert.assertTrue(pipeline.apply("forty two").isError(NumberFormatException.class));
+    Assert.assertTrue(Pipeline.<String>start().map(text -> null).apply("Hello").isEmpty());
+  }
+
+  @Test
+  public void testPassesThrough() {
+    final Result<String> error = Result.error(new IllegalStateException("Error state."));
+    Assert.assertSame(error, pipeline.apply(error));
+    Assert.assertSame(Result.empty(), pipeline.apply(Result.empty()));
+    // The steps run in order and stop at the first one that fails.
+    final AtomicInteger ran = new AtomicInteger();
+    final Pipeline<Integer, Integer> counting = Pipeline.<Integer>start()
+        .map(number -> number + ran.incrementAndGet())
+        .flatMap($ -> Result.<Integer>error("Stop."))
+        .map(number -> number + ran.incrementAndGet());
+    Assert.assertEquals(Result.error("Stop."), counting.apply(1));
+    Assert.assertEquals(1, ran.get());
+  }
+
+  @Test
+  public void testImmutable() {
+    final Pipeline<String, Integer> longer = pipeline.filter(number -> number > 100);
+    Assert.assertEquals(4, pipeline.size());
+    Assert.assertEquals(5, longer.size());
+    Assert.assertTrue(longer.apply("42").isEmpty());
+    Assert.assertEquals(Result.of(84), pipeline.apply("42"));
+  }
+
+  @Test
+  public void testAllocations() {
+    final Result<String> error = Result.error(new IllegalStateException("Error state."));
+    Allocations.assertNone(() -> pipeline.apply(error));
+    Allocations.assertNone(() -> pipeline.apply("   "));
+  }
+}
@@ -17,7 +17,17 @@
  */
 package it.xaan.random.result;
 
+import it.xaan.random.test.Allocations;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -133,6 +143,9 @@ public class ResultTest {
     Assert.assertTrue(mappedError.isError(Throwable.class));
     Assert.assertTrue(mappedError.isError(IllegalStateException.class));
     Assert.assertFalse(mappedError.isError(NullPointerException.class));
+    // Nothing to map, so there's no need for a new Result.
+    Assert.assertSame(error, mappedError);
+    Assert.assertSame(empty, mappedEmpty);
   }
 
   @Test
@@ -150,6 +163,17 @@ public class ResultTest {
     Assert.assertTrue(mappedError.isError(Throwable.class));
     Assert.assertTrue(mappedError.isError(IllegalStateException.class));
     Assert.assertFalse(mappedError.isError(NullPointerException.class));
+    Assert.assertSame(error, mappedError);
+  }
+
+  @Test
+  public void testMapToPrimitive() {
+    Assert.assertEquals(IntResult.of(17), success.mapToInt(String::length));
+    Assert.assertEquals(LongResult.of(17), success.mapToLong(String::length));
+    Assert.assertEquals(DoubleResult.of(17), success.mapToDouble(String::length));
+    Assert.assertTrue(empty.mapToInt(String::length).isEmpty());
+    Assert.assertTrue(error.mapToLong(String::length).isError(IllegalStateException.class));
+    Assert.assertEquals(error.getError(), error.mapToDouble(String::length).getError());
   }
 
   @Test
@@ -174,6 +198,16 @@ public class ResultTest {
     Assert.assertEquals(other, error.orElse(other));
   }
 
+  @Test
+  public void testOrElseGet() {
+    final String other = "Hello world";
+    Assert.assertEquals("Successful state.", success.orElseGet(() -> {
+      throw new AssertionError("Supplier called on success.");
+    }));
+    Assert.assertEquals(other, empty.orElseGet(() -> other));
+    Assert.assertEquals(other, error.orElseGet(() -> other));
+  }
+
   @Test
   public void testOrElseThrow() {
     // Shouldn't be else for success
@@ -199,4 +233,130 @@ public class ResultTest {
     Assert.assertTrue(error.getError(IllegalStateException.class).isPresent());
     Assert.assertFalse(error.getError(ResultTest.class).isPresent());
   }
+
+  @Test
+  public void testAttempt() {
+    Assert.assertEquals(Result.of(42), Result.attempt(() -> Integer.parseInt("42")));
+    Assert.assertSame(empty, Result.attempt(() -> null));
+    Assert.assertTrue(
+        Result.attempt(() -> Integer.parseInt("x")).isError(NumberFormatException.class));
+    Assert.assertTrue(Result.attempt(() -> {
+      throw new IOException("Broken pipe.");
+    }).isError(IOException.class));
+
+    final Result<?> failure = Result.error(Failure.of("Not a number."));
+    Assert.assertSame(failure, Result.attempt(() -> Integer.parseInt("x"), failure));
+    Assert.assertEquals(Result.of(42), Result.attempt(() -> Integer.parseInt("42"), failure));
+    Assert.assertThrows(IllegalArgumentException.class, () -> Result.attempt(() -> 1, success));
+  }
+
+  @Test
+  public void testAttemptInterrupted() {
+    final Result<Object> interrupted = Result.attempt(() -> {
+      throw new InterruptedException();
+    });
+    // The flag is put back, and cleared again for the other tests.
+    Assert.assertTrue(Thread.interrupted());
+    Assert.assertTrue(interrupted.isError(InterruptedException.class));
+  }
+
+  @Test
+  public void testAttemptMap() {
+    Assert.assertEquals(Result.of(17), success.attemptMap(String::length));
+    Assert.assertSame(error, error.attemptMap(text -> {
+      throw new AssertionError("Called on an error.");
+    }));
+    Assert.assertSame(empty, empty.attemptMap(String::length));
+    Assert.assertTrue(success.attemptMap(Integer::parseInt).isError(NumberFormatException.class));
+    final Failure notFound = Failure.of("Not found.");
+    final Result<?> failure = Result.error(notFound);
+    Assert.assertSame(failure, success.attemptMap(text -> {
+      throw notFound;
+    }, failure));
+    Assert.assertSame(empty, success.attemptMap(Integer::parseInt, empty));
+  }
+
+  @Test
+  public void testSequence() {
+    Assert.assertEquals(Result.of(Arrays.asList("a", "b")),
+        Result.sequence(Arrays.asList(Result.of("a"), Result.of("b"))));
+    Assert.assertEquals(Result.of(Collections.emptyList()),
+        Result.sequence(Collections.emptySet()));
+    Assert.assertSame(empty, Result.sequence(Arrays.asList(success, empty, success)));
+    // An error wins over an empty Result before it.
+    Assert.assertSame(error, Result.sequence(Arrays.asList(success, empty, error, empty)));
+  }
+
+  @Test
+  public void testTraverse() {
+    final AtomicInteger calls = new AtomicInteger();
+    final Result<List<Integer>> parsed = Result.traverse(Arrays.asList("1", "x", "3"), text -> {
+      calls.incrementAndGet();
+      return IntResult.parse(text).boxed();
+    });
+    Assert.assertTrue(parsed.isError(NumberFormatException.class));
+    // Stopped at the first error.
+    Assert.assertEquals(2, calls.get());
+    Assert.assertEquals(Result.of(Arrays.asList(1, 2, 3)),
+        Result.traverse(Arrays.asList("1", "2", "3"), text -> IntResult.parse(text).boxed()));
+    Assert.assertSame(empty,
+        Result.traverse(Arrays.asList("1", ""), text -> IntResult.parse(text).boxed()));
+  }
+
+  @Test
+  public void testTraverseParallel() {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final List<Integer> items = new ArrayList<>();
+      for (int i = 0; i < 100_000; i++) {
+        items.add(i);
+      }
+      final Result<List<Integer>> doubled = Result.traverse(items, i -> Result.of(i * 2), pool);
+      Assert.assertEquals(100_000, doubled.get().size());
+      for (int i = 0; i < items.size(); i++) {
+        Assert.assertEquals(i * 2, doubled.get().get(i).intValue());
+      }
+      Assert.assertSame(empty,
+          Result.traverse(items, i -> i == 500 ? Result.<Integer>empty() : Result.of(i), pool));
+
+      // Work after the error is skipped.
+      final AtomicInteger calls = new AtomicInteger();
+      final Result<List<Integer>> failed = Result.traverse(items, i -> {
+        calls.incrementAndGet();
+        return i >= 10 ? Result.error("Failed at " + i) : Result.of(i);
+      }, pool);
+      Assert.assertTrue(failed.isError(String.class));
+      Assert.assertTrue(calls.get() < items.size());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPartitioning() {
+    final Partition<String> partition = Stream
+        .of(success, empty, error, Result.of("Second."), empty)
+        .collect(Result.partitioning());
+    Assert.assertEquals(Arrays.asList("Successful state.", "Second."), partition.successes());
+    Assert.assertEquals(Collections.singletonList(error.getError()), partition.errors());
+    Assert.assertEquals(2, partition.empties());
+
+    final Partition<Integer> parallel = IntStream.range(0, 10_000).parallel()
+        .mapToObj(i -> i % 3 == 0 ? Result.<Integer>error(i) : Result.of(i))
+        .collect(Result.partitioning());
+    Assert.assertEquals(6_666, parallel.successes().size());
+    Assert.assertEquals(3_334, parallel.errors().size());
+    Assert.assertEquals(Integer.valueOf(1), parallel.successes().get(0));
+  }
+
+  @Test
+  public void testAllocations() {
+    Allocations.assertNone(() -> success.isSuccess());
+    Allocations.assertNone(() -> empty.map(String::length));
+    Allocations.assertNone(() -> success.filter(String::isEmpty));
+    Allocations.assertNone(() -> success.hashCode());
+    Allocations.assertNone(() -> error.map(String::length));
+    Allocations.assertNone(() -> error.flatMap(Result::of));
+    Allocations.assertNone(() -> success.orElseGet(() -> "Hello world"));
+  }
 }
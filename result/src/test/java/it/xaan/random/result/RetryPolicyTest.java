@@ -0,0 +1,66 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+  @Test
+  public void testDelays() {
+    final RetryPolicy policy = RetryPolicy.attempts(10).withBackoff(10, 100, TimeUnit.NANOSECONDS);
+    Assert.assertEquals(10, policy.delay(1));
+    Assert.assertEquals(20, policy.delay(2));
+    Assert.assertEquals(80, policy.delay(4));
+    Assert.assertEquals(100, policy.delay(5));
+    Assert.assertEquals(100, policy.delay(9));
+    Assert.assertEquals(30, policy.withMultiplier(3).delay(2));
+    Assert.assertEquals(0, RetryPolicy.attempts(3).delay(2));
+
+    final RetryPolicy jitter = policy.withJitter();
+    for (int i = 0; i < 100; i++) {
+      final long delay = jitter.delay(4);
+      Assert.assertTrue(delay >= 40 && delay <= 80);
+    }
+  }
+
+  @Test
+  public void testRetrying() {
+    final RetryPolicy policy = RetryPolicy.attempts(3)
+        .retryingOn(error -> !"Not found.".equals(error));
+    Assert.assertTrue(policy.shouldRetry(1, Result.error("Down.")));
+    Assert.assertTrue(policy.shouldRetry(2, Result.error("Down.")));
+    Assert.assertFalse(policy.shouldRetry(3, Result.error("Down.")));
+    Assert.assertFalse(policy.shouldRetry(1, Result.error("Not found.")));
+    Assert.assertFalse(policy.shouldRetry(1, Result.empty()));
+    Assert.assertFalse(policy.shouldRetry(1, Result.of(1)));
+    Assert.assertEquals(3, policy.getAttempts());
+  }
+
+  @Test
+  public void testInvalid() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> RetryPolicy.attempts(0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> RetryPolicy.attempts(2).withBackoff(10, 5, TimeUnit.SECONDS));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> RetryPolicy.attempts(2).withMultiplier(0.5));
+  }
+}
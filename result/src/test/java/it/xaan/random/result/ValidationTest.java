@@ -0,0 +1,134 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package it.xaan.random.result;
+
+import it.xaan.random.test.Allocations;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ValidationTest {
+
+  private static final BiFunction<String, Integer, String> REPEAT = (text, times) -> {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(text);
+    }
+    return builder.toString();
+  };
+  private static final BiFunction<String, String, String> CONCAT = String::concat;
+  private static final Function<List<Integer>, Integer> SUM =
+      ints -> ints.stream().mapToInt(Integer::intValue).sum();
+
+  private final Validation<String> valid = Validation.valid("ab");
+  private final Validation<Integer> times = Validation.valid(2);
+  private final Validation<String> blank = Validation.invalid("Name is blank.");
+  private final Validation<Integer> negative = Validation.invalid("Age is negative.");
+
+  @Test
+  public void testStates() {
+    Assert.assertTrue(valid.isValid());
+    Assert.assertFalse(valid.isInvalid());
+    Assert.assertTrue(blank.isInvalid());
+    Assert.assertEquals("ab", valid.get());
+    Assert.assertEquals(Collections.singletonList("Name is blank."), blank.getErrors().toList());
+    Assert.assertThrows(NoSuchElementException.class, blank::get);
+    Assert.assertThrows(NoSuchElementException.class, valid::getErrors);
+    Assert.assertEquals("cd", blank.orElse("cd"));
+    Assert.assertThrows(NullPointerException.class, () -> Validation.valid(null));
+
+    final AtomicReference<Object> seen = new AtomicReference<>();
+    valid.onValid(seen::set).onInvalid(seen::set);
+    Assert.assertEquals("ab", seen.get());
+    blank.onValid(seen::set).onInvalid(seen::set);
+    Assert.assertEquals(blank.getErrors(), seen.get());
+  }
+
+  @Test
+  public void testMapping() {
+    Assert.assertEquals(Validation.valid(2), valid.map(String::length));
+    Assert.assertSame(blank, blank.map(String::length));
+    Assert.assertEquals(negative, valid.flatMap(text -> negative));
+    Assert.assertSame(blank, blank.flatMap(text -> times));
+  }
+
+  @Test
+  public void testCombine() {
+    Assert.assertEquals(Validation.valid("abab"), valid.combine(times, REPEAT));
+    Assert.assertEquals(blank.getErrors(), blank.combine(times, REPEAT).getErrors());
+    Assert.assertEquals(negative.getErrors(), valid.combine(negative, REPEAT).getErrors());
+    Assert.assertEquals(Arrays.asList("Name is blank.", "Age is negative."),
+        blank.combine(negative, REPEAT).getErrors().toList());
+    Assert.assertEquals(blank.combine(negative, REPEAT),
+        Validation.map2(blank, negative, REPEAT));
+
+    Assert.assertEquals(Validation.valid("ab2ab"),
+        Validation.map3(valid, times, valid, (a, b, c) -> a + b + c));
+    Assert.assertEquals(Arrays.asList("Name is blank.", "Age is negative.", "Name is blank."),
+        Validation.map3(blank, negative, blank, (a, b, c) -> a + b + c).getErrors().toList());
+  }
+
+  @Test
+  public void testMapN() {
+    final List<Validation<Integer>> fields = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      fields.add(i % 5 == 0 ? Validation.invalid("Field " + i + " is missing.")
+          : Validation.valid(i));
+    }
+    final Validation<Integer> sum = Validation.mapN(fields, SUM);
+    Assert.assertEquals(10, sum.getErrors().size());
+    Assert.assertEquals("Field 0 is missing.", sum.getErrors().head());
+    Assert.assertEquals("Field 45 is missing.", sum.getErrors().toList().get(9));
+
+    fields.removeIf(Validation::isInvalid);
+    Assert.assertEquals(Integer.valueOf(1000), Validation.mapN(fields, SUM).get());
+    Assert.assertEquals(40, Validation.sequence(fields).get().size());
+    Assert.assertEquals(Validation.valid(Collections.emptyList()),
+        Validation.sequence(Collections.<Validation<Integer>>emptyList()));
+  }
+
+  @Test
+  public void testResult() {
+    Assert.assertEquals(valid, Validation.from(Result.of("ab"), "Missing."));
+    Assert.assertEquals(blank, Validation.from(Result.error("Name is blank."), "Missing."));
+    Assert.assertEquals(Validation.invalid("Missing."),
+        Validation.from(Result.empty(), "Missing."));
+    Assert.assertEquals(Result.of("ab"), valid.toResult());
+    Assert.assertEquals(Result.error(blank.getErrors()), blank.toResult());
+    Assert.assertEquals("Validation[element=null,errors=Errors[errors=[Name is blank.]]]",
+        blank.toString());
+  }
+
+  @Test
+  public void testAllocations() {
+    final Validation<String> both = blank.combine(negative, REPEAT);
+    // A combine of two invalid Validations is one join and the Validation holding it, however
+    // many errors either has.
+    Allocations.assertAtMost(64, () -> both.combine(both, CONCAT));
+    Allocations.assertNone(() -> blank.map(String::length));
+    Allocations.assertNone(() -> blank.flatMap(Validation::valid));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Random Utilities - A bunch of random utilities I figured might be helpful.
+ * Copyright © 2020 Jacob Frazier (shadowjacob1@gmail.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package it.xaan.random.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.Assume;
+
+/**
+ * Measures how many bytes a piece of code allocates, so tests can fail when a path that is meant to
+ * be garbage-free starts allocating.
+ * <p>
+ * This relies on {@code com.sun.management.ThreadMXBean}, on a JVM without it every assertion
+ * skips the test instead of failing it.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Allocations {
+
+  /**
+   * The size of a small object, like a wrapper with one or two fields, with compressed pointers.
+   * Useful for budgets such as "at most one object".
+   */
+  public static final long SMALL_OBJECT = 24;
+
+  // Enough to get the measured code compiled before measuring.
+  private static final int WARMUP = 20_000;
+  private static final int ITERATIONS = 10_000;
+
+  private Allocations() {
+  }
+
+  /**
+   * Checks if allocations can be measured on this JVM.
+   *
+   * @return {@code true} if they can, otherwise {@code false}.
+   */
+  public static boolean supported() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    return bean instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+        && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled();
+  }
+
+  /**
+   * Measures the average amount of bytes the operation allocates each time it's run. The operation
+   * is run a number of times before measuring, so the measurement is of the compiled code.
+   *
+   * @param operation The operation to measure.
+   * @return The average amount of bytes allocated by one run, rounded down.
+   * @throws IllegalStateException If allocations can't be measured on this JVM.
+   */
+  public static long perOperation(Runnable operation) {
+    if (!supported()) {
+      throw new IllegalStateException("This JVM can't measure allocations.");
+    }
+    com.sun.management.ThreadMXBean bean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    for (int i = 0; i < WARMUP; i++) {
+      operation.run();
+    }
+    // Measuring can allocate by itself, so that's taken off.
+    long start = bean.getThreadAllocatedBytes(thread);
+    long overhead = bean.getThreadAllocatedBytes(thread) - start;
+    start = bean.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < ITERATIONS; i++) {
+      operation.run();
+    }
+    long allocated = bean.getThreadAllocatedBytes(thread) - start - overhead;
+    return Math.max(0, allocated / ITERATIONS);
+  }
+
+  /**
+   * Asserts that the operation allocates nothing. See {@link #assertAtMost(long, Runnable)}.
+   *
+   * @param operation The operation to measure.
+   */
+  public static void assertNone(Runnable operation) {
+    assertAtMost(0, operation);
+  }
+
+  /**
+   * Asserts that the operation allocates at most the budget on average each time it's run. Skips
+   * the test if allocations can't be measured on this JVM.
+   *
+   * @param budget    The most bytes one run may allocate.
+   * @param operation The operation to measure.
+   * @throws AssertionError If the operation allocates more than the budget.
+   */
+  public static void assertAtMost(long budget, Runnable operation) {
+    Assume.assumeTrue("This JVM can't measure allocations.", supported());
+    long allocated = perOperation(operation);
+    if (allocated > budget) {
+      throw new AssertionError(String.format(
+          "Expected at most %d bytes per operation but %d bytes were allocated.", budget,
+          allocated));
+    }
+  }
+}